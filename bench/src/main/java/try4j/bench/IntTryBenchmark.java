@@ -0,0 +1,63 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import try4j.IntTry;
+import try4j.Try;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a boxed {@code Try<Integer>} chain with the same chain on
+ * {@link IntTry}.
+ *
+ * @author Brad Collins
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntTryBenchmark {
+
+  @Benchmark
+  public int boxed(Workload w) {
+    int input = w.next();
+    Try<Integer> t = Try.to(() -> w.compute(input));
+    for (int i = 0; i < w.chainLength; i++) {
+      t = t.map(v -> v + 1000);
+    }
+    return t.filter(v -> v >= 0).orElse(-1);
+  }
+
+  @Benchmark
+  public int primitive(Workload w) {
+    int input = w.next();
+    IntTry t = IntTry.to(() -> w.compute(input));
+    for (int i = 0; i < w.chainLength; i++) {
+      t = t.map(v -> v + 1000);
+    }
+    return t.filter(v -> v >= 0).orElse(-1);
+  }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import try4j.Failure;
+import try4j.Success;
+import try4j.Try;
+import try4j.Unit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the interned {@link Success} instances and {@link Try#run} with
+ * allocating a new {@link Success} for every result.
+ * <p>
+ * Run with {@code -prof gc}: the interned variants should report no
+ * allocation per operation.
+ *
+ * @author Brad Collins
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InterningBenchmark {
+  private int counter;
+
+  private void sideEffect() throws Exception {
+    counter++;
+  }
+
+  @Benchmark
+  public Try<Boolean> sideEffectReturningNewSuccess() {
+    try {
+      sideEffect();
+      return new Success<>(Boolean.TRUE);
+    } catch (Exception e) {
+      return new Failure<>(e);
+    }
+  }
+
+  @Benchmark
+  public Try<Boolean> sideEffectReturningTrue() {
+    return Try.to(() -> { sideEffect(); return true; });
+  }
+
+  @Benchmark
+  public Try<Unit> sideEffectWithRun() {
+    return Try.run(this::sideEffect);
+  }
+
+  @Benchmark
+  public Success<Integer> newSmallInteger() {
+    return new Success<>(counter++ & 0x7f);
+  }
+
+  @Benchmark
+  public Success<Integer> internedSmallInteger() {
+    return Success.of(counter++ & 0x7f);
+  }
+}
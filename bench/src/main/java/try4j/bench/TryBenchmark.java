@@ -0,0 +1,125 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import try4j.Success;
+import try4j.Try;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each {@link Try} operation against the equivalent hand-written
+ * {@code try-catch} on both the success and the failure path.
+ * <p>
+ * Run with the GC profiler to see allocation per operation:
+ * <pre>{@code
+ * sbt "bench/jmh:run -prof gc try4j.bench.TryBenchmark"
+ * }</pre>
+ *
+ * @author Brad Collins
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TryBenchmark {
+
+  @Benchmark
+  public int baselineTryCatch(Workload w) {
+    int value;
+    try {
+      value = w.compute(w.next());
+    } catch (Exception e) {
+      return -1;
+    }
+    for (int i = 0; i < w.chainLength; i++) {
+      try {
+        value = value + 1;
+      } catch (RuntimeException e) {
+        return -1;
+      }
+    }
+    return value;
+  }
+
+  @Benchmark
+  public Try<Integer> to(Workload w) {
+    int input = w.next();
+    return Try.to(() -> w.compute(input));
+  }
+
+  @Benchmark
+  public Try<Integer> map(Workload w) {
+    int input = w.next();
+    Try<Integer> t = Try.to(() -> w.compute(input));
+    for (int i = 0; i < w.chainLength; i++) {
+      t = t.map(v -> v + 1);
+    }
+    return t;
+  }
+
+  @Benchmark
+  public Try<Integer> flatMap(Workload w) {
+    int input = w.next();
+    Try<Integer> t = Try.to(() -> w.compute(input));
+    for (int i = 0; i < w.chainLength; i++) {
+      t = t.flatMap(v -> Success.of(v + 1));
+    }
+    return t;
+  }
+
+  @Benchmark
+  public Try<Integer> filter(Workload w) {
+    int input = w.next();
+    Try<Integer> t = Try.to(() -> w.compute(input));
+    for (int i = 0; i < w.chainLength; i++) {
+      t = t.filter(v -> v % 2 == 0);
+    }
+    return t;
+  }
+
+  @Benchmark
+  public Try<? super Integer> recover(Workload w) {
+    int input = w.next();
+    return Try.to(() -> w.compute(input)).recover(e -> -1);
+  }
+
+  @Benchmark
+  public Object get(Workload w) {
+    int input = w.next();
+    Try<Integer> t = Try.to(() -> w.compute(input));
+    try {
+      return t.get();
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public int orElse(Workload w) {
+    int input = w.next();
+    return Try.to(() -> w.compute(input)).orElse(-1);
+  }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j.bench;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Benchmark input shared by the {@code try4j} benchmarks.
+ * <p>
+ * Holds a fixed ring of inputs, a fraction of which ({@link #failureRate})
+ * make {@link #compute(int)} throw from {@link #stackDepth} frames below the
+ * caller, and the number of operations to chain ({@link #chainLength}).
+ *
+ * @author Brad Collins
+ */
+@State(Scope.Thread)
+public class Workload {
+  private static final int SIZE = 1024;
+
+  /** Number of chained operations applied to each input. */
+  @Param({"1", "10"})
+  public int chainLength;
+
+  /** Fraction of the inputs for which {@link #compute(int)} throws. */
+  @Param({"0.0", "0.01", "0.5"})
+  public double failureRate;
+
+  /** Number of frames between the caller and the {@code throw}. */
+  @Param({"0", "32"})
+  public int stackDepth;
+
+  private final int[] inputs = new int[SIZE];
+  private int cursor;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    for (int i = 0; i < SIZE; i++) {
+      inputs[i] = random.nextDouble() < failureRate ? -1 : random.nextInt(1000);
+    }
+  }
+
+  /**
+   * Returns the next input in the ring.
+   * @return the next input; negative inputs make {@link #compute(int)} throw
+   */
+  public int next() {
+    int input = inputs[cursor];
+    cursor = (cursor + 1) & (SIZE - 1);
+    return input;
+  }
+
+  /**
+   * Returns {@code input} unchanged, or throws if it is negative.
+   * @param input the value to compute
+   * @return {@code input}
+   * @throws Exception if {@code input} is negative
+   */
+  public int compute(int input) throws Exception {
+    return descend(input, stackDepth);
+  }
+
+  private static int descend(int input, int depth) throws Exception {
+    if (depth > 0) {
+      return descend(input, depth - 1);
+    } else if (input < 0) {
+      throw new Exception("negative input");
+    } else {
+      return input;
+    }
+  }
+}
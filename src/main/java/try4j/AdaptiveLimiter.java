@@ -0,0 +1,267 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+import try4j.function.ThrowingSupplier;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Caps the number of calls running at once against a dependency, tuning
+ * the cap from how the dependency responds.
+ * <p>
+ * An {@link AdaptiveLimiter} works like a {@link Bulkhead} whose number of
+ * permits, the limit, changes over time by additive increase and
+ * multiplicative decrease. Each call that succeeds within the latency
+ * threshold while the limiter is at least half in use raises the limit by
+ * {@code 1 / limit}, so a fully used limiter grows by about one permit per
+ * limit's worth of calls. Each call that takes longer than the threshold,
+ * or fails with an exception the limiter counts as a drop, cuts the limit
+ * by a tenth, unless the limit was already cut after that call started: a
+ * burst of drops from calls running at the same time backs off only once.
+ * The limit always stays between the minimum and maximum it
+ * was created with. By default {@link TimeoutException}s and
+ * {@link RejectedExecutionException}s count as drops, since they are how a
+ * saturated dependency usually answers; other failures say nothing about
+ * load and leave the limit alone.
+ * <p>
+ * Calls over the limit are rejected immediately: they are not attempted
+ * and return a {@link Failure} containing a
+ * {@link CapacityExceededException}. All rejections by one limiter share
+ * the same {@link Failure}, so shedding load allocates nothing.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * AdaptiveLimiter limiter = AdaptiveLimiter.of(10, 2, 200)
+ *     .withLatencyThreshold(Duration.ofMillis(250));
+ *
+ * Try<Quote> quote = limiter.to(() -> pricing.quote(order));
+ * }</pre>
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ * @see Bulkhead
+ */
+public final class AdaptiveLimiter {
+  private static final double BACKOFF = 0.9;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final long thresholdNanos;
+  private final Predicate<? super Exception> dropOn;
+
+  // The limit as the bits of a double, so it can move by fractions.
+  private final AtomicLong limit;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  // When the limit was last cut; no call starts before the limiter exists.
+  private final AtomicLong lastCut = new AtomicLong(System.nanoTime());
+  private final LongAdder calls = new LongAdder();
+  private final LongAdder drops = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+
+  private final Failure<?> rejection = new Failure<>(
+      new CapacityExceededException("AdaptiveLimiter reached its limit"));
+
+  private AdaptiveLimiter(double initial, int minLimit, int maxLimit,
+      long thresholdNanos, Predicate<? super Exception> dropOn) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.thresholdNanos = thresholdNanos;
+    this.dropOn = dropOn;
+    this.limit = new AtomicLong(Double.doubleToRawLongBits(initial));
+  }
+
+  /**
+   * Returns a limiter starting at {@code initialLimit} permits that moves
+   * between {@code minLimit} and {@code maxLimit}, with no latency
+   * threshold.
+   * @param initialLimit the limit to start with
+   * @param minLimit the lowest the limit can fall
+   * @param maxLimit the highest the limit can rise
+   * @return a new {@link AdaptiveLimiter}
+   * @throws IllegalArgumentException if {@code minLimit} is less than 1 or
+   *    {@code initialLimit} is not between {@code minLimit} and
+   *    {@code maxLimit}
+   */
+  public static AdaptiveLimiter of(int initialLimit, int minLimit, int maxLimit) {
+    if (minLimit < 1 || initialLimit < minLimit || initialLimit > maxLimit) {
+      throw new IllegalArgumentException(String.format(
+          "Limits must satisfy 1 <= min <= initial <= max, were %d, %d, %d",
+          minLimit, initialLimit, maxLimit));
+    }
+    return new AdaptiveLimiter(initialLimit, minLimit, maxLimit, Long.MAX_VALUE,
+        e -> e instanceof TimeoutException
+            || e instanceof RejectedExecutionException);
+  }
+
+  /**
+   * Returns a new {@link AdaptiveLimiter} like this one in which a call
+   * taking longer than {@code threshold} cuts the limit, whatever its
+   * outcome. The new limiter starts at this one's current limit.
+   * @param threshold the longest a call may take without cutting the limit
+   * @return a new {@link AdaptiveLimiter}
+   * @throws IllegalArgumentException if {@code threshold} is not positive
+   */
+  public AdaptiveLimiter withLatencyThreshold(Duration threshold) {
+    if (threshold.isNegative() || threshold.isZero()) {
+      throw new IllegalArgumentException(
+          String.format("threshold must be positive, was %s", threshold));
+    }
+    return new AdaptiveLimiter(limit(), minLimit, maxLimit,
+        threshold.toNanos(), dropOn);
+  }
+
+  /**
+   * Returns a new {@link AdaptiveLimiter} like this one that counts the
+   * failures matching {@code dropOn}, and only those, as drops. The new
+   * limiter starts at this one's current limit.
+   * @param dropOn tests whether a failure signals an overloaded dependency
+   * @return a new {@link AdaptiveLimiter}
+   */
+  public AdaptiveLimiter withDropOn(Predicate<? super Exception> dropOn) {
+    return new AdaptiveLimiter(limit(), minLimit, maxLimit, thresholdNanos,
+        dropOn);
+  }
+
+  /**
+   * Executes {@code supplier} if fewer calls than the current limit are
+   * running, and adjusts the limit from its latency and outcome.
+   * @param <T> the type of element returned by {@code supplier} if successful
+   * @param supplier the operation to be evaluated, which may throw an exception
+   * @return the outcome of {@code supplier} as in
+   *    {@link Try#to(ThrowingSupplier)}, or a {@link Failure} containing a
+   *    {@link CapacityExceededException} if the limit was reached
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Try<T> to(ThrowingSupplier<T> supplier) {
+    calls.increment();
+    int running;
+    do {
+      running = inFlight.get();
+      if (running >= (int) limit()) {
+        rejected.increment();
+        return (Try<T>) rejection;
+      }
+    } while (!inFlight.compareAndSet(running, running + 1));
+
+    long start = System.nanoTime();
+    Try<T> result;
+    try {
+      result = Try.to(supplier);
+    } finally {
+      inFlight.decrementAndGet();
+    }
+    long end = System.nanoTime();
+
+    if (end - start > thresholdNanos
+        || result.isFailure() && dropOn.test(((Failure<T>) result).getException())) {
+      drops.increment();
+      long cut = lastCut.get();
+      if (cut - start <= 0 && lastCut.compareAndSet(cut, end)) {
+        decrease();
+      }
+    } else if (running + 1 >= limit() / 2) {
+      increase();
+    }
+    return result;
+  }
+
+  /**
+   * Returns a function that applies {@code f} through this limiter.
+   * @param <A> the type of the input to {@code f}
+   * @param <R> the type of the result of {@code f}
+   * @param f the function to protect
+   * @return a function returning the outcome of {@code f} as in
+   *    {@link #to(ThrowingSupplier)}
+   */
+  public <A, R> Function<A, Try<R>> decorate(ThrowingFunction<A, R> f) {
+    return a -> to(() -> f.apply(a));
+  }
+
+  /**
+   * Returns the current limit.
+   * @return the number of calls allowed to run at once now
+   */
+  public int getLimit() { return (int) limit(); }
+
+  /**
+   * Returns the number of calls running now.
+   * @return the number of calls in flight
+   */
+  public int getInFlight() { return inFlight.get(); }
+
+  /**
+   * Returns the number of calls made through this limiter so far.
+   * @return the number of calls, including rejected ones
+   */
+  public long getCallCount() { return calls.sum(); }
+
+  /**
+   * Returns the number of drops so far, whether or not each cut the limit.
+   * @return the number of calls that were too slow or failed with a drop
+   */
+  public long getDropCount() { return drops.sum(); }
+
+  /**
+   * Returns the number of calls rejected so far.
+   * @return the number of calls rejected without being attempted
+   */
+  public long getRejectedCount() { return rejected.sum(); }
+
+  private double limit() {
+    return Double.longBitsToDouble(limit.get());
+  }
+
+  private void increase() {
+    long bits;
+    double next;
+    do {
+      bits = limit.get();
+      double current = Double.longBitsToDouble(bits);
+      next = Math.min(maxLimit, current + 1 / current);
+      if (next == current) {
+        return;
+      }
+    } while (!limit.compareAndSet(bits, Double.doubleToRawLongBits(next)));
+  }
+
+  private void decrease() {
+    long bits;
+    double next;
+    do {
+      bits = limit.get();
+      double current = Double.longBitsToDouble(bits);
+      next = Math.max(minLimit, current * BACKOFF);
+      if (next == current) {
+        return;
+      }
+    } while (!limit.compareAndSet(bits, Double.doubleToRawLongBits(next)));
+  }
+
+  @Override public String toString() {
+    return String.format("AdaptiveLimiter(%d/%d)", getInFlight(), getLimit());
+  }
+}
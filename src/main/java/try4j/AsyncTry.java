@@ -0,0 +1,313 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+import try4j.function.ThrowingPredicate;
+import try4j.function.ThrowingSupplier;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@link AsyncTry} represents a computation that will, at some point, result
+ * in a {@link Try}: either a {@link Success} containing a computed value or a
+ * {@link Failure} containing an exception.
+ * <p>
+ * Its operations mirror those of {@link Try} but do not block: each returns a
+ * new {@link AsyncTry} that completes once this one has completed and the
+ * given function has been applied. If this {@link AsyncTry} has already
+ * completed, the function is applied right away on the calling thread;
+ * otherwise it is applied on the thread that completes this one.
+ * <p>
+ * Exceptions, including those of stages bridged with {@link #fromStage}, are
+ * delivered as the {@link Failure} they would be in a synchronous
+ * {@link Try}, without a {@link CompletionException} or
+ * {@link ExecutionException} around them. {@link Error}s are not turned into
+ * a {@link Failure}, just as {@link Try#to(ThrowingSupplier)} lets them
+ * propagate: an {@link AsyncTry} whose computation throws one completes
+ * exceptionally, skips the functions of later operations and rethrows the
+ * {@link Error} from {@link #join()}.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * AsyncTry<Profile> profile = Try.async(() -> client.fetch(id), ioExecutor)
+ *     .map(Profile::parse)
+ *     .recover(e -> Profile.ANONYMOUS);
+ * }</pre>
+ *
+ * @param <T> the type of element contained in a successful computation
+ * @author Brad Collins
+ * @since 1.9.0
+ * @see Try#async(ThrowingSupplier, Executor)
+ */
+public final class AsyncTry<T> {
+  private final CompletableFuture<Try<T>> future;
+
+  AsyncTry(CompletableFuture<Try<T>> future) {
+    this.future = future;
+  }
+
+  /**
+   * Returns an {@link AsyncTry} that has already completed with
+   * {@code result}.
+   * @param <U> the type of element contained in a successful computation
+   * @param result the outcome of the computation
+   * @return a completed {@link AsyncTry}
+   */
+  public static <U> AsyncTry<U> completed(Try<U> result) {
+    return new AsyncTry<>(CompletableFuture.completedFuture(result));
+  }
+
+  /**
+   * Returns an {@link AsyncTry} that completes with the {@link Try} that
+   * {@code stage} completes with.
+   * <p>
+   * If {@code stage} itself completes exceptionally, the {@link AsyncTry}
+   * completes with a {@link Failure} containing the exception.
+   * @param <U> the type of element contained in a successful computation
+   * @param stage the stage to bridge
+   * @return an {@link AsyncTry} that completes when {@code stage} does
+   */
+  public static <U> AsyncTry<U> of(CompletionStage<Try<U>> stage) {
+    return new AsyncTry<>(stage.handle((t, ex) ->
+        ex == null ? t : AsyncTry.<U>failure(ex)).toCompletableFuture());
+  }
+
+  /**
+   * Returns an {@link AsyncTry} that completes with a {@link Success}
+   * containing the value {@code stage} completes with, or with a
+   * {@link Failure} containing the exception {@code stage} completes
+   * exceptionally with.
+   * <p>
+   * {@link CompletionException}s and {@link ExecutionException}s are
+   * unwrapped, so the {@link Failure} contains the original exception.
+   * @param <U> the type of element contained in a successful computation
+   * @param stage the stage to bridge
+   * @return an {@link AsyncTry} that completes when {@code stage} does
+   */
+  public static <U> AsyncTry<U> fromStage(CompletionStage<? extends U> stage) {
+    return new AsyncTry<>(stage.handle((U v, Throwable ex) ->
+        ex == null ? Try.to(() -> v) : AsyncTry.<U>failure(ex))
+        .toCompletableFuture());
+  }
+
+  private static <U> Try<U> failure(Throwable ex) {
+    Throwable cause = ex;
+    while ((cause instanceof CompletionException
+            || cause instanceof ExecutionException)
+        && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    if (cause instanceof Exception) {
+      return Failure.of((Exception) cause);
+    } else if (cause instanceof Error) {
+      throw (Error) cause;
+    } else {
+      throw new UndeclaredThrowableException(cause);
+    }
+  }
+
+  /**
+   * Returns a {@link CompletionStage} that completes with the outcome of this
+   * {@link AsyncTry}.
+   * <p>
+   * Failures are delivered as a {@link Failure}; the stage completes
+   * exceptionally only if an {@link Error} was thrown.
+   * @return a {@link CompletionStage} that completes when this does
+   */
+  public CompletionStage<Try<T>> toCompletionStage() {
+    return future.thenApply(Function.identity());
+  }
+
+  /**
+   * Returns {@code true} if this {@link AsyncTry} has completed.
+   * @return {@code true} if the outcome is available
+   */
+  public boolean isDone() { return future.isDone(); }
+
+  /**
+   * Waits for this {@link AsyncTry} to complete and returns its outcome.
+   * @return the {@link Success} or {@link Failure} this completes with
+   * @throws Error if the computation threw an {@link Error}
+   */
+  public Try<T> join() {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      return failure(e);
+    }
+  }
+
+  /**
+   * Waits at most {@code timeout} for this {@link AsyncTry} to complete and
+   * returns its outcome.
+   * @param timeout the maximum time to wait
+   * @return the {@link Success} or {@link Failure} this completes with, a
+   *    {@link Failure} containing a {@link TimeoutException} if it does not
+   *    complete in time, or a {@link Failure} containing an
+   *    {@link InterruptedException} if the calling thread is interrupted
+   *    while waiting
+   * @throws Error if the computation threw an {@link Error}
+   */
+  public Try<T> join(Duration timeout) {
+    try {
+      return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Failure.of(e);
+    } catch (TimeoutException e) {
+      return Failure.of(e);
+    } catch (ExecutionException e) {
+      return failure(e);
+    }
+  }
+
+  /**
+   * Performs {@code action} on the outcome of this {@link AsyncTry} once it
+   * has completed.
+   * @param action the action to perform on the outcome
+   * @return this instance
+   */
+  public AsyncTry<T> onComplete(Consumer<? super Try<T>> action) {
+    Try<T> now = now();
+    if (now != null) {
+      action.accept(now);
+    } else {
+      future.thenAccept(action);
+    }
+    return this;
+  }
+
+  /**
+   * Mirrors {@link Try#map}.
+   * @param <U> the type of the {@link AsyncTry} returned from this operation
+   * @param mapper the mapping function applied to the value if this
+   *    completes with a {@link Success}
+   * @return an {@link AsyncTry} that completes with the result of
+   *    {@link Try#map} on the outcome of this one
+   */
+  public <U> AsyncTry<U> map(ThrowingFunction<? super T, ? extends U> mapper) {
+    return then(t -> t.map(mapper));
+  }
+
+  /**
+   * Mirrors {@link Try#flatMap}.
+   * @param <U> the type of the {@link Try} that {@code mapper} returns
+   * @param mapper invoked on the value if this completes with a
+   *    {@link Success}
+   * @return an {@link AsyncTry} that completes with the result of
+   *    {@link Try#flatMap} on the outcome of this one
+   */
+  public <U> AsyncTry<U> flatMap(ThrowingFunction<? super T, Try<U>> mapper) {
+    return then(t -> t.flatMap(mapper));
+  }
+
+  /**
+   * Like {@link #flatMap}, but for a {@code mapper} that itself returns an
+   * {@link AsyncTry}.
+   * <p>
+   * If {@code mapper} throws an exception, the result completes with a
+   * {@link Failure}.
+   * @param <U> the type of the {@link AsyncTry} that {@code mapper} returns
+   * @param mapper invoked on the value if this completes with a
+   *    {@link Success}
+   * @return an {@link AsyncTry} that completes with the outcome of the
+   *    {@link AsyncTry} {@code mapper} returns, or with the {@link Failure} of
+   *    this one
+   */
+  public <U> AsyncTry<U> flatMapAsync(
+      ThrowingFunction<? super T, AsyncTry<U>> mapper) {
+    return new AsyncTry<>(future.thenCompose(t -> {
+      Try<AsyncTry<U>> next = t.map(mapper);
+      if (next.isSuccess()) {
+        return next.get().future;
+      } else {
+        return CompletableFuture.completedFuture(
+            Failure.of(next.failed().get()));
+      }
+    }));
+  }
+
+  /**
+   * Mirrors {@link Try#filter}.
+   * @param predicate the test applied to the value if this completes with a
+   *    {@link Success}
+   * @return an {@link AsyncTry} that completes with the result of
+   *    {@link Try#filter} on the outcome of this one
+   */
+  public AsyncTry<T> filter(ThrowingPredicate<T> predicate) {
+    return then(t -> t.filter(predicate));
+  }
+
+  /**
+   * Mirrors {@link Try#recover}.
+   * @param rescue the mapping function applied to the exception if this
+   *    completes with a {@link Failure}
+   * @return an {@link AsyncTry} that completes with the result of
+   *    {@link Try#recover} on the outcome of this one
+   */
+  public AsyncTry<? super T> recover(ThrowingFunction<Exception, ? super T> rescue) {
+    return thenSuper(t -> t.recover(rescue));
+  }
+
+  /**
+   * Mirrors {@link Try#recoverWith}.
+   * @param rescue the function applied to the exception if this completes
+   *    with a {@link Failure}
+   * @return an {@link AsyncTry} that completes with the result of
+   *    {@link Try#recoverWith} on the outcome of this one
+   */
+  public AsyncTry<? super T> recoverWith(
+      ThrowingFunction<Exception, Try<? super T>> rescue) {
+    return thenSuper(t -> t.recoverWith(rescue));
+  }
+
+  private Try<T> now() {
+    return future.isDone() && !future.isCompletedExceptionally()
+        ? future.join() : null;
+  }
+
+  private <U> AsyncTry<U> then(Function<Try<T>, Try<U>> f) {
+    Try<T> now = now();
+    if (now != null) {
+      return completed(f.apply(now));
+    } else {
+      return new AsyncTry<>(future.thenApply(f));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private AsyncTry<? super T> thenSuper(Function<Try<T>, Try<? super T>> f) {
+    return then(t -> (Try<T>) f.apply(t));
+  }
+
+  @Override public String toString() {
+    Try<T> now = now();
+    return now == null ? "AsyncTry(?)" : String.format("AsyncTry(%s)", now);
+  }
+}
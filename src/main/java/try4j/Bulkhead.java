@@ -0,0 +1,191 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+import try4j.function.ThrowingSupplier;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Caps the number of calls running at once against a dependency.
+ * <p>
+ * A {@link Bulkhead} holds a fixed number of permits. A call takes one
+ * before it runs and returns it when it completes. When none is free, the
+ * call waits for up to the bulkhead's maximum wait, which is zero unless
+ * {@link #withMaxWait(Duration) set}, and is otherwise rejected: it is not
+ * attempted and returns a {@link Failure} containing a
+ * {@link CapacityExceededException}.
+ * <p>
+ * A {@link Bulkhead} is configured once and then shared by every caller of
+ * the dependency it protects; each {@code with...} method returns a new
+ * bulkhead with its own permits.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * Bulkhead bulkhead = Bulkhead.of(20).withMaxWait(Duration.ofMillis(10));
+ *
+ * Try<Report> report = bulkhead.to(() -> reporting.render(query));
+ * }</pre>
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ * @see AdaptiveLimiter
+ */
+public final class Bulkhead {
+  private final int maxConcurrent;
+  private final long maxWaitNanos;
+  private final Semaphore permits;
+  private final String rejection;
+  private final LongAdder calls = new LongAdder();
+  private final LongAdder waited = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+
+  private Bulkhead(int maxConcurrent, long maxWaitNanos) {
+    this.maxConcurrent = maxConcurrent;
+    this.maxWaitNanos = maxWaitNanos;
+    this.permits = new Semaphore(maxConcurrent);
+    this.rejection =
+        String.format("Bulkhead is full: %d calls running", maxConcurrent);
+  }
+
+  /**
+   * Returns a bulkhead that lets {@code maxConcurrent} calls run at once and
+   * rejects further calls immediately.
+   * @param maxConcurrent the number of permits
+   * @return a new {@link Bulkhead}
+   * @throws IllegalArgumentException if {@code maxConcurrent} is less than 1
+   */
+  public static Bulkhead of(int maxConcurrent) {
+    if (maxConcurrent < 1) {
+      throw new IllegalArgumentException(String.format(
+          "maxConcurrent must be at least 1, was %d", maxConcurrent));
+    }
+    return new Bulkhead(maxConcurrent, 0);
+  }
+
+  /**
+   * Returns a new {@link Bulkhead} like this one in which a call waits for
+   * up to {@code maxWait} for a permit before it is rejected.
+   * @param maxWait the longest time a call waits for a permit
+   * @return a new {@link Bulkhead}
+   * @throws IllegalArgumentException if {@code maxWait} is negative
+   */
+  public Bulkhead withMaxWait(Duration maxWait) {
+    if (maxWait.isNegative()) {
+      throw new IllegalArgumentException(
+          String.format("maxWait must not be negative, was %s", maxWait));
+    }
+    return new Bulkhead(maxConcurrent, maxWait.toNanos());
+  }
+
+  /**
+   * Executes {@code supplier} if a permit is free, or becomes free within
+   * the maximum wait.
+   * @param <T> the type of element returned by {@code supplier} if successful
+   * @param supplier the operation to be evaluated, which may throw an exception
+   * @return the outcome of {@code supplier} as in
+   *    {@link Try#to(ThrowingSupplier)}; a {@link Failure} containing a
+   *    {@link CapacityExceededException} if no permit was free in time; or a
+   *    {@link Failure} containing an {@link InterruptedException} if the
+   *    calling thread was interrupted while waiting
+   */
+  public <T> Try<T> to(ThrowingSupplier<T> supplier) {
+    calls.increment();
+    if (!permits.tryAcquire()) {
+      if (maxWaitNanos == 0) {
+        return reject();
+      }
+      waited.increment();
+      try {
+        if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+          return reject();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return Failure.of(e);
+      }
+    }
+    try {
+      return Try.to(supplier);
+    } finally {
+      permits.release();
+    }
+  }
+
+  /**
+   * Returns a function that applies {@code f} through this bulkhead.
+   * @param <A> the type of the input to {@code f}
+   * @param <R> the type of the result of {@code f}
+   * @param f the function to protect
+   * @return a function returning the outcome of {@code f} as in
+   *    {@link #to(ThrowingSupplier)}
+   */
+  public <A, R> Function<A, Try<R>> decorate(ThrowingFunction<A, R> f) {
+    return a -> to(() -> f.apply(a));
+  }
+
+  /**
+   * Returns the number of permits.
+   * @return the maximum number of calls running at once
+   */
+  public int getMaxConcurrent() { return maxConcurrent; }
+
+  /**
+   * Returns the number of calls running now.
+   * @return the number of permits taken
+   */
+  public int getActiveCount() { return maxConcurrent - permits.availablePermits(); }
+
+  /**
+   * Returns an estimate of the number of calls waiting for a permit now.
+   * @return the number of waiting calls
+   */
+  public int getQueueLength() { return permits.getQueueLength(); }
+
+  /**
+   * Returns the number of calls made through this bulkhead so far.
+   * @return the number of calls, including rejected ones
+   */
+  public long getCallCount() { return calls.sum(); }
+
+  /**
+   * Returns the number of calls that had to wait for a permit.
+   * @return the number of calls that found no free permit at first
+   */
+  public long getWaitedCount() { return waited.sum(); }
+
+  /**
+   * Returns the number of calls rejected so far.
+   * @return the number of calls rejected without being attempted
+   */
+  public long getRejectedCount() { return rejected.sum(); }
+
+  private <T> Try<T> reject() {
+    rejected.increment();
+    return Failure.of(new CapacityExceededException(rejection));
+  }
+
+  @Override public String toString() {
+    return String.format("Bulkhead(%d/%d)", getActiveCount(), maxConcurrent);
+  }
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Describes how a {@link TryCache} bounds and expires the outcomes it holds.
+ * <p>
+ * A policy keeps at most {@code maximumSize} entries, evicting the least
+ * recently used ones first. A {@link Success} is kept until it is evicted,
+ * unless {@link #withSuccessTtl(Duration) a success TTL} is set. A
+ * {@link Failure} is only shared with the calls made while it was being
+ * computed, unless {@link #withFailureTtl(Duration) a failure TTL} is set, in
+ * which case it is cached too, usually for a much shorter time.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * CachePolicy policy = CachePolicy.of(10_000)
+ *     .withSuccessTtl(Duration.ofMinutes(5))
+ *     .withFailureTtl(Duration.ofSeconds(5))
+ *     .withStaleWhileRevalidate(Duration.ofMinutes(1), executor);
+ *
+ * TryCache<String, InetAddress> dns = TryCache.of(InetAddress::getByName, policy);
+ * }</pre>
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ * @see TryCache
+ * @see ThrowingFunction#memoize(CachePolicy)
+ */
+public final class CachePolicy {
+  final int maximumSize;
+  final long successTtlNanos;
+  final long failureTtlNanos;
+  final long staleNanos;
+  final Executor refreshExecutor;
+
+  private CachePolicy(int maximumSize, long successTtlNanos,
+                      long failureTtlNanos, long staleNanos,
+                      Executor refreshExecutor) {
+    this.maximumSize = maximumSize;
+    this.successTtlNanos = successTtlNanos;
+    this.failureTtlNanos = failureTtlNanos;
+    this.staleNanos = staleNanos;
+    this.refreshExecutor = refreshExecutor;
+  }
+
+  /**
+   * Returns a policy that keeps at most {@code maximumSize} successes, never
+   * expires them, and does not cache failures.
+   * @param maximumSize the maximum number of entries
+   * @return a new {@link CachePolicy}
+   * @throws IllegalArgumentException if {@code maximumSize} is less than 1
+   */
+  public static CachePolicy of(int maximumSize) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException(
+          String.format("maximumSize must be at least 1, was %d", maximumSize));
+    }
+    return new CachePolicy(maximumSize, Long.MAX_VALUE, 0, 0, null);
+  }
+
+  /**
+   * Returns a copy of this policy that expires a {@link Success}
+   * {@code ttl} after it was computed.
+   * @param ttl how long a success is kept
+   * @return a new {@link CachePolicy}
+   * @throws IllegalArgumentException if {@code ttl} is negative
+   */
+  public CachePolicy withSuccessTtl(Duration ttl) {
+    return new CachePolicy(maximumSize, nanos(ttl), failureTtlNanos,
+        staleNanos, refreshExecutor);
+  }
+
+  /**
+   * Returns a copy of this policy that caches a {@link Failure} for
+   * {@code ttl} after it was computed, so that a failing key is not retried
+   * on every call.
+   * @param ttl how long a failure is kept
+   * @return a new {@link CachePolicy}
+   * @throws IllegalArgumentException if {@code ttl} is negative
+   */
+  public CachePolicy withFailureTtl(Duration ttl) {
+    return new CachePolicy(maximumSize, successTtlNanos, nanos(ttl),
+        staleNanos, refreshExecutor);
+  }
+
+  /**
+   * Returns a copy of this policy that, for up to {@code window} after an
+   * entry expires, keeps returning it while a single refresh runs on
+   * {@code executor}.
+   * @param window how long an expired entry may still be returned
+   * @param executor the executor that recomputes expired entries
+   * @return a new {@link CachePolicy}
+   * @throws IllegalArgumentException if {@code window} is negative
+   */
+  public CachePolicy withStaleWhileRevalidate(Duration window,
+                                              Executor executor) {
+    return new CachePolicy(maximumSize, successTtlNanos, failureTtlNanos,
+        nanos(window), Objects.requireNonNull(executor));
+  }
+
+  /**
+   * Returns the maximum number of entries.
+   * @return the maximum number of entries a cache with this policy keeps
+   */
+  public int getMaximumSize() { return maximumSize; }
+
+  private static long nanos(Duration d) {
+    if (d.isNegative()) {
+      throw new IllegalArgumentException(
+          String.format("Duration must not be negative, was %s", d));
+    }
+    try {
+      return d.toNanos();
+    } catch (ArithmeticException e) {
+      return Long.MAX_VALUE;
+    }
+  }
+
+  @Override public String toString() {
+    return String.format("CachePolicy(%d)", maximumSize);
+  }
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+/**
+ * Signals that a call was rejected without being attempted, because the
+ * guard protecting it, such as an open {@link CircuitBreaker} or a
+ * {@link RateLimiter} out of permits, does not permit it.
+ * <p>
+ * A guard hands out the same instance, without a stack trace, for every
+ * rejected call; its cause cannot be set.
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public final class CallNotPermittedException
+    extends RuntimeException implements LibraryException {
+  private static final long serialVersionUID = 1L;
+
+  CallNotPermittedException(String message) {
+    super(message, null, false, false);
+  }
+}
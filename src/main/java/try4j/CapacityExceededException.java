@@ -0,0 +1,42 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Signals that a call was rejected without being attempted, because a
+ * {@link Bulkhead} or an {@link AdaptiveLimiter} had no capacity left for it.
+ * <p>
+ * These exceptions never have a stack trace, since the place a call was
+ * rejected is of no interest, so rejecting a call stays cheap.
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public final class CapacityExceededException
+    extends RejectedExecutionException implements LibraryException {
+  private static final long serialVersionUID = 1L;
+
+  CapacityExceededException(String message) {
+    super(message);
+  }
+
+  @Override public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides whether the exceptions that try4j creates itself fill in their
+ * stack trace.
+ * <p>
+ * Filling in stack traces dominates the cost of the failure path when
+ * failures are common and are simply recovered from. A {@link CapturePolicy}
+ * lets you keep {@link #FULL full} traces, keep them for a
+ * {@link #sampled sample} of failures only, or drop them altogether
+ * ({@link #STACKLESS}). It applies to the exceptions try4j creates, such as
+ * the {@link PredicateNotSatisfiedException} of a failed
+ * {@link Try#filter filter}, which skip filling in their trace when the
+ * policy says so. Exceptions thrown by your own code are never altered: they
+ * filled in their trace when they were thrown, and other code may hold them.
+ * <p>
+ * The policy in effect is the {@link #global() global} one, which is
+ * {@link #FULL} unless changed. Use
+ * {@link Try#to(try4j.function.ThrowingSupplier, CapturePolicy)} to choose a
+ * policy for the exceptions created while a single supplier runs:
+ *
+ * <pre>{@code
+ * Try<Integer> port = Try.to(() -> Integer.parseInt(s), CapturePolicy.sampled(1, 1000));
+ * }</pre>
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public abstract class CapturePolicy {
+  /** Keeps the stack trace of every failure. */
+  public static final CapturePolicy FULL = new CapturePolicy("FULL") {
+    @Override boolean capture() { return true; }
+  };
+
+  /** Keeps the stack trace of no failure. */
+  public static final CapturePolicy STACKLESS = new CapturePolicy("STACKLESS") {
+    @Override boolean capture() { return false; }
+  };
+
+  private static volatile CapturePolicy global = FULL;
+
+  // The policy chosen by the innermost Try.to(supplier, policy) running on
+  // this thread, if any.
+  private static final ThreadLocal<CapturePolicy> SCOPED = new ThreadLocal<>();
+
+  private final String name;
+  private final LongAdder skipped = new LongAdder();
+
+  CapturePolicy(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Returns a policy that keeps the stack traces of {@code keep} out of every
+   * {@code outOf} failures, chosen at random.
+   * @param keep the number of failures out of {@code outOf} whose stack trace
+   *    is kept
+   * @param outOf the size of the sample
+   * @return a new sampling {@link CapturePolicy}
+   * @throws IllegalArgumentException if {@code outOf} is not positive or
+   *    {@code keep} is not between 0 and {@code outOf}
+   */
+  public static CapturePolicy sampled(int keep, int outOf) {
+    if (outOf <= 0 || keep < 0 || keep > outOf) {
+      throw new IllegalArgumentException(
+          String.format("Cannot sample %d out of %d", keep, outOf));
+    }
+    return new CapturePolicy(String.format("SAMPLED(%d, %d)", keep, outOf)) {
+      @Override boolean capture() {
+        return ThreadLocalRandom.current().nextInt(outOf) < keep;
+      }
+    };
+  }
+
+  /**
+   * Returns the policy used when none is given explicitly.
+   * @return the global {@link CapturePolicy}; {@link #FULL} by default
+   */
+  public static CapturePolicy global() { return global; }
+
+  /**
+   * Replaces the policy used when none is given explicitly.
+   * @param policy the new global {@link CapturePolicy}
+   * @throws NullPointerException if {@code policy} is {@code null}
+   */
+  public static void setGlobal(CapturePolicy policy) {
+    global = Objects.requireNonNull(policy, "policy must not be null");
+  }
+
+  /**
+   * Decides whether the next failure keeps its stack trace, counting it if it
+   * does not.
+   * @return {@code true} if the stack trace should be kept
+   */
+  public final boolean shouldCapture() {
+    if (capture()) {
+      return true;
+    } else {
+      skipped.increment();
+      return false;
+    }
+  }
+
+  /**
+   * Returns the number of stack traces this policy has skipped so far.
+   * @return the number of failures for which {@link #shouldCapture()} has
+   *    returned {@code false}
+   */
+  public final long skippedCount() { return skipped.sum(); }
+
+  abstract boolean capture();
+
+  /**
+   * Returns the policy of the innermost
+   * {@link Try#to(try4j.function.ThrowingSupplier, CapturePolicy)} running
+   * on this thread, or else the global one.
+   */
+  static CapturePolicy current() {
+    CapturePolicy scoped = SCOPED.get();
+    return scoped != null ? scoped : global;
+  }
+
+  /**
+   * Makes {@code policy} the current one on this thread, returning the
+   * previous scoped policy for {@link #restore}.
+   */
+  static CapturePolicy enter(CapturePolicy policy) {
+    CapturePolicy outer = SCOPED.get();
+    SCOPED.set(Objects.requireNonNull(policy, "policy must not be null"));
+    return outer;
+  }
+
+  static void restore(CapturePolicy outer) {
+    if (outer == null) {
+      SCOPED.remove();
+    } else {
+      SCOPED.set(outer);
+    }
+  }
+
+  @Override public String toString() { return name; }
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+/**
+ * Signals that a value does not satisfy a check given to
+ * {@link Validation#check(try4j.function.ThrowingPredicate, String)}.
+ * <p>
+ * The stack trace is only filled in if the {@link CapturePolicy} in effect
+ * says so.
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public final class CheckFailedException
+    extends IllegalArgumentException implements LibraryException {
+  private static final long serialVersionUID = 1L;
+
+  CheckFailedException(String message) {
+    super(message);
+  }
+
+  @Override public synchronized Throwable fillInStackTrace() {
+    return CapturePolicy.current().shouldCapture()
+        ? super.fillInStackTrace()
+        : this;
+  }
+}
@@ -0,0 +1,320 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+import try4j.function.ThrowingSupplier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Stops calling a failing dependency for a while, failing fast instead.
+ * <p>
+ * A {@link CircuitBreaker} starts out {@link State#CLOSED closed}: calls go
+ * through and their outcomes are recorded in a sliding window of the last
+ * {@code windowSize} calls. Once the window holds at least
+ * {@code minimumCalls} outcomes and the share of failures among them reaches
+ * {@code failureRateThreshold}, the breaker {@link State#OPEN opens}: calls
+ * are not attempted and immediately return a shared {@link Failure}
+ * containing a {@link CallNotPermittedException}. After
+ * {@code openDuration}, the breaker becomes {@link State#HALF_OPEN
+ * half-open} and lets {@code halfOpenCalls} trial calls through. If they all
+ * succeed it closes again, with an empty window; if any fails it opens again.
+ * <p>
+ * All state is held in atomic fields; no call takes a lock. A
+ * {@link CircuitBreaker} is configured once and then shared by every caller
+ * of the dependency it protects; each {@code with...} method returns a new,
+ * closed breaker.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * CircuitBreaker breaker = CircuitBreaker.of(0.5, 100, Duration.ofSeconds(30))
+ *     .withMinimumCalls(20);
+ *
+ * Try<Quote> quote = breaker.to(() -> pricing.quote(sku));
+ * }</pre>
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public final class CircuitBreaker {
+  /** The states of a {@link CircuitBreaker}. */
+  public enum State {
+    /** Calls go through and their outcomes are recorded. */
+    CLOSED,
+    /** Calls are rejected without being attempted. */
+    OPEN,
+    /** A limited number of trial calls go through. */
+    HALF_OPEN
+  }
+
+  private static final int EMPTY = 0;
+  private static final int SUCCEEDED = 1;
+  private static final int FAILED = 2;
+
+  private final double failureRateThreshold;
+  private final int windowSize;
+  private final long openNanos;
+  private final int minimumCalls;
+  private final int halfOpenCalls;
+
+  private final AtomicReference<Phase> phase =
+      new AtomicReference<>(new Phase(State.CLOSED, 0));
+  private final AtomicIntegerArray window;
+  private final AtomicLong cursor = new AtomicLong();
+  private final AtomicInteger calls = new AtomicInteger();
+  private final AtomicInteger failures = new AtomicInteger();
+  private final LongAdder rejected = new LongAdder();
+
+  private final Failure<?> rejection = new Failure<>(
+      new CallNotPermittedException("CircuitBreaker is open"));
+
+  private CircuitBreaker(double failureRateThreshold, int windowSize,
+                         long openNanos, int minimumCalls, int halfOpenCalls) {
+    this.failureRateThreshold = failureRateThreshold;
+    this.windowSize = windowSize;
+    this.openNanos = openNanos;
+    this.minimumCalls = minimumCalls;
+    this.halfOpenCalls = halfOpenCalls;
+    this.window = new AtomicIntegerArray(windowSize);
+  }
+
+  /**
+   * Returns a closed {@link CircuitBreaker} that opens once the failure rate
+   * of the last {@code windowSize} calls reaches
+   * {@code failureRateThreshold}, stays open for {@code openDuration}, and
+   * then lets a single trial call through.
+   * @param failureRateThreshold the failure rate, between 0 (exclusive) and
+   *    1 (inclusive), at which the breaker opens
+   * @param windowSize the number of most recent calls whose outcomes are
+   *    considered
+   * @param openDuration how long the breaker stays open before letting a
+   *    trial call through
+   * @return a new {@link CircuitBreaker}
+   * @throws IllegalArgumentException if an argument is out of range
+   */
+  public static CircuitBreaker of(double failureRateThreshold, int windowSize,
+                                  Duration openDuration) {
+    if (!(failureRateThreshold > 0.0 && failureRateThreshold <= 1.0)
+        || windowSize < 1 || openDuration.isNegative()) {
+      throw new IllegalArgumentException(String.format(
+          "Invalid circuit breaker: failure rate %s over %d calls, open for %s",
+          failureRateThreshold, windowSize, openDuration));
+    }
+    return new CircuitBreaker(failureRateThreshold, windowSize,
+        openDuration.toNanos(), windowSize, 1);
+  }
+
+  /**
+   * Returns a new {@link CircuitBreaker} like this one that does not open
+   * until the window holds at least {@code minimumCalls} outcomes.
+   * @param minimumCalls the number of outcomes required before the failure
+   *    rate is considered; at most the window size
+   * @return a new {@link CircuitBreaker}
+   * @throws IllegalArgumentException if {@code minimumCalls} is out of range
+   */
+  public CircuitBreaker withMinimumCalls(int minimumCalls) {
+    if (minimumCalls < 1 || minimumCalls > windowSize) {
+      throw new IllegalArgumentException(String.format(
+          "minimumCalls must be between 1 and %d, was %d",
+          windowSize, minimumCalls));
+    }
+    return new CircuitBreaker(failureRateThreshold, windowSize, openNanos,
+        minimumCalls, halfOpenCalls);
+  }
+
+  /**
+   * Returns a new {@link CircuitBreaker} like this one that lets
+   * {@code halfOpenCalls} trial calls through when half-open.
+   * @param halfOpenCalls the number of trial calls that must all succeed for
+   *    the breaker to close again
+   * @return a new {@link CircuitBreaker}
+   * @throws IllegalArgumentException if {@code halfOpenCalls} is less than 1
+   */
+  public CircuitBreaker withHalfOpenCalls(int halfOpenCalls) {
+    if (halfOpenCalls < 1) {
+      throw new IllegalArgumentException(String.format(
+          "halfOpenCalls must be at least 1, was %d", halfOpenCalls));
+    }
+    return new CircuitBreaker(failureRateThreshold, windowSize, openNanos,
+        minimumCalls, halfOpenCalls);
+  }
+
+  /**
+   * Executes {@code supplier} if this breaker permits it.
+   * @param <T> the type of element returned by {@code supplier} if successful
+   * @param supplier the operation to be evaluated, which may throw an exception
+   * @return the outcome of {@code supplier} as in
+   *    {@link Try#to(ThrowingSupplier)}, or, if this breaker does not permit
+   *    the call, a shared {@link Failure} containing a
+   *    {@link CallNotPermittedException}
+   */
+  public <T> Try<T> to(ThrowingSupplier<T> supplier) {
+    Phase permitted = acquire();
+    if (permitted == null) {
+      rejected.increment();
+      @SuppressWarnings("unchecked")
+      Try<T> ret = (Try<T>) rejection;
+      return ret;
+    }
+    Try<T> result = null;
+    try {
+      result = Try.to(supplier);
+    } finally {
+      record(permitted, result != null && result.isSuccess());
+    }
+    return result;
+  }
+
+  /**
+   * Returns a function that applies {@code f} through this breaker.
+   * @param <A> the type of the input to {@code f}
+   * @param <R> the type of the result of {@code f}
+   * @param f the function to protect
+   * @return a function returning the outcome of {@code f} as in
+   *    {@link #to(ThrowingSupplier)}
+   */
+  public <A, R> Function<A, Try<R>> decorate(ThrowingFunction<A, R> f) {
+    return a -> to(() -> f.apply(a));
+  }
+
+  /**
+   * Returns the current state of this breaker.
+   * @return the current {@link State}
+   */
+  public State getState() { return phase.get().state; }
+
+  /**
+   * Returns the failure rate over the current window.
+   * @return the share of failures among the outcomes in the window, or -1 if
+   *    the window holds fewer than the minimum number of calls
+   */
+  public double getFailureRate() {
+    int n = calls.get();
+    return n < minimumCalls ? -1.0 : (double) failures.get() / n;
+  }
+
+  /**
+   * Returns the number of calls this breaker has rejected so far.
+   * @return the number of calls rejected without being attempted
+   */
+  public long getRejectedCount() { return rejected.sum(); }
+
+  /**
+   * Returns the phase under which a call may proceed, or {@code null} if it
+   * must be rejected.
+   */
+  private Phase acquire() {
+    while (true) {
+      Phase current = phase.get();
+      switch (current.state) {
+        case CLOSED:
+          return current;
+        case OPEN:
+          long now = System.nanoTime();
+          if (now - current.since < openNanos) {
+            return null;
+          }
+          // Only the thread that wins the transition creates the trial permits.
+          phase.compareAndSet(current,
+              new Phase(State.HALF_OPEN, now, halfOpenCalls));
+          break;
+        default:
+          return current.trialPermits.getAndDecrement() > 0 ? current : null;
+      }
+    }
+  }
+
+  private void record(Phase permitted, boolean success) {
+    if (permitted.state == State.HALF_OPEN) {
+      if (!success) {
+        trip(permitted);
+      } else if (permitted.trialSuccesses.incrementAndGet() == halfOpenCalls) {
+        resetWindow();
+        phase.compareAndSet(permitted, new Phase(State.CLOSED, System.nanoTime()));
+      }
+      return;
+    }
+    if (phase.get() != permitted) {
+      // The breaker has opened since this call started; its window is
+      // discarded on closing, so the outcome no longer matters.
+      return;
+    }
+
+    int slot = (int) (cursor.getAndIncrement() % windowSize);
+    int previous = window.getAndSet(slot, success ? SUCCEEDED : FAILED);
+    if (previous == EMPTY) {
+      calls.incrementAndGet();
+    }
+    int delta = (success ? 0 : 1) - (previous == FAILED ? 1 : 0);
+    int failed = delta == 0 ? failures.get() : failures.addAndGet(delta);
+    int n = calls.get();
+    if (n >= minimumCalls && failed >= failureRateThreshold * n) {
+      trip(permitted);
+    }
+  }
+
+  /**
+   * Opens the breaker if it is still in {@code from}, so that outcomes of
+   * calls made in an earlier phase never move the start of the open period.
+   */
+  private void trip(Phase from) {
+    phase.compareAndSet(from, new Phase(State.OPEN, System.nanoTime()));
+  }
+
+  private void resetWindow() {
+    for (int i = 0; i < windowSize; i++) {
+      window.set(i, EMPTY);
+    }
+    calls.set(0);
+    failures.set(0);
+  }
+
+  @Override public String toString() {
+    return String.format("CircuitBreaker(%s)", getState());
+  }
+
+  /**
+   * A state together with the time it was entered and, when half-open, the
+   * trial calls it allows. A new instance is created on every transition, so
+   * a single compare-and-set moves all of them at once.
+   */
+  private static final class Phase {
+    final State state;
+    final long since;
+    final AtomicInteger trialPermits;
+    final AtomicInteger trialSuccesses;
+
+    Phase(State state, long since) {
+      this(state, since, 0);
+    }
+
+    Phase(State state, long since, int trialPermits) {
+      this.state = state;
+      this.since = since;
+      this.trialPermits = new AtomicInteger(trialPermits);
+      this.trialSuccesses = new AtomicInteger();
+    }
+  }
+}
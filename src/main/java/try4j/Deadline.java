@@ -0,0 +1,253 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingSupplier;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A point in time by which work must be done.
+ * <p>
+ * {@link #run(Supplier)} makes a deadline the current one of the calling
+ * thread while it runs a block of code. While a deadline is current and has
+ * passed, {@link Success#map} and {@link Success#flatMap} return a
+ * {@link Failure} containing a {@link DeadlineExceededException} instead of
+ * applying their function, and {@link Try#within(Duration, ThrowingSupplier)}
+ * waits no longer than the deadline allows. Deadlines nest: the current
+ * deadline is always the earliest of those in effect.
+ * <p>
+ * {@code map} and {@code flatMap} only look for a current deadline while a
+ * {@link #run} block is in progress on some thread; otherwise they pay a
+ * single read of a shared counter. {@link Try#within} does not count: its
+ * supplier sees its deadline through {@link #current()}, but
+ * {@code map} and {@code flatMap} inside it are only cut short by the
+ * deadline of an enclosing {@link #run} block.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * Try<Page> page = Deadline.after(Duration.ofMillis(250)).run(() ->
+ *     Try.within(Duration.ofMillis(100), () -> users.find(id))
+ *         .flatMap(user -> Try.within(Duration.ofMillis(200), () -> feed.load(user)))
+ *         .map(Page::render));
+ * }</pre>
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public final class Deadline {
+  /**
+   * The number of {@link #run} blocks in progress on all threads. Only
+   * explicit blocks count, so that {@link Try#within} alone never makes
+   * {@code map} and {@code flatMap} look up the current deadline.
+   */
+  static final AtomicInteger ACTIVE = new AtomicInteger();
+
+  private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+  private final long deadlineNanos;
+
+  private Deadline(long deadlineNanos) {
+    this.deadlineNanos = deadlineNanos;
+  }
+
+  /**
+   * Returns a deadline {@code timeout} from now.
+   * @param timeout the time left until the deadline
+   * @return a new {@link Deadline}
+   * @throws IllegalArgumentException if {@code timeout} is negative
+   */
+  public static Deadline after(Duration timeout) {
+    if (timeout.isNegative()) {
+      throw new IllegalArgumentException(
+          String.format("timeout must not be negative, was %s", timeout));
+    }
+    long nanos;
+    try {
+      nanos = timeout.toNanos();
+    } catch (ArithmeticException e) {
+      nanos = Long.MAX_VALUE;
+    }
+    // Keep clear of overflow when comparing against System.nanoTime().
+    return new Deadline(System.nanoTime() + Math.min(nanos, Long.MAX_VALUE >> 1));
+  }
+
+  /**
+   * Returns the deadline current on the calling thread.
+   * @return the current deadline, or {@link Optional#empty()} if the calling
+   *    thread is not within {@link #run}
+   */
+  public static Optional<Deadline> current() {
+    return Optional.ofNullable(CURRENT.get());
+  }
+
+  /**
+   * Returns whether this deadline has passed.
+   * @return {@code true} if no time is left
+   */
+  public boolean isExpired() {
+    return System.nanoTime() - deadlineNanos >= 0;
+  }
+
+  /**
+   * Returns the time left until this deadline.
+   * @return the time left, or {@link Duration#ZERO} if it has passed
+   */
+  public Duration remaining() {
+    return Duration.ofNanos(remainingNanos());
+  }
+
+  /**
+   * Runs {@code body} with this deadline, or the current one if it is
+   * earlier, as the current deadline of the calling thread.
+   * @param <U> the type of the result of {@code body}
+   * @param body the code to run
+   * @return the result of {@code body}
+   */
+  public <U> U run(Supplier<U> body) {
+    ACTIVE.incrementAndGet();
+    try {
+      return scoped(body);
+    } finally {
+      ACTIVE.decrementAndGet();
+    }
+  }
+
+  /**
+   * Runs {@code body} with this deadline, or the current one if it is
+   * earlier, as the current deadline, without counting it in
+   * {@link #ACTIVE}.
+   */
+  private <U> U scoped(Supplier<U> body) {
+    Deadline previous = CURRENT.get();
+    CURRENT.set(previous == null ? this : earliest(previous, this));
+    try {
+      return body.get();
+    } finally {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    }
+  }
+
+  long remainingNanos() {
+    return Math.max(0L, deadlineNanos - System.nanoTime());
+  }
+
+  private static Deadline earliest(Deadline a, Deadline b) {
+    return a.deadlineNanos - b.deadlineNanos <= 0 ? a : b;
+  }
+
+  /**
+   * Returns a {@link Failure} if the current deadline of the calling thread
+   * has passed, or {@code null} if there is time left or no deadline.
+   * Callers check {@link #ACTIVE} first.
+   * @param step the operation that is skipped, for the message
+   */
+  static <U> Try<U> checkCurrent(String step) {
+    Deadline d = CURRENT.get();
+    if (d != null && d.isExpired()) {
+      return Failure.of(new DeadlineExceededException(
+          String.format("Deadline passed before %s", step)));
+    }
+    return null;
+  }
+
+  /** Implements {@link Try#within(Duration, ThrowingSupplier)}. */
+  static <U> Try<U> within(Duration timeout, ThrowingSupplier<U> supplier) {
+    Deadline previous = CURRENT.get();
+    Deadline own = after(timeout);
+    Deadline deadline = previous == null ? own : earliest(previous, own);
+    if (deadline.isExpired()) {
+      return Failure.of(new DeadlineExceededException(
+          "Deadline passed before Try.within"));
+    }
+
+    FutureTask<Try<U>> task =
+        new FutureTask<>(() -> deadline.scoped(() -> Try.to(supplier)));
+    try {
+      Runner.INSTANCE.execute(task);
+    } catch (RejectedExecutionException e) {
+      return Failure.of(e);
+    }
+    try {
+      return task.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      task.cancel(true);
+      return Failure.of(new DeadlineExceededException(String.format(
+          "Supplier did not complete within %s", deadline == own
+              ? timeout
+              : "the current deadline")));
+    } catch (InterruptedException e) {
+      task.cancel(true);
+      Thread.currentThread().interrupt();
+      return Failure.of(e);
+    } catch (ExecutionException e) {
+      // Try.to only lets errors escape.
+      Throwable cause = e.getCause();
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      return Failure.of((Exception) cause);
+    }
+  }
+
+  /**
+   * Holds the executor of {@link Try#within}, so that it is only created on
+   * first use rather than whenever {@code map} first reads {@link #ACTIVE}.
+   */
+  private static final class Runner {
+    static final Executor INSTANCE = runner();
+
+    /**
+     * Returns an executor that runs each task on a new virtual thread if the
+     * JVM supports them (Java 21 and later), or otherwise on a pool of daemon
+     * threads.
+     */
+    private static Executor runner() {
+      try {
+        return (Executor) Executors.class
+            .getMethod("newVirtualThreadPerTaskExecutor")
+            .invoke(null);
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newCachedThreadPool(r -> {
+          Thread t = new Thread(r, "try4j-within-" + count.incrementAndGet());
+          t.setDaemon(true);
+          return t;
+        });
+      }
+    }
+  }
+
+  @Override public String toString() {
+    return String.format("Deadline(%s left)", remaining());
+  }
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+import try4j.function.ThrowingDoubleFunction;
+import try4j.function.ThrowingDoublePredicate;
+import try4j.function.ThrowingDoubleUnaryOperator;
+import try4j.function.ThrowingSupplier;
+import try4j.function.ThrowingToDoubleFunction;
+
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+
+public final class DoubleFailure implements DoubleTry {
+  private final Exception exception;
+
+  /**
+   * Creates a new {@link try4j.DoubleFailure} containing the exception {@code e}.
+   * @param e exception representing a failed operation
+   * @throws java.lang.NullPointerException if {@code e} is {@code null}
+   */
+  public DoubleFailure(Exception e) {
+    this.exception = Objects.requireNonNull(e,
+        "DoubleFailure must be initialized with a non-null exception");
+  }
+
+  /**
+   * Creates a new {@link try4j.DoubleFailure} containing the exception {@code e}.
+   * <p>
+   * Named constructor for syntactic sugar.
+   * @param e exception representing a failed operation
+   * @return a new {@link try4j.DoubleFailure} containing the exception {@code e}.
+   */
+  public static DoubleFailure of(Exception e) { return new DoubleFailure(e); }
+
+  /**
+   * Returns the exception this {@link try4j.DoubleFailure} contains.
+   * @return the exception this {@link try4j.DoubleFailure} contains.
+   */
+  public Exception getException() { return exception; }
+
+  @Override public Try<Exception> failed() { return Success.of(exception); }
+
+  @Override public double get() { throw new FailureException(exception); }
+
+  @Override public double orElse(double instead) { return instead; }
+
+  @Override public double orElse(DoubleSupplier instead) { return instead.getAsDouble(); }
+
+  @Override public DoubleTry orElseTry(ThrowingSupplier<DoubleTry> instead) {
+    try {
+      return instead.get();
+    } catch (Exception e) {
+      return new DoubleFailure(e);
+    }
+  }
+
+  @Override public boolean isFailure() { return true; }
+  @Override public boolean isSuccess() { return false; }
+
+  @Override public OptionalDouble toOptional() { return OptionalDouble.empty(); }
+
+  @Override public DoubleTry filter(ThrowingDoublePredicate predicate) { return this; }
+
+  @Override public DoubleTry map(ThrowingDoubleUnaryOperator mapper) { return this; }
+
+  @Override public <U> Try<U> mapToObj(ThrowingDoubleFunction<? extends U> mapper) {
+    return Failure.of(exception);
+  }
+
+  @Override public DoubleTry flatMap(ThrowingDoubleFunction<DoubleTry> mapper) {
+    return this;
+  }
+
+  @Override public void forEach(DoubleConsumer action) { }
+
+  @Override public DoubleTry recover(ThrowingToDoubleFunction<Exception> rescue) {
+    try {
+      return new DoubleSuccess(rescue.applyAsDouble(exception));
+    } catch (Exception e) {
+      return new DoubleFailure(e);
+    }
+  }
+
+  @Override
+  public DoubleTry recoverWith(ThrowingFunction<Exception, DoubleTry> rescue) {
+    try {
+      return rescue.apply(exception);
+    } catch (Exception e) {
+      return new DoubleFailure(e);
+    }
+  }
+
+  @Override public Try<Double> boxed() {
+    return Failure.of(exception);
+  }
+
+  @Override public boolean equals(Object obj) {
+    if (obj == null) return false;
+    if (obj == this) return true;
+    if ( !(obj instanceof DoubleFailure) ) return false;
+    DoubleFailure other = (DoubleFailure) obj;
+    return Objects.equals(exception, other.exception);
+  }
+
+  @Override public int hashCode() {
+    return Objects.hash(exception);
+  }
+
+  @Override public String toString() {
+    return String.format("DoubleFailure(%s)", exception);
+  }
+}
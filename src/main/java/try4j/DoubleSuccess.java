@@ -0,0 +1,141 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+import try4j.function.ThrowingDoubleFunction;
+import try4j.function.ThrowingDoublePredicate;
+import try4j.function.ThrowingDoubleUnaryOperator;
+import try4j.function.ThrowingSupplier;
+import try4j.function.ThrowingToDoubleFunction;
+
+import java.util.OptionalDouble;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+
+public final class DoubleSuccess implements DoubleTry {
+  private final double value;
+
+  /**
+   * Creates a new {@link try4j.DoubleSuccess} containing {@code value}.
+   * @param value value representing a successful operation
+   */
+  public DoubleSuccess(double value) {
+    this.value = value;
+  }
+
+  /**
+   * Creates a new {@link try4j.DoubleSuccess} containing {@code value}.
+   * <p>
+   * Named constructor for syntactic sugar.
+   * @param value represents a successful operation
+   * @return a new {@link try4j.DoubleSuccess} containing {@code value}.
+   */
+  public static DoubleSuccess of(double value) {
+    return new DoubleSuccess(value);
+  }
+
+  /**
+   * Returns the value this {@link try4j.DoubleSuccess} contains.
+   * @return the value this {@link try4j.DoubleSuccess} contains.
+   */
+  public double getValue() { return value; }
+
+  @Override public Try<Exception> failed() { return Success.notAFailure(); }
+
+  @Override public double get() { return value; }
+
+  @Override public double orElse(double instead) { return value; }
+
+  @Override public double orElse(DoubleSupplier instead) { return value; }
+
+  @Override public DoubleTry orElseTry(ThrowingSupplier<DoubleTry> instead) {
+    return this;
+  }
+
+  @Override public boolean isFailure() { return false; }
+  @Override public boolean isSuccess() { return true; }
+
+  @Override public OptionalDouble toOptional() { return OptionalDouble.of(value); }
+
+  @Override public DoubleTry filter(ThrowingDoublePredicate predicate) {
+    try {
+      if (predicate.test(value)) {
+        return this;
+      } else {
+        return new DoubleFailure(new PredicateNotSatisfiedException(value));
+      }
+    } catch (Exception e) {
+      return new DoubleFailure(e);
+    }
+  }
+
+  @Override public DoubleTry map(ThrowingDoubleUnaryOperator mapper) {
+    try {
+      return new DoubleSuccess(mapper.applyAsDouble(value));
+    } catch (Exception e) {
+      return new DoubleFailure(e);
+    }
+  }
+
+  @Override public <U> Try<U> mapToObj(ThrowingDoubleFunction<? extends U> mapper) {
+    try {
+      return Success.of(mapper.apply(value));
+    } catch (Exception e) {
+      return Failure.of(e);
+    }
+  }
+
+  @Override public DoubleTry flatMap(ThrowingDoubleFunction<DoubleTry> mapper) {
+    try {
+      return mapper.apply(value);
+    } catch (Exception e) {
+      return new DoubleFailure(e);
+    }
+  }
+
+  @Override public void forEach(DoubleConsumer action) {
+    action.accept(value);
+  }
+
+  @Override public DoubleTry recover(ThrowingToDoubleFunction<Exception> rescue) {
+    return this;
+  }
+
+  @Override
+  public DoubleTry recoverWith(ThrowingFunction<Exception, DoubleTry> rescue) {
+    return this;
+  }
+
+  @Override public Try<Double> boxed() { return Success.of(value); }
+
+  @Override public boolean equals(Object obj) {
+    if (obj == null) return false;
+    if (obj == this) return true;
+    if ( !(obj instanceof DoubleSuccess) ) return false;
+    DoubleSuccess other = (DoubleSuccess) obj;
+    return Double.compare(value, other.value) == 0;
+  }
+
+  @Override public int hashCode() {
+    return Double.hashCode(value);
+  }
+
+  @Override public String toString() {
+    return String.format("DoubleSuccess(%s)", value);
+  }
+}
@@ -0,0 +1,263 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+import try4j.function.ThrowingDoubleFunction;
+import try4j.function.ThrowingDoublePredicate;
+import try4j.function.ThrowingDoubleSupplier;
+import try4j.function.ThrowingDoubleUnaryOperator;
+import try4j.function.ThrowingSupplier;
+import try4j.function.ThrowingToDoubleFunction;
+
+import java.util.OptionalDouble;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+
+/**
+ * {@link DoubleTry} is the {@code double} specialization of {@link Try}: a computation
+ * that may either result in an exception or return a successfully computed
+ * {@code double} value.
+ * <p>
+ * An instance of {@link DoubleTry} is either an instance of {@link DoubleSuccess} or
+ * {@link DoubleFailure}. Unlike {@code Try<Double>}, neither ever boxes the value,
+ * and the operations on a {@link DoubleSuccess} invoke the given function directly
+ * rather than through a capturing lambda.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * double total = lines.stream()
+ *     .map(line -> DoubleTry.to(() -> Double.parseDouble(line)))
+ *     .mapToDouble(t -> t.orElse(0))
+ *     .sum();
+ * }</pre>
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ * @see Try
+ */
+public interface DoubleTry {
+  /**
+   * Takes a supplier, executes it, and returns either a {@link DoubleSuccess} or
+   * a {@link DoubleFailure}.
+   * @param supplier the operation to be evaluated, which may throw an exception
+   * @return a {@link DoubleSuccess} containing the return value of
+   *    {@code supplier} if {@code supplier} completes without throwing an
+   *    exception, or a {@link DoubleFailure} containing the exception
+   *    {@code supplier} throws if unsuccessful.
+   */
+  public static DoubleTry to(ThrowingDoubleSupplier supplier) {
+    try {
+      return new DoubleSuccess(supplier.getAsDouble());
+    } catch (Exception e) {
+      return new DoubleFailure(e);
+    }
+  }
+
+  /**
+   * Converts a {@code Try<Double>} into a {@link DoubleTry}.
+   * @param t the {@link Try} to convert
+   * @return a {@link DoubleSuccess} containing the unboxed value if {@code t} is a
+   *    {@link Success}, or a {@link DoubleFailure} containing the same exception
+   *    if {@code t} is a {@link Failure}
+   */
+  public static DoubleTry from(Try<Double> t) {
+    if (t.isSuccess()) {
+      return new DoubleSuccess(t.get());
+    } else {
+      return new DoubleFailure(t.failed().get());
+    }
+  }
+
+  /**
+   * Completes this {@link DoubleTry} with an exception wrapped in a
+   * {@link Success}.
+   * @return a {@link Success} containing either the exception that the
+   *    {@link DoubleTry} failed with (if a {@link DoubleFailure}) or an
+   *    UnsupportedOperationException (if a {@link DoubleSuccess}).
+   */
+  Try<Exception> failed();
+
+  /**
+   * Returns the value from this {@link DoubleTry} if it is a {@link DoubleSuccess} or
+   * throws the exception if this it is a {@link DoubleFailure}.
+   * @return if a {@link DoubleSuccess}, the encapsulated value; if
+   *    a {@link DoubleFailure}, throws the encapsulated exception
+   */
+  double get();
+
+  /**
+   * Returns the value from this {@link DoubleTry} if it is a {@link DoubleSuccess} or
+   * the given default argument if it is a {@link DoubleFailure}.
+   * @param instead the value to return if this is a {@link DoubleFailure}
+   * @return if a {@link DoubleSuccess}, the encapsulated value; if
+   *    a {@link DoubleFailure}, {@code instead}
+   */
+  double orElse(double instead);
+
+  /**
+   * Returns the value from this {@link DoubleTry} if it is a {@link DoubleSuccess} or
+   * the value returned by the given supplier if it is a {@link DoubleFailure}.
+   * @param instead supplies the return value if this is a {@link DoubleFailure}
+   * @return if a {@link DoubleSuccess}, the encapsulated value; if
+   *    a {@link DoubleFailure}, {@code instead}'s return value
+   */
+  double orElse(DoubleSupplier instead);
+
+  /**
+   * Returns this {@link DoubleTry} if it is a {@link DoubleSuccess} or the
+   * {@link DoubleTry} supplied by the given {@link ThrowingSupplier} if it is
+   * a {@link DoubleFailure}.
+   * <p>
+   * If {@code instead} throws an exception, this returns a {@link DoubleFailure}.
+   *
+   * @param instead the supplier to invoke if this is a {@link DoubleFailure}
+   * @return if a {@link DoubleSuccess}, this instance; if a {@link DoubleFailure},
+   *    the {@link DoubleTry} that {@code instead} produces.
+   */
+  DoubleTry orElseTry(ThrowingSupplier<DoubleTry> instead);
+
+  /**
+   * Returns {@code true} if this {@link DoubleTry} is a {@link DoubleFailure}, or
+   * {@code false} otherwise.
+   * @return {@code true} if this {@link DoubleTry} is a {@link DoubleFailure}, or
+   *    {@code false} otherwise.
+   */
+  boolean isFailure();
+
+  /**
+   * Returns {@code true} if this {@link DoubleTry} is a {@link DoubleSuccess}, or
+   * {@code false} otherwise.
+   * @return {@code true} if this {@link DoubleTry} is a {@link DoubleSuccess}, or
+   *    {@code false} otherwise.
+   */
+  boolean isSuccess();
+
+  /**
+   * Returns an empty {@link OptionalDouble} if this is a {@link DoubleFailure} or an
+   * {@link OptionalDouble} containing the encapsulated value if this is
+   * a {@link DoubleSuccess}.
+   * @return an empty {@link OptionalDouble} if this is a {@link DoubleFailure} or an
+   *    {@link OptionalDouble} containing the encapsulated value if this is
+   *    a {@link DoubleSuccess}.
+   */
+  OptionalDouble toOptional();
+
+  /**
+   * Converts this to a {@link DoubleFailure} if the predicate is not satisfied.
+   * <p>
+   * If {@code predicate} throws an exception, this returns
+   * a {@link DoubleFailure}.
+   *
+   * @param predicate the test applied to the encapsulated value if this is
+   *    a {@link DoubleSuccess}
+   * @return this instance if this is already a {@link DoubleFailure}, or if this
+   *    is a {@link DoubleSuccess} that holds for the given {@code predicate};
+   *    otherwise a new {@link DoubleFailure}
+   */
+  DoubleTry filter(ThrowingDoublePredicate predicate);
+
+  /**
+   * Invokes the given function on the encapsulated value if this is
+   * a {@link DoubleSuccess}, or returns this instance if this is
+   * a {@link DoubleFailure}.
+   * <p>
+   * If {@code mapper} throws an exception, this returns a {@link DoubleFailure}.
+   *
+   * @param mapper the mapping function applied to the encapsulated value if
+   *    this is a {@link DoubleSuccess}
+   * @return the result of invoking the given function on the encapsulated
+   *    value if this is a {@link DoubleSuccess}, or this instance if this is
+   *    a {@link DoubleFailure}.
+   */
+  DoubleTry map(ThrowingDoubleUnaryOperator mapper);
+
+  /**
+   * Invokes the given function on the encapsulated value if this is
+   * a {@link DoubleSuccess}, boxing the result into a {@link Try}.
+   * <p>
+   * If {@code mapper} throws an exception, this returns a {@link Failure}.
+   *
+   * @param <U> the type of the {@link Try} returned from this operation
+   * @param mapper the mapping function applied to the encapsulated value if
+   *    this is a {@link DoubleSuccess}
+   * @return a {@link Success} containing the result of invoking the given
+   *    function on the encapsulated value if this is a {@link DoubleSuccess}, or
+   *    a {@link Failure} containing the same exception if this is
+   *    a {@link DoubleFailure}.
+   */
+  <U> Try<U> mapToObj(ThrowingDoubleFunction<? extends U> mapper);
+
+  /**
+   * Returns the given function applied to the value from this {@link DoubleTry}
+   * if it is a {@link DoubleSuccess}, or returns this instance if it is
+   * a {@link DoubleFailure}.
+   * <p>
+   * If {@code mapper} throws an exception, this returns a {@link DoubleFailure}.
+   *
+   * @param mapper invoked on the value in this {@link DoubleTry}
+   * @return if this is a {@link DoubleSuccess}, the {@link DoubleTry} resulting from
+   *    the invocation of {@code mapper} to the encapsulated value; otherwise,
+   *    this instance.
+   */
+  DoubleTry flatMap(ThrowingDoubleFunction<DoubleTry> mapper);
+
+  /**
+   * Applies the given function if this is a {@link DoubleSuccess}, or otherwise
+   * does nothing.
+   * @param action a non-interfering action to perform on the encapsulated
+   *    value if this is a {@link DoubleSuccess}
+   */
+  void forEach(DoubleConsumer action);
+
+  /**
+   * Applies the given function if this is a {@link DoubleFailure}, otherwise
+   * returns this if this is a {@link DoubleSuccess}.
+   * <p>
+   * If {@code rescue} throws an exception, this returns a {@link DoubleFailure}.
+   *
+   * @param rescue the mapping function applied to the encapsulated exception
+   *    if this is a {@link DoubleFailure}
+   * @return a {@link DoubleSuccess} containing the result of invoking the given
+   *    function on the encapsulated exception if this is a {@link DoubleFailure},
+   *    or this instance if this is a {@link DoubleSuccess}.
+   */
+  DoubleTry recover(ThrowingToDoubleFunction<Exception> rescue);
+
+  /**
+   * Applies the given function if this is a {@link DoubleFailure}, otherwise
+   * returns this if this is a {@link DoubleSuccess}.
+   * <p>
+   * If {@code rescue} throws an exception, this returns a {@link DoubleFailure}.
+   *
+   * @param rescue the function applied to the encapsulated exception if this
+   *    is a {@link DoubleFailure}
+   * @return the result of invoking the given function on the encapsulated
+   *    exception if this is a {@link DoubleFailure}, or this instance if this is
+   *    a {@link DoubleSuccess}.
+   */
+  DoubleTry recoverWith(ThrowingFunction<Exception, DoubleTry> rescue);
+
+  /**
+   * Converts this {@link DoubleTry} into a {@code Try<Double>}.
+   * @return a {@link Success} containing the boxed value if this is
+   *    a {@link DoubleSuccess}, or a {@link Failure} containing the same
+   *    exception if this is a {@link DoubleFailure}
+   */
+  Try<Double> boxed();
+}
@@ -23,6 +23,7 @@ import try4j.function.ThrowingSupplier;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 public final class Failure<T> implements Try<T> {
@@ -56,7 +57,32 @@ public final class Failure<T> implements Try<T> {
 
   @Override public Try<Exception> failed() { return Success.of(exception); }
 
-  @Override public T get() { throw new RuntimeException(exception); }
+  @Override public T get() { throw new FailureException(exception); }
+
+  @Override public T getOrThrow() {
+    throw Failure.<RuntimeException>sneaky(exception);
+  }
+
+  @Override
+  public <X extends Exception> T getOrThrow(
+      Function<? super Exception, ? extends X> translate) throws X {
+    throw translate.apply(exception);
+  }
+
+  @Override
+  public <R> R fold(Function<? super T, ? extends R> onSuccess,
+                    Function<? super Exception, ? extends R> onFailure) {
+    return onFailure.apply(exception);
+  }
+
+  /**
+   * Throws {@code e} from a method that does not declare it, by letting the
+   * compiler infer an unchecked type for {@code E}.
+   */
+  @SuppressWarnings("unchecked")
+  private static <E extends Exception> E sneaky(Exception e) throws E {
+    throw (E) e;
+  }
 
   @Override public T orElse(T instead) { return instead; }
 
@@ -110,20 +136,29 @@ public final class Failure<T> implements Try<T> {
 
   @Override
   public Try<? super T> recover(ThrowingFunction<Exception, ? super T> rescue) {
-    try {
-      return Success.of(rescue.apply(exception));
-    } catch (Exception e) {
-      return Failure.of(e);
-    }
+    return TryMetrics.RECOVER.evaluate(() -> Success.of(rescue.apply(exception)));
   }
 
   @Override
   public Try<? super T> recoverWith(ThrowingFunction<Exception, Try<? super T>> rescue) {
-    try {
-      return rescue.apply(exception);
-    } catch (Exception e) {
-      return Failure.of(e);
+    return TryMetrics.RECOVER_WITH.evaluate(() -> rescue.apply(exception));
+  }
+
+  @Override public Try<? super T> recover(RecoveryTable<? super T> table) {
+    Exception matched = table.match(exception);
+    if (matched == null) {
+      return this;
+    }
+    return TryMetrics.RECOVER.evaluate(() -> Success.of(table.handle(matched)));
+  }
+
+  @Override
+  public Try<? super T> recoverWith(RecoveryTable<? extends Try<? super T>> table) {
+    Exception matched = table.match(exception);
+    if (matched == null) {
+      return this;
     }
+    return TryMetrics.RECOVER_WITH.evaluate(() -> table.handle(matched));
   }
 
   @Override public boolean equals(Object obj) {
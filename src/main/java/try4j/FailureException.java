@@ -0,0 +1,41 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+/**
+ * Wraps the exception of a {@link Failure} when {@link Try#get} is invoked on
+ * it.
+ * <p>
+ * The exception of the {@link Failure} is the {@link #getCause() cause}. The
+ * message is only formatted when it is asked for, and the stack trace is only
+ * filled in if the {@link CapturePolicy} in effect says so.
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public final class FailureException
+    extends RuntimeException implements LibraryException {
+  private static final long serialVersionUID = 1L;
+
+  FailureException(Exception cause) {
+    super(null, cause, true, CapturePolicy.current().shouldCapture());
+  }
+
+  @Override public String getMessage() {
+    return getCause().toString();
+  }
+}
@@ -0,0 +1,367 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingSupplier;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides when {@link Try#hedged} starts its backup, and counts how often it
+ * does so and how often the backup wins.
+ * <p>
+ * A policy made by {@link #afterDelay} starts the backup once the primary
+ * has run for a fixed delay. A policy made by {@link #atPercentile} starts
+ * it once the primary has run longer than a given percentile of the
+ * latencies it has observed, using a fixed delay until it has seen enough
+ * calls. Latencies are kept in a histogram of power-of-two buckets whose
+ * counts are halved every {@value #DECAY_INTERVAL} observations, so the
+ * percentile follows recent behaviour. The observed delay never falls below
+ * a floor, one millisecond unless {@link #withMinDelay set}, so that very
+ * fast primaries do not get hedged on every scheduling hiccup.
+ * <p>
+ * A policy also caps the share of calls for which it starts the backup
+ * because the primary is slow: at most {@code 1 - percentile} of calls for
+ * a percentile policy, and every call for a fixed delay, unless
+ * {@link #withMaxHedgeRate set}. Once the cap is reached, a slow primary is
+ * simply awaited. A backup is still started when the primary fails; such
+ * failovers are counted apart and do not count against the cap.
+ * <p>
+ * A policy is shared by every call to the service it hedges; its counters
+ * and histogram are updated without locking. Each {@code with...} method
+ * returns a new policy with fresh counters.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * HedgePolicy hedge = HedgePolicy.atPercentile(0.95, Duration.ofMillis(50))
+ *     .withExecutor(ioPool);
+ *
+ * Try<Row> row = Try.hedged(() -> replicaA.read(key), () -> replicaB.read(key), hedge);
+ * }</pre>
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public final class HedgePolicy {
+  /** Observations between two halvings of the histogram. */
+  static final int DECAY_INTERVAL = 1024;
+  private static final int MIN_SAMPLES = 32;
+  private static final int RECOMPUTE_INTERVAL = 16;
+  private static final int BUCKETS = 64;
+  private static final long DEFAULT_MIN_DELAY_NANOS =
+      TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final long fixedDelayNanos;
+  private final double percentile;
+  private final Executor executor;
+  private final long minDelayNanos;
+  private final double maxHedgeRate;
+
+  private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+  private final AtomicLong samples = new AtomicLong();
+  private final AtomicBoolean decaying = new AtomicBoolean();
+  private volatile long delayNanos;
+  private final LongAdder calls = new LongAdder();
+  private final LongAdder hedges = new LongAdder();
+  private final LongAdder failovers = new LongAdder();
+  private final LongAdder backupWins = new LongAdder();
+
+  private HedgePolicy(long fixedDelayNanos, double percentile,
+                      Executor executor, long minDelayNanos,
+                      double maxHedgeRate) {
+    this.fixedDelayNanos = fixedDelayNanos;
+    this.percentile = percentile;
+    this.executor = executor;
+    this.minDelayNanos = minDelayNanos;
+    this.maxHedgeRate = maxHedgeRate;
+    this.delayNanos = fixedDelayNanos;
+  }
+
+  /**
+   * Returns a policy that starts the backup once the primary has run for
+   * {@code delay}, running both on the common {@link ForkJoinPool}.
+   * @param delay how long the primary runs alone
+   * @return a new {@link HedgePolicy}
+   * @throws IllegalArgumentException if {@code delay} is negative
+   */
+  public static HedgePolicy afterDelay(Duration delay) {
+    return new HedgePolicy(nanos(delay), Double.NaN, ForkJoinPool.commonPool(),
+        0, 1.0);
+  }
+
+  /**
+   * Returns a policy that starts the backup once the primary has run longer
+   * than {@code percentile} of the latencies observed so far, or, until
+   * enough have been observed, for {@code initialDelay}, running both on the
+   * common {@link ForkJoinPool}.
+   * @param percentile the share of calls expected to complete before the
+   *    backup starts, between 0 and 1 (exclusive), such as 0.95
+   * @param initialDelay how long the primary runs alone until enough
+   *    latencies have been observed
+   * @return a new {@link HedgePolicy}
+   * @throws IllegalArgumentException if an argument is out of range
+   */
+  public static HedgePolicy atPercentile(double percentile,
+                                         Duration initialDelay) {
+    if (!(percentile > 0.0 && percentile < 1.0)) {
+      throw new IllegalArgumentException(String.format(
+          "percentile must be between 0 and 1, was %s", percentile));
+    }
+    return new HedgePolicy(nanos(initialDelay), percentile,
+        ForkJoinPool.commonPool(), DEFAULT_MIN_DELAY_NANOS, 1.0 - percentile);
+  }
+
+  /**
+   * Returns a copy of this policy that runs the primary and the backup on
+   * {@code executor}.
+   * @param executor the executor that runs both suppliers
+   * @return a new {@link HedgePolicy}
+   */
+  public HedgePolicy withExecutor(Executor executor) {
+    return new HedgePolicy(fixedDelayNanos, percentile,
+        Objects.requireNonNull(executor), minDelayNanos, maxHedgeRate);
+  }
+
+  /**
+   * Returns a copy of this policy whose observed delay never falls below
+   * {@code minDelay}. Has no effect on a fixed delay.
+   * @param minDelay the shortest delay the percentile may set
+   * @return a new {@link HedgePolicy}
+   * @throws IllegalArgumentException if {@code minDelay} is negative
+   */
+  public HedgePolicy withMinDelay(Duration minDelay) {
+    return new HedgePolicy(fixedDelayNanos, percentile, executor,
+        nanos(minDelay), maxHedgeRate);
+  }
+
+  /**
+   * Returns a copy of this policy that starts the backup of a slow primary
+   * for at most {@code maxHedgeRate} of calls.
+   * @param maxHedgeRate the largest share of calls to hedge, between 0 and 1
+   * @return a new {@link HedgePolicy}
+   * @throws IllegalArgumentException if {@code maxHedgeRate} is not between
+   *    0 and 1
+   */
+  public HedgePolicy withMaxHedgeRate(double maxHedgeRate) {
+    if (!(maxHedgeRate >= 0.0 && maxHedgeRate <= 1.0)) {
+      throw new IllegalArgumentException(String.format(
+          "maxHedgeRate must be between 0 and 1, was %s", maxHedgeRate));
+    }
+    return new HedgePolicy(fixedDelayNanos, percentile, executor,
+        minDelayNanos, maxHedgeRate);
+  }
+
+  /**
+   * Returns how long the primary currently runs alone before the backup
+   * starts.
+   * @return the current hedging delay
+   */
+  public Duration getDelay() { return Duration.ofNanos(delayNanos); }
+
+  /**
+   * Returns the number of hedged calls made with this policy.
+   * @return the number of calls
+   */
+  public long getCalls() { return calls.sum(); }
+
+  /**
+   * Returns the number of calls for which the backup was started because
+   * the primary was slow.
+   * @return the number of hedges
+   */
+  public long getHedges() { return hedges.sum(); }
+
+  /**
+   * Returns the number of calls for which the backup was started because
+   * the primary failed before the backup had been started.
+   * @return the number of failovers
+   */
+  public long getFailovers() { return failovers.sum(); }
+
+  /**
+   * Returns the number of calls whose result came from the backup.
+   * @return the number of backup wins
+   */
+  public long getBackupWins() { return backupWins.sum(); }
+
+  /**
+   * Returns the share of calls for which the backup was started because the
+   * primary was slow.
+   * @return the hedge rate, or 0 if no calls have been made
+   */
+  public double getHedgeRate() {
+    long n = calls.sum();
+    return n == 0 ? 0.0 : (double) hedges.sum() / n;
+  }
+
+  /**
+   * Returns the share of calls that started the backup, whether as a hedge
+   * or a failover, whose result came from the backup.
+   * @return the backup win rate, or 0 if no backup has been started
+   */
+  public double getBackupWinRate() {
+    long n = hedges.sum() + failovers.sum();
+    return n == 0 ? 0.0 : (double) backupWins.sum() / n;
+  }
+
+  <U> Try<U> run(ThrowingSupplier<? extends U> primary,
+                 ThrowingSupplier<? extends U> backup) {
+    calls.increment();
+    ExecutorCompletionService<Try<U>> tasks =
+        new ExecutorCompletionService<>(executor);
+    Future<Try<U>> first = null;
+    Future<Try<U>> second = null;
+    try {
+      long start = System.nanoTime();
+      first = tasks.submit(() -> Try.<U>to(primary::get));
+      Future<Try<U>> done = tasks.poll(delayNanos, TimeUnit.NANOSECONDS);
+      if (done == null) {
+        if (mayHedge()) {
+          hedges.increment();
+          second = tasks.submit(() -> Try.<U>to(backup::get));
+        }
+        done = tasks.take();
+      }
+      Try<U> t = Races.done(done);
+      if (done == first) {
+        observe(System.nanoTime() - start);
+      } else if (t.isSuccess()) {
+        // The primary lost, so its latency is at least this long.
+        observe(System.nanoTime() - start);
+        backupWins.increment();
+      }
+      if (t.isSuccess()) {
+        return t;
+      }
+
+      // The first to complete failed: the other one is the last chance.
+      if (second == null) {
+        failovers.increment();
+        second = tasks.submit(() -> Try.<U>to(backup::get));
+      }
+      Future<Try<U>> last = tasks.take();
+      Try<U> other = Races.done(last);
+      if (other.isSuccess()) {
+        if (last == second) {
+          backupWins.increment();
+        }
+        return other;
+      }
+      return Failure.of(new CompositeException(Arrays.asList(
+          ((Failure<U>) t).getException(),
+          ((Failure<U>) other).getException())));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Failure.of(e);
+    } catch (RejectedExecutionException e) {
+      return Failure.of(e);
+    } finally {
+      if (first != null) {
+        first.cancel(true);
+      }
+      if (second != null) {
+        second.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * Returns {@code true} if starting another backup keeps the hedge rate
+   * within its cap. The first call may always be hedged.
+   */
+  private boolean mayHedge() {
+    return maxHedgeRate >= 1.0
+        || hedges.sum() < maxHedgeRate * calls.sum() + 1;
+  }
+
+  private void observe(long latencyNanos) {
+    if (Double.isNaN(percentile)) {
+      return;
+    }
+    histogram.incrementAndGet(bucket(latencyNanos));
+    long n = samples.incrementAndGet();
+    if (n % DECAY_INTERVAL == 0 && decaying.compareAndSet(false, true)) {
+      try {
+        for (int i = 0; i < BUCKETS; i++) {
+          long c;
+          do {
+            c = histogram.get(i);
+          } while (!histogram.compareAndSet(i, c, c >> 1));
+        }
+      } finally {
+        decaying.set(false);
+      }
+    }
+    if (n >= MIN_SAMPLES && n % RECOMPUTE_INTERVAL == 0) {
+      delayNanos = Math.max(minDelayNanos, estimatePercentile());
+    }
+  }
+
+  /** Bucket {@code i} holds latencies in {@code [2^(i-1), 2^i)}. */
+  private static int bucket(long nanos) {
+    return nanos <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+  }
+
+  private long estimatePercentile() {
+    long[] counts = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = histogram.get(i);
+      total += counts[i];
+    }
+    if (total == 0) {
+      return fixedDelayNanos;
+    }
+    double target = percentile * total;
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      if (seen + counts[i] >= target) {
+        long low = i == 0 ? 0 : 1L << (i - 1);
+        long high = i == 0 ? 1 : 1L << Math.min(i, 62);
+        double within = (target - seen) / counts[i];
+        return low + (long) ((high - low) * within);
+      }
+      seen += counts[i];
+    }
+    return fixedDelayNanos;
+  }
+
+  private static long nanos(Duration d) {
+    if (d.isNegative()) {
+      throw new IllegalArgumentException(
+          String.format("delay must not be negative, was %s", d));
+    }
+    return d.toNanos();
+  }
+
+  @Override public String toString() {
+    return String.format("HedgePolicy(%s)", getDelay());
+  }
+}
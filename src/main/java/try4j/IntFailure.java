@@ -0,0 +1,130 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+import try4j.function.ThrowingIntFunction;
+import try4j.function.ThrowingIntPredicate;
+import try4j.function.ThrowingIntUnaryOperator;
+import try4j.function.ThrowingSupplier;
+import try4j.function.ThrowingToIntFunction;
+
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+
+public final class IntFailure implements IntTry {
+  private final Exception exception;
+
+  /**
+   * Creates a new {@link try4j.IntFailure} containing the exception {@code e}.
+   * @param e exception representing a failed operation
+   * @throws java.lang.NullPointerException if {@code e} is {@code null}
+   */
+  public IntFailure(Exception e) {
+    this.exception = Objects.requireNonNull(e,
+        "IntFailure must be initialized with a non-null exception");
+  }
+
+  /**
+   * Creates a new {@link try4j.IntFailure} containing the exception {@code e}.
+   * <p>
+   * Named constructor for syntactic sugar.
+   * @param e exception representing a failed operation
+   * @return a new {@link try4j.IntFailure} containing the exception {@code e}.
+   */
+  public static IntFailure of(Exception e) { return new IntFailure(e); }
+
+  /**
+   * Returns the exception this {@link try4j.IntFailure} contains.
+   * @return the exception this {@link try4j.IntFailure} contains.
+   */
+  public Exception getException() { return exception; }
+
+  @Override public Try<Exception> failed() { return Success.of(exception); }
+
+  @Override public int get() { throw new FailureException(exception); }
+
+  @Override public int orElse(int instead) { return instead; }
+
+  @Override public int orElse(IntSupplier instead) { return instead.getAsInt(); }
+
+  @Override public IntTry orElseTry(ThrowingSupplier<IntTry> instead) {
+    try {
+      return instead.get();
+    } catch (Exception e) {
+      return new IntFailure(e);
+    }
+  }
+
+  @Override public boolean isFailure() { return true; }
+  @Override public boolean isSuccess() { return false; }
+
+  @Override public OptionalInt toOptional() { return OptionalInt.empty(); }
+
+  @Override public IntTry filter(ThrowingIntPredicate predicate) { return this; }
+
+  @Override public IntTry map(ThrowingIntUnaryOperator mapper) { return this; }
+
+  @Override public <U> Try<U> mapToObj(ThrowingIntFunction<? extends U> mapper) {
+    return Failure.of(exception);
+  }
+
+  @Override public IntTry flatMap(ThrowingIntFunction<IntTry> mapper) {
+    return this;
+  }
+
+  @Override public void forEach(IntConsumer action) { }
+
+  @Override public IntTry recover(ThrowingToIntFunction<Exception> rescue) {
+    try {
+      return new IntSuccess(rescue.applyAsInt(exception));
+    } catch (Exception e) {
+      return new IntFailure(e);
+    }
+  }
+
+  @Override
+  public IntTry recoverWith(ThrowingFunction<Exception, IntTry> rescue) {
+    try {
+      return rescue.apply(exception);
+    } catch (Exception e) {
+      return new IntFailure(e);
+    }
+  }
+
+  @Override public Try<Integer> boxed() {
+    return Failure.of(exception);
+  }
+
+  @Override public boolean equals(Object obj) {
+    if (obj == null) return false;
+    if (obj == this) return true;
+    if ( !(obj instanceof IntFailure) ) return false;
+    IntFailure other = (IntFailure) obj;
+    return Objects.equals(exception, other.exception);
+  }
+
+  @Override public int hashCode() {
+    return Objects.hash(exception);
+  }
+
+  @Override public String toString() {
+    return String.format("IntFailure(%s)", exception);
+  }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+import try4j.function.ThrowingIntFunction;
+import try4j.function.ThrowingIntPredicate;
+import try4j.function.ThrowingIntUnaryOperator;
+import try4j.function.ThrowingSupplier;
+import try4j.function.ThrowingToIntFunction;
+
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+
+public final class IntSuccess implements IntTry {
+  private final int value;
+
+  /**
+   * Creates a new {@link try4j.IntSuccess} containing {@code value}.
+   * @param value value representing a successful operation
+   */
+  public IntSuccess(int value) {
+    this.value = value;
+  }
+
+  /**
+   * Creates a new {@link try4j.IntSuccess} containing {@code value}.
+   * <p>
+   * Named constructor for syntactic sugar.
+   * @param value represents a successful operation
+   * @return a new {@link try4j.IntSuccess} containing {@code value}.
+   */
+  public static IntSuccess of(int value) {
+    return new IntSuccess(value);
+  }
+
+  /**
+   * Returns the value this {@link try4j.IntSuccess} contains.
+   * @return the value this {@link try4j.IntSuccess} contains.
+   */
+  public int getValue() { return value; }
+
+  @Override public Try<Exception> failed() { return Success.notAFailure(); }
+
+  @Override public int get() { return value; }
+
+  @Override public int orElse(int instead) { return value; }
+
+  @Override public int orElse(IntSupplier instead) { return value; }
+
+  @Override public IntTry orElseTry(ThrowingSupplier<IntTry> instead) {
+    return this;
+  }
+
+  @Override public boolean isFailure() { return false; }
+  @Override public boolean isSuccess() { return true; }
+
+  @Override public OptionalInt toOptional() { return OptionalInt.of(value); }
+
+  @Override public IntTry filter(ThrowingIntPredicate predicate) {
+    try {
+      if (predicate.test(value)) {
+        return this;
+      } else {
+        return new IntFailure(new PredicateNotSatisfiedException(value));
+      }
+    } catch (Exception e) {
+      return new IntFailure(e);
+    }
+  }
+
+  @Override public IntTry map(ThrowingIntUnaryOperator mapper) {
+    try {
+      return new IntSuccess(mapper.applyAsInt(value));
+    } catch (Exception e) {
+      return new IntFailure(e);
+    }
+  }
+
+  @Override public <U> Try<U> mapToObj(ThrowingIntFunction<? extends U> mapper) {
+    try {
+      return Success.of(mapper.apply(value));
+    } catch (Exception e) {
+      return Failure.of(e);
+    }
+  }
+
+  @Override public IntTry flatMap(ThrowingIntFunction<IntTry> mapper) {
+    try {
+      return mapper.apply(value);
+    } catch (Exception e) {
+      return new IntFailure(e);
+    }
+  }
+
+  @Override public void forEach(IntConsumer action) {
+    action.accept(value);
+  }
+
+  @Override public IntTry recover(ThrowingToIntFunction<Exception> rescue) {
+    return this;
+  }
+
+  @Override
+  public IntTry recoverWith(ThrowingFunction<Exception, IntTry> rescue) {
+    return this;
+  }
+
+  @Override public Try<Integer> boxed() { return Success.of(value); }
+
+  @Override public boolean equals(Object obj) {
+    if (obj == null) return false;
+    if (obj == this) return true;
+    if ( !(obj instanceof IntSuccess) ) return false;
+    IntSuccess other = (IntSuccess) obj;
+    return value == other.value;
+  }
+
+  @Override public int hashCode() {
+    return Integer.hashCode(value);
+  }
+
+  @Override public String toString() {
+    return String.format("IntSuccess(%s)", value);
+  }
+}
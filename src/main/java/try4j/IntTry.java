@@ -0,0 +1,263 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+import try4j.function.ThrowingIntFunction;
+import try4j.function.ThrowingIntPredicate;
+import try4j.function.ThrowingIntSupplier;
+import try4j.function.ThrowingIntUnaryOperator;
+import try4j.function.ThrowingSupplier;
+import try4j.function.ThrowingToIntFunction;
+
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+
+/**
+ * {@link IntTry} is the {@code int} specialization of {@link Try}: a computation
+ * that may either result in an exception or return a successfully computed
+ * {@code int} value.
+ * <p>
+ * An instance of {@link IntTry} is either an instance of {@link IntSuccess} or
+ * {@link IntFailure}. Unlike {@code Try<Integer>}, neither ever boxes the value,
+ * and the operations on a {@link IntSuccess} invoke the given function directly
+ * rather than through a capturing lambda.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * int total = lines.stream()
+ *     .map(line -> IntTry.to(() -> Integer.parseInt(line)))
+ *     .mapToInt(t -> t.orElse(0))
+ *     .sum();
+ * }</pre>
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ * @see Try
+ */
+public interface IntTry {
+  /**
+   * Takes a supplier, executes it, and returns either an {@link IntSuccess} or
+   * an {@link IntFailure}.
+   * @param supplier the operation to be evaluated, which may throw an exception
+   * @return an {@link IntSuccess} containing the return value of
+   *    {@code supplier} if {@code supplier} completes without throwing an
+   *    exception, or an {@link IntFailure} containing the exception
+   *    {@code supplier} throws if unsuccessful.
+   */
+  public static IntTry to(ThrowingIntSupplier supplier) {
+    try {
+      return new IntSuccess(supplier.getAsInt());
+    } catch (Exception e) {
+      return new IntFailure(e);
+    }
+  }
+
+  /**
+   * Converts a {@code Try<Integer>} into an {@link IntTry}.
+   * @param t the {@link Try} to convert
+   * @return an {@link IntSuccess} containing the unboxed value if {@code t} is a
+   *    {@link Success}, or an {@link IntFailure} containing the same exception
+   *    if {@code t} is a {@link Failure}
+   */
+  public static IntTry from(Try<Integer> t) {
+    if (t.isSuccess()) {
+      return new IntSuccess(t.get());
+    } else {
+      return new IntFailure(t.failed().get());
+    }
+  }
+
+  /**
+   * Completes this {@link IntTry} with an exception wrapped in a
+   * {@link Success}.
+   * @return a {@link Success} containing either the exception that the
+   *    {@link IntTry} failed with (if an {@link IntFailure}) or an
+   *    UnsupportedOperationException (if an {@link IntSuccess}).
+   */
+  Try<Exception> failed();
+
+  /**
+   * Returns the value from this {@link IntTry} if it is an {@link IntSuccess} or
+   * throws the exception if this it is an {@link IntFailure}.
+   * @return if an {@link IntSuccess}, the encapsulated value; if
+   *    an {@link IntFailure}, throws the encapsulated exception
+   */
+  int get();
+
+  /**
+   * Returns the value from this {@link IntTry} if it is an {@link IntSuccess} or
+   * the given default argument if it is an {@link IntFailure}.
+   * @param instead the value to return if this is an {@link IntFailure}
+   * @return if an {@link IntSuccess}, the encapsulated value; if
+   *    an {@link IntFailure}, {@code instead}
+   */
+  int orElse(int instead);
+
+  /**
+   * Returns the value from this {@link IntTry} if it is an {@link IntSuccess} or
+   * the value returned by the given supplier if it is an {@link IntFailure}.
+   * @param instead supplies the return value if this is an {@link IntFailure}
+   * @return if an {@link IntSuccess}, the encapsulated value; if
+   *    an {@link IntFailure}, {@code instead}'s return value
+   */
+  int orElse(IntSupplier instead);
+
+  /**
+   * Returns this {@link IntTry} if it is an {@link IntSuccess} or the
+   * {@link IntTry} supplied by the given {@link ThrowingSupplier} if it is
+   * an {@link IntFailure}.
+   * <p>
+   * If {@code instead} throws an exception, this returns an {@link IntFailure}.
+   *
+   * @param instead the supplier to invoke if this is an {@link IntFailure}
+   * @return if an {@link IntSuccess}, this instance; if an {@link IntFailure},
+   *    the {@link IntTry} that {@code instead} produces.
+   */
+  IntTry orElseTry(ThrowingSupplier<IntTry> instead);
+
+  /**
+   * Returns {@code true} if this {@link IntTry} is an {@link IntFailure}, or
+   * {@code false} otherwise.
+   * @return {@code true} if this {@link IntTry} is an {@link IntFailure}, or
+   *    {@code false} otherwise.
+   */
+  boolean isFailure();
+
+  /**
+   * Returns {@code true} if this {@link IntTry} is an {@link IntSuccess}, or
+   * {@code false} otherwise.
+   * @return {@code true} if this {@link IntTry} is an {@link IntSuccess}, or
+   *    {@code false} otherwise.
+   */
+  boolean isSuccess();
+
+  /**
+   * Returns an empty {@link OptionalInt} if this is an {@link IntFailure} or an
+   * {@link OptionalInt} containing the encapsulated value if this is
+   * an {@link IntSuccess}.
+   * @return an empty {@link OptionalInt} if this is an {@link IntFailure} or an
+   *    {@link OptionalInt} containing the encapsulated value if this is
+   *    an {@link IntSuccess}.
+   */
+  OptionalInt toOptional();
+
+  /**
+   * Converts this to an {@link IntFailure} if the predicate is not satisfied.
+   * <p>
+   * If {@code predicate} throws an exception, this returns
+   * an {@link IntFailure}.
+   *
+   * @param predicate the test applied to the encapsulated value if this is
+   *    an {@link IntSuccess}
+   * @return this instance if this is already an {@link IntFailure}, or if this
+   *    is an {@link IntSuccess} that holds for the given {@code predicate};
+   *    otherwise a new {@link IntFailure}
+   */
+  IntTry filter(ThrowingIntPredicate predicate);
+
+  /**
+   * Invokes the given function on the encapsulated value if this is
+   * an {@link IntSuccess}, or returns this instance if this is
+   * an {@link IntFailure}.
+   * <p>
+   * If {@code mapper} throws an exception, this returns an {@link IntFailure}.
+   *
+   * @param mapper the mapping function applied to the encapsulated value if
+   *    this is an {@link IntSuccess}
+   * @return the result of invoking the given function on the encapsulated
+   *    value if this is an {@link IntSuccess}, or this instance if this is
+   *    an {@link IntFailure}.
+   */
+  IntTry map(ThrowingIntUnaryOperator mapper);
+
+  /**
+   * Invokes the given function on the encapsulated value if this is
+   * an {@link IntSuccess}, boxing the result into a {@link Try}.
+   * <p>
+   * If {@code mapper} throws an exception, this returns a {@link Failure}.
+   *
+   * @param <U> the type of the {@link Try} returned from this operation
+   * @param mapper the mapping function applied to the encapsulated value if
+   *    this is an {@link IntSuccess}
+   * @return a {@link Success} containing the result of invoking the given
+   *    function on the encapsulated value if this is an {@link IntSuccess}, or
+   *    a {@link Failure} containing the same exception if this is
+   *    an {@link IntFailure}.
+   */
+  <U> Try<U> mapToObj(ThrowingIntFunction<? extends U> mapper);
+
+  /**
+   * Returns the given function applied to the value from this {@link IntTry}
+   * if it is an {@link IntSuccess}, or returns this instance if it is
+   * an {@link IntFailure}.
+   * <p>
+   * If {@code mapper} throws an exception, this returns an {@link IntFailure}.
+   *
+   * @param mapper invoked on the value in this {@link IntTry}
+   * @return if this is an {@link IntSuccess}, the {@link IntTry} resulting from
+   *    the invocation of {@code mapper} to the encapsulated value; otherwise,
+   *    this instance.
+   */
+  IntTry flatMap(ThrowingIntFunction<IntTry> mapper);
+
+  /**
+   * Applies the given function if this is an {@link IntSuccess}, or otherwise
+   * does nothing.
+   * @param action a non-interfering action to perform on the encapsulated
+   *    value if this is an {@link IntSuccess}
+   */
+  void forEach(IntConsumer action);
+
+  /**
+   * Applies the given function if this is an {@link IntFailure}, otherwise
+   * returns this if this is an {@link IntSuccess}.
+   * <p>
+   * If {@code rescue} throws an exception, this returns an {@link IntFailure}.
+   *
+   * @param rescue the mapping function applied to the encapsulated exception
+   *    if this is an {@link IntFailure}
+   * @return an {@link IntSuccess} containing the result of invoking the given
+   *    function on the encapsulated exception if this is an {@link IntFailure},
+   *    or this instance if this is an {@link IntSuccess}.
+   */
+  IntTry recover(ThrowingToIntFunction<Exception> rescue);
+
+  /**
+   * Applies the given function if this is an {@link IntFailure}, otherwise
+   * returns this if this is an {@link IntSuccess}.
+   * <p>
+   * If {@code rescue} throws an exception, this returns an {@link IntFailure}.
+   *
+   * @param rescue the function applied to the encapsulated exception if this
+   *    is an {@link IntFailure}
+   * @return the result of invoking the given function on the encapsulated
+   *    exception if this is an {@link IntFailure}, or this instance if this is
+   *    an {@link IntSuccess}.
+   */
+  IntTry recoverWith(ThrowingFunction<Exception, IntTry> rescue);
+
+  /**
+   * Converts this {@link IntTry} into a {@code Try<Integer>}.
+   * @return a {@link Success} containing the boxed value if this is
+   *    an {@link IntSuccess}, or a {@link Failure} containing the same
+   *    exception if this is an {@link IntFailure}
+   */
+  Try<Integer> boxed();
+}
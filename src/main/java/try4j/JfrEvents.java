@@ -0,0 +1,96 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The Java Flight Recorder events emitted by {@link TryEvents}.
+ * <p>
+ * This class refers to {@code jdk.jfr} and must only be loaded once
+ * {@link TryEvents#ENABLED} has confirmed that Flight Recorder is available.
+ * Each event type is looked up once; an event is only allocated while a
+ * recording has its type enabled.
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+final class JfrEvents {
+  private static final EventType FAILURE =
+      EventType.getEventType(FailureEvent.class);
+  private static final EventType SLOW_CALL =
+      EventType.getEventType(SlowCallEvent.class);
+
+  private JfrEvents() {}
+
+  static void failure(String site, Class<?> exceptionClass, long elapsed) {
+    if (FAILURE.isEnabled()) {
+      FailureEvent event = new FailureEvent();
+      event.site = site;
+      event.exceptionClass = exceptionClass;
+      event.elapsed = elapsed;
+      event.commit();
+    }
+  }
+
+  static void slowCall(String site, long elapsed) {
+    if (SLOW_CALL.isEnabled()) {
+      SlowCallEvent event = new SlowCallEvent();
+      event.site = site;
+      event.elapsed = elapsed;
+      event.commit();
+    }
+  }
+
+  @Name("try4j.Failure")
+  @Label("Try Failure")
+  @Category("try4j")
+  @Description("A Try operation produced a Failure")
+  @StackTrace(false)
+  static final class FailureEvent extends Event {
+    @Label("Site")
+    String site;
+
+    @Label("Exception Class")
+    Class<?> exceptionClass;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+  }
+
+  @Name("try4j.SlowCall")
+  @Label("Slow Try Call")
+  @Category("try4j")
+  @Description("A Try operation took longer than the slow call threshold")
+  @StackTrace(false)
+  static final class SlowCallEvent extends Event {
+    @Label("Site")
+    String site;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+  }
+}
@@ -0,0 +1,230 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+import try4j.function.ThrowingPredicate;
+import try4j.function.ThrowingSupplier;
+
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Try} whose computation runs at most once, the first time its
+ * outcome is needed.
+ * <p>
+ * Operations that return a new {@link Try} ({@code map}, {@code flatMap},
+ * {@code filter}, {@code recover}, ...) return another {@link LazyTry} and do
+ * not force this one. Operations that need the outcome ({@code get},
+ * {@code isSuccess}, {@code orElse}, {@code forEach}, ...) force it. Once
+ * forced, the outcome is read without locking.
+ * <p>
+ * A {@link LazyTry} is only equal to itself, since comparing it would force
+ * it.
+ *
+ * @param <T> the type of element contained in a successful computation
+ * @author Brad Collins
+ * @see Try#lazy(ThrowingSupplier)
+ */
+final class LazyTry<T> implements Try<T> {
+  // A root has a thunk; every other LazyTry has the LazyTry it was derived
+  // from and the step that turns that one's outcome into its own. All three
+  // are cleared once the outcome is known.
+  private Supplier<? extends Try<T>> thunk;
+  private LazyTry<?> parent;
+  private Function<Try<?>, ? extends Try<T>> step;
+  private volatile Try<T> result;
+
+  LazyTry(Supplier<? extends Try<T>> thunk) {
+    this.thunk = thunk;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <S> LazyTry(LazyTry<S> parent,
+                      Function<? super Try<S>, ? extends Try<T>> step) {
+    this.parent = parent;
+    this.step = (Function<Try<?>, ? extends Try<T>>) (Function<?, ?>) step;
+  }
+
+  /**
+   * Returns the outcome of this {@link LazyTry}, computing it if this is the
+   * first access.
+   * <p>
+   * The chain of {@link LazyTry}s this one was derived from is walked and
+   * evaluated in a loop, oldest first, so that forcing a long chain of
+   * {@code map}s or {@code flatMap}s does not overflow the stack.
+   * @return the {@link Success} or {@link Failure} this evaluates to
+   */
+  Try<T> force() {
+    Try<T> r = result;
+    if (r != null) {
+      return r;
+    }
+    ArrayDeque<LazyTry<?>> pending = new ArrayDeque<>();
+    Try<?> input = null;
+    LazyTry<?> node = this;
+    while (true) {
+      pending.push(node);
+      LazyTry<?> p = node.pendingParent();
+      if (p == null) {
+        break;
+      }
+      Try<?> known = p.result;
+      if (known != null) {
+        input = known;
+        break;
+      }
+      node = p;
+    }
+    while (!pending.isEmpty()) {
+      input = pending.pop().evaluate(input);
+    }
+    return result;
+  }
+
+  private synchronized LazyTry<?> pendingParent() {
+    return result == null ? parent : null;
+  }
+
+  /**
+   * Computes the outcome of this {@link LazyTry} from {@code input}, the
+   * outcome of its parent, unless it is already known.
+   */
+  @SuppressWarnings("unchecked")
+  private synchronized Try<T> evaluate(Try<?> input) {
+    Try<T> r = result;
+    if (r == null) {
+      r = parent == null ? thunk.get() : step.apply(input);
+      if (r instanceof LazyTry) {
+        r = ((LazyTry<T>) r).force();
+      }
+      result = r;
+      thunk = null;
+      parent = null;
+      step = null;
+    }
+    return r;
+  }
+
+  /**
+   * Returns a {@link LazyTry} whose outcome is {@code step} applied to the
+   * outcome of this one.
+   */
+  private <U> LazyTry<U> then(Function<? super Try<T>, ? extends Try<U>> step) {
+    return new LazyTry<>(this, step);
+  }
+
+  /**
+   * Returns a {@link LazyTry} whose outcome is {@code step} applied to the
+   * outcome of this one, typed as the {@code Try<? super T>} that
+   * {@code step} produces.
+   */
+  @SuppressWarnings("unchecked")
+  private Try<? super T> thenSuper(
+      Function<? super Try<T>, ? extends Try<? super T>> step) {
+    return this.<T>then(t -> (Try<T>) step.apply(t));
+  }
+
+  @Override public Try<Exception> failed() {
+    return then(Try::failed);
+  }
+
+  @Override public T get() { return force().get(); }
+
+  @Override public T getOrThrow() { return force().getOrThrow(); }
+
+  @Override
+  public <X extends Exception> T getOrThrow(
+      Function<? super Exception, ? extends X> translate) throws X {
+    return force().getOrThrow(translate);
+  }
+
+  @Override
+  public <R> R fold(Function<? super T, ? extends R> onSuccess,
+                    Function<? super Exception, ? extends R> onFailure) {
+    return force().fold(onSuccess, onFailure);
+  }
+
+  @Override public T orElse(T instead) { return force().orElse(instead); }
+
+  @Override public T orElse(Supplier<T> instead) {
+    return force().orElse(instead);
+  }
+
+  @Override
+  public Try<? super T> orElseTry(ThrowingSupplier<Try<? super T>> instead) {
+    return thenSuper(t -> t.orElseTry(instead));
+  }
+
+  @Override public boolean isFailure() { return force().isFailure(); }
+  @Override public boolean isSuccess() { return force().isSuccess(); }
+
+  @Override public Optional<T> toOptional() { return force().toOptional(); }
+
+  @Override
+  public <U> Try<U> transform(ThrowingFunction<? super T, Try<U>> s,
+                              ThrowingFunction<Exception, Try<U>> f) {
+    return then(t -> t.transform(s, f));
+  }
+
+  @Override public Try<T> filter(ThrowingPredicate<T> predicate) {
+    return then(t -> t.filter(predicate));
+  }
+
+  @Override public <U> Try<U> flatMap(ThrowingFunction<? super T, Try<U>> mapper) {
+    return then(t -> t.flatMap(mapper));
+  }
+
+  @Override public <U extends Try<?>> Try<U> flatten() {
+    return then(t -> t.<U>flatten());
+  }
+
+  @Override public void forEach(Consumer<? super T> action) {
+    force().forEach(action);
+  }
+
+  @Override public <U> Try<U> map(ThrowingFunction<? super T, ? extends U> mapper) {
+    return then(t -> t.map(mapper));
+  }
+
+  @Override
+  public Try<? super T> recover(ThrowingFunction<Exception, ? super T> rescue) {
+    return thenSuper(t -> t.recover(rescue));
+  }
+
+  @Override
+  public Try<? super T> recoverWith(ThrowingFunction<Exception, Try<? super T>> rescue) {
+    return thenSuper(t -> t.recoverWith(rescue));
+  }
+
+  @Override public Try<? super T> recover(RecoveryTable<? super T> table) {
+    return thenSuper(t -> t.recover(table));
+  }
+
+  @Override
+  public Try<? super T> recoverWith(RecoveryTable<? extends Try<? super T>> table) {
+    return thenSuper(t -> t.recoverWith(table));
+  }
+
+  @Override public String toString() {
+    Try<T> r = result;
+    return r == null ? "Lazy(?)" : String.format("Lazy(%s)", r);
+  }
+}
@@ -0,0 +1,29 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+/**
+ * Marks the exceptions that try4j creates itself.
+ * <p>
+ * These exceptions decide whether to fill in their stack trace when they are
+ * created, by consulting the {@link CapturePolicy} in effect. They are the
+ * only exceptions a {@link CapturePolicy} applies to.
+ *
+ * @author Brad Collins
+ */
+interface LibraryException {
+}
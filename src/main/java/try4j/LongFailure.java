@@ -0,0 +1,130 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+import try4j.function.ThrowingLongFunction;
+import try4j.function.ThrowingLongPredicate;
+import try4j.function.ThrowingLongUnaryOperator;
+import try4j.function.ThrowingSupplier;
+import try4j.function.ThrowingToLongFunction;
+
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+public final class LongFailure implements LongTry {
+  private final Exception exception;
+
+  /**
+   * Creates a new {@link try4j.LongFailure} containing the exception {@code e}.
+   * @param e exception representing a failed operation
+   * @throws java.lang.NullPointerException if {@code e} is {@code null}
+   */
+  public LongFailure(Exception e) {
+    this.exception = Objects.requireNonNull(e,
+        "LongFailure must be initialized with a non-null exception");
+  }
+
+  /**
+   * Creates a new {@link try4j.LongFailure} containing the exception {@code e}.
+   * <p>
+   * Named constructor for syntactic sugar.
+   * @param e exception representing a failed operation
+   * @return a new {@link try4j.LongFailure} containing the exception {@code e}.
+   */
+  public static LongFailure of(Exception e) { return new LongFailure(e); }
+
+  /**
+   * Returns the exception this {@link try4j.LongFailure} contains.
+   * @return the exception this {@link try4j.LongFailure} contains.
+   */
+  public Exception getException() { return exception; }
+
+  @Override public Try<Exception> failed() { return Success.of(exception); }
+
+  @Override public long get() { throw new FailureException(exception); }
+
+  @Override public long orElse(long instead) { return instead; }
+
+  @Override public long orElse(LongSupplier instead) { return instead.getAsLong(); }
+
+  @Override public LongTry orElseTry(ThrowingSupplier<LongTry> instead) {
+    try {
+      return instead.get();
+    } catch (Exception e) {
+      return new LongFailure(e);
+    }
+  }
+
+  @Override public boolean isFailure() { return true; }
+  @Override public boolean isSuccess() { return false; }
+
+  @Override public OptionalLong toOptional() { return OptionalLong.empty(); }
+
+  @Override public LongTry filter(ThrowingLongPredicate predicate) { return this; }
+
+  @Override public LongTry map(ThrowingLongUnaryOperator mapper) { return this; }
+
+  @Override public <U> Try<U> mapToObj(ThrowingLongFunction<? extends U> mapper) {
+    return Failure.of(exception);
+  }
+
+  @Override public LongTry flatMap(ThrowingLongFunction<LongTry> mapper) {
+    return this;
+  }
+
+  @Override public void forEach(LongConsumer action) { }
+
+  @Override public LongTry recover(ThrowingToLongFunction<Exception> rescue) {
+    try {
+      return new LongSuccess(rescue.applyAsLong(exception));
+    } catch (Exception e) {
+      return new LongFailure(e);
+    }
+  }
+
+  @Override
+  public LongTry recoverWith(ThrowingFunction<Exception, LongTry> rescue) {
+    try {
+      return rescue.apply(exception);
+    } catch (Exception e) {
+      return new LongFailure(e);
+    }
+  }
+
+  @Override public Try<Long> boxed() {
+    return Failure.of(exception);
+  }
+
+  @Override public boolean equals(Object obj) {
+    if (obj == null) return false;
+    if (obj == this) return true;
+    if ( !(obj instanceof LongFailure) ) return false;
+    LongFailure other = (LongFailure) obj;
+    return Objects.equals(exception, other.exception);
+  }
+
+  @Override public int hashCode() {
+    return Objects.hash(exception);
+  }
+
+  @Override public String toString() {
+    return String.format("LongFailure(%s)", exception);
+  }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+import try4j.function.ThrowingLongFunction;
+import try4j.function.ThrowingLongPredicate;
+import try4j.function.ThrowingLongUnaryOperator;
+import try4j.function.ThrowingSupplier;
+import try4j.function.ThrowingToLongFunction;
+
+import java.util.OptionalLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+public final class LongSuccess implements LongTry {
+  private final long value;
+
+  /**
+   * Creates a new {@link try4j.LongSuccess} containing {@code value}.
+   * @param value value representing a successful operation
+   */
+  public LongSuccess(long value) {
+    this.value = value;
+  }
+
+  /**
+   * Creates a new {@link try4j.LongSuccess} containing {@code value}.
+   * <p>
+   * Named constructor for syntactic sugar.
+   * @param value represents a successful operation
+   * @return a new {@link try4j.LongSuccess} containing {@code value}.
+   */
+  public static LongSuccess of(long value) {
+    return new LongSuccess(value);
+  }
+
+  /**
+   * Returns the value this {@link try4j.LongSuccess} contains.
+   * @return the value this {@link try4j.LongSuccess} contains.
+   */
+  public long getValue() { return value; }
+
+  @Override public Try<Exception> failed() { return Success.notAFailure(); }
+
+  @Override public long get() { return value; }
+
+  @Override public long orElse(long instead) { return value; }
+
+  @Override public long orElse(LongSupplier instead) { return value; }
+
+  @Override public LongTry orElseTry(ThrowingSupplier<LongTry> instead) {
+    return this;
+  }
+
+  @Override public boolean isFailure() { return false; }
+  @Override public boolean isSuccess() { return true; }
+
+  @Override public OptionalLong toOptional() { return OptionalLong.of(value); }
+
+  @Override public LongTry filter(ThrowingLongPredicate predicate) {
+    try {
+      if (predicate.test(value)) {
+        return this;
+      } else {
+        return new LongFailure(new PredicateNotSatisfiedException(value));
+      }
+    } catch (Exception e) {
+      return new LongFailure(e);
+    }
+  }
+
+  @Override public LongTry map(ThrowingLongUnaryOperator mapper) {
+    try {
+      return new LongSuccess(mapper.applyAsLong(value));
+    } catch (Exception e) {
+      return new LongFailure(e);
+    }
+  }
+
+  @Override public <U> Try<U> mapToObj(ThrowingLongFunction<? extends U> mapper) {
+    try {
+      return Success.of(mapper.apply(value));
+    } catch (Exception e) {
+      return Failure.of(e);
+    }
+  }
+
+  @Override public LongTry flatMap(ThrowingLongFunction<LongTry> mapper) {
+    try {
+      return mapper.apply(value);
+    } catch (Exception e) {
+      return new LongFailure(e);
+    }
+  }
+
+  @Override public void forEach(LongConsumer action) {
+    action.accept(value);
+  }
+
+  @Override public LongTry recover(ThrowingToLongFunction<Exception> rescue) {
+    return this;
+  }
+
+  @Override
+  public LongTry recoverWith(ThrowingFunction<Exception, LongTry> rescue) {
+    return this;
+  }
+
+  @Override public Try<Long> boxed() { return Success.of(value); }
+
+  @Override public boolean equals(Object obj) {
+    if (obj == null) return false;
+    if (obj == this) return true;
+    if ( !(obj instanceof LongSuccess) ) return false;
+    LongSuccess other = (LongSuccess) obj;
+    return value == other.value;
+  }
+
+  @Override public int hashCode() {
+    return Long.hashCode(value);
+  }
+
+  @Override public String toString() {
+    return String.format("LongSuccess(%s)", value);
+  }
+}
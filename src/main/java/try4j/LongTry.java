@@ -0,0 +1,263 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+import try4j.function.ThrowingLongFunction;
+import try4j.function.ThrowingLongPredicate;
+import try4j.function.ThrowingLongSupplier;
+import try4j.function.ThrowingLongUnaryOperator;
+import try4j.function.ThrowingSupplier;
+import try4j.function.ThrowingToLongFunction;
+
+import java.util.OptionalLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link LongTry} is the {@code long} specialization of {@link Try}: a computation
+ * that may either result in an exception or return a successfully computed
+ * {@code long} value.
+ * <p>
+ * An instance of {@link LongTry} is either an instance of {@link LongSuccess} or
+ * {@link LongFailure}. Unlike {@code Try<Long>}, neither ever boxes the value,
+ * and the operations on a {@link LongSuccess} invoke the given function directly
+ * rather than through a capturing lambda.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * long total = lines.stream()
+ *     .map(line -> LongTry.to(() -> Long.parseLong(line)))
+ *     .mapToLong(t -> t.orElse(0))
+ *     .sum();
+ * }</pre>
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ * @see Try
+ */
+public interface LongTry {
+  /**
+   * Takes a supplier, executes it, and returns either a {@link LongSuccess} or
+   * a {@link LongFailure}.
+   * @param supplier the operation to be evaluated, which may throw an exception
+   * @return a {@link LongSuccess} containing the return value of
+   *    {@code supplier} if {@code supplier} completes without throwing an
+   *    exception, or a {@link LongFailure} containing the exception
+   *    {@code supplier} throws if unsuccessful.
+   */
+  public static LongTry to(ThrowingLongSupplier supplier) {
+    try {
+      return new LongSuccess(supplier.getAsLong());
+    } catch (Exception e) {
+      return new LongFailure(e);
+    }
+  }
+
+  /**
+   * Converts a {@code Try<Long>} into a {@link LongTry}.
+   * @param t the {@link Try} to convert
+   * @return a {@link LongSuccess} containing the unboxed value if {@code t} is a
+   *    {@link Success}, or a {@link LongFailure} containing the same exception
+   *    if {@code t} is a {@link Failure}
+   */
+  public static LongTry from(Try<Long> t) {
+    if (t.isSuccess()) {
+      return new LongSuccess(t.get());
+    } else {
+      return new LongFailure(t.failed().get());
+    }
+  }
+
+  /**
+   * Completes this {@link LongTry} with an exception wrapped in a
+   * {@link Success}.
+   * @return a {@link Success} containing either the exception that the
+   *    {@link LongTry} failed with (if a {@link LongFailure}) or an
+   *    UnsupportedOperationException (if a {@link LongSuccess}).
+   */
+  Try<Exception> failed();
+
+  /**
+   * Returns the value from this {@link LongTry} if it is a {@link LongSuccess} or
+   * throws the exception if this it is a {@link LongFailure}.
+   * @return if a {@link LongSuccess}, the encapsulated value; if
+   *    a {@link LongFailure}, throws the encapsulated exception
+   */
+  long get();
+
+  /**
+   * Returns the value from this {@link LongTry} if it is a {@link LongSuccess} or
+   * the given default argument if it is a {@link LongFailure}.
+   * @param instead the value to return if this is a {@link LongFailure}
+   * @return if a {@link LongSuccess}, the encapsulated value; if
+   *    a {@link LongFailure}, {@code instead}
+   */
+  long orElse(long instead);
+
+  /**
+   * Returns the value from this {@link LongTry} if it is a {@link LongSuccess} or
+   * the value returned by the given supplier if it is a {@link LongFailure}.
+   * @param instead supplies the return value if this is a {@link LongFailure}
+   * @return if a {@link LongSuccess}, the encapsulated value; if
+   *    a {@link LongFailure}, {@code instead}'s return value
+   */
+  long orElse(LongSupplier instead);
+
+  /**
+   * Returns this {@link LongTry} if it is a {@link LongSuccess} or the
+   * {@link LongTry} supplied by the given {@link ThrowingSupplier} if it is
+   * a {@link LongFailure}.
+   * <p>
+   * If {@code instead} throws an exception, this returns a {@link LongFailure}.
+   *
+   * @param instead the supplier to invoke if this is a {@link LongFailure}
+   * @return if a {@link LongSuccess}, this instance; if a {@link LongFailure},
+   *    the {@link LongTry} that {@code instead} produces.
+   */
+  LongTry orElseTry(ThrowingSupplier<LongTry> instead);
+
+  /**
+   * Returns {@code true} if this {@link LongTry} is a {@link LongFailure}, or
+   * {@code false} otherwise.
+   * @return {@code true} if this {@link LongTry} is a {@link LongFailure}, or
+   *    {@code false} otherwise.
+   */
+  boolean isFailure();
+
+  /**
+   * Returns {@code true} if this {@link LongTry} is a {@link LongSuccess}, or
+   * {@code false} otherwise.
+   * @return {@code true} if this {@link LongTry} is a {@link LongSuccess}, or
+   *    {@code false} otherwise.
+   */
+  boolean isSuccess();
+
+  /**
+   * Returns an empty {@link OptionalLong} if this is a {@link LongFailure} or an
+   * {@link OptionalLong} containing the encapsulated value if this is
+   * a {@link LongSuccess}.
+   * @return an empty {@link OptionalLong} if this is a {@link LongFailure} or an
+   *    {@link OptionalLong} containing the encapsulated value if this is
+   *    a {@link LongSuccess}.
+   */
+  OptionalLong toOptional();
+
+  /**
+   * Converts this to a {@link LongFailure} if the predicate is not satisfied.
+   * <p>
+   * If {@code predicate} throws an exception, this returns
+   * a {@link LongFailure}.
+   *
+   * @param predicate the test applied to the encapsulated value if this is
+   *    a {@link LongSuccess}
+   * @return this instance if this is already a {@link LongFailure}, or if this
+   *    is a {@link LongSuccess} that holds for the given {@code predicate};
+   *    otherwise a new {@link LongFailure}
+   */
+  LongTry filter(ThrowingLongPredicate predicate);
+
+  /**
+   * Invokes the given function on the encapsulated value if this is
+   * a {@link LongSuccess}, or returns this instance if this is
+   * a {@link LongFailure}.
+   * <p>
+   * If {@code mapper} throws an exception, this returns a {@link LongFailure}.
+   *
+   * @param mapper the mapping function applied to the encapsulated value if
+   *    this is a {@link LongSuccess}
+   * @return the result of invoking the given function on the encapsulated
+   *    value if this is a {@link LongSuccess}, or this instance if this is
+   *    a {@link LongFailure}.
+   */
+  LongTry map(ThrowingLongUnaryOperator mapper);
+
+  /**
+   * Invokes the given function on the encapsulated value if this is
+   * a {@link LongSuccess}, boxing the result into a {@link Try}.
+   * <p>
+   * If {@code mapper} throws an exception, this returns a {@link Failure}.
+   *
+   * @param <U> the type of the {@link Try} returned from this operation
+   * @param mapper the mapping function applied to the encapsulated value if
+   *    this is a {@link LongSuccess}
+   * @return a {@link Success} containing the result of invoking the given
+   *    function on the encapsulated value if this is a {@link LongSuccess}, or
+   *    a {@link Failure} containing the same exception if this is
+   *    a {@link LongFailure}.
+   */
+  <U> Try<U> mapToObj(ThrowingLongFunction<? extends U> mapper);
+
+  /**
+   * Returns the given function applied to the value from this {@link LongTry}
+   * if it is a {@link LongSuccess}, or returns this instance if it is
+   * a {@link LongFailure}.
+   * <p>
+   * If {@code mapper} throws an exception, this returns a {@link LongFailure}.
+   *
+   * @param mapper invoked on the value in this {@link LongTry}
+   * @return if this is a {@link LongSuccess}, the {@link LongTry} resulting from
+   *    the invocation of {@code mapper} to the encapsulated value; otherwise,
+   *    this instance.
+   */
+  LongTry flatMap(ThrowingLongFunction<LongTry> mapper);
+
+  /**
+   * Applies the given function if this is a {@link LongSuccess}, or otherwise
+   * does nothing.
+   * @param action a non-interfering action to perform on the encapsulated
+   *    value if this is a {@link LongSuccess}
+   */
+  void forEach(LongConsumer action);
+
+  /**
+   * Applies the given function if this is a {@link LongFailure}, otherwise
+   * returns this if this is a {@link LongSuccess}.
+   * <p>
+   * If {@code rescue} throws an exception, this returns a {@link LongFailure}.
+   *
+   * @param rescue the mapping function applied to the encapsulated exception
+   *    if this is a {@link LongFailure}
+   * @return a {@link LongSuccess} containing the result of invoking the given
+   *    function on the encapsulated exception if this is a {@link LongFailure},
+   *    or this instance if this is a {@link LongSuccess}.
+   */
+  LongTry recover(ThrowingToLongFunction<Exception> rescue);
+
+  /**
+   * Applies the given function if this is a {@link LongFailure}, otherwise
+   * returns this if this is a {@link LongSuccess}.
+   * <p>
+   * If {@code rescue} throws an exception, this returns a {@link LongFailure}.
+   *
+   * @param rescue the function applied to the encapsulated exception if this
+   *    is a {@link LongFailure}
+   * @return the result of invoking the given function on the encapsulated
+   *    exception if this is a {@link LongFailure}, or this instance if this is
+   *    a {@link LongSuccess}.
+   */
+  LongTry recoverWith(ThrowingFunction<Exception, LongTry> rescue);
+
+  /**
+   * Converts this {@link LongTry} into a {@code Try<Long>}.
+   * @return a {@link Success} containing the boxed value if this is
+   *    a {@link LongSuccess}, or a {@link Failure} containing the same
+   *    exception if this is a {@link LongFailure}
+   */
+  Try<Long> boxed();
+}
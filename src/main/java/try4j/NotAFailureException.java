@@ -0,0 +1,39 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+/**
+ * Signals that {@link Try#failed} was invoked on a {@link Success}.
+ * <p>
+ * These exceptions never have a stack trace. A new one is created each
+ * time rather than shared, since an {@link UnsupportedOperationException}
+ * cannot disable suppression and a shared instance would collect every
+ * exception added to it.
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public final class NotAFailureException
+    extends UnsupportedOperationException implements LibraryException {
+  private static final long serialVersionUID = 1L;
+
+  NotAFailureException() {
+    super("Success.failed");
+  }
+
+  @Override public synchronized Throwable fillInStackTrace() { return this; }
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+/**
+ * Signals that {@link Try#flatten} was invoked on a {@link Success} whose
+ * value is not itself a {@link Try}.
+ * <p>
+ * The message is only formatted when it is asked for, and the stack trace is
+ * only filled in if the {@link CapturePolicy} in effect says so.
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public final class NotATryException
+    extends UnsupportedOperationException implements LibraryException {
+  private static final long serialVersionUID = 1L;
+
+  private final transient Object value;
+
+  NotATryException(Object value) {
+    this.value = value;
+  }
+
+  /**
+   * Returns the value that is not a {@link Try}.
+   * @return the value that is not a {@link Try}
+   */
+  public Object getValue() { return value; }
+
+  @Override public String getMessage() {
+    return String.format("%s is not an instance of Try", value);
+  }
+
+  @Override public synchronized Throwable fillInStackTrace() {
+    return CapturePolicy.current().shouldCapture()
+        ? super.fillInStackTrace()
+        : this;
+  }
+}
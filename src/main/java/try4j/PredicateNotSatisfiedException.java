@@ -0,0 +1,56 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Signals that the value of a {@link Success} does not satisfy the predicate
+ * given to {@link Try#filter}.
+ * <p>
+ * The message is only formatted when it is asked for, and the stack trace is
+ * only filled in if the {@link CapturePolicy} in effect says so.
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public final class PredicateNotSatisfiedException
+    extends NoSuchElementException implements LibraryException {
+  private static final long serialVersionUID = 1L;
+
+  private final transient Object value;
+
+  PredicateNotSatisfiedException(Object value) {
+    this.value = value;
+  }
+
+  /**
+   * Returns the value that did not satisfy the predicate.
+   * @return the value that did not satisfy the predicate
+   */
+  public Object getValue() { return value; }
+
+  @Override public String getMessage() {
+    return String.format("Predicate does not hold for '%s'", value);
+  }
+
+  @Override public synchronized Throwable fillInStackTrace() {
+    return CapturePolicy.current().shouldCapture()
+        ? super.fillInStackTrace()
+        : this;
+  }
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingSupplier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Implements {@link Try#firstSuccess} and {@link Try#allOf}.
+ * <p>
+ * Each supplier runs as a task of an {@link ExecutorCompletionService}, so
+ * outcomes are taken in the order they complete. Tasks still running when
+ * the outcome is decided are cancelled and interrupted.
+ *
+ * @author Brad Collins
+ */
+final class Races {
+  /** Stands for no timeout. */
+  static final long NO_TIMEOUT = -1L;
+
+  private Races() { }
+
+  static long nanos(Duration timeout) {
+    if (timeout.isNegative()) {
+      throw new IllegalArgumentException(
+          String.format("timeout must not be negative, was %s", timeout));
+    }
+    try {
+      return timeout.toNanos();
+    } catch (ArithmeticException e) {
+      return NO_TIMEOUT;
+    }
+  }
+
+  static <U> Try<U> firstSuccess(Executor executor, long timeoutNanos,
+                                 List<? extends ThrowingSupplier<? extends U>> suppliers) {
+    if (suppliers.size() == 0) {
+      return Failure.of(new NoSuchElementException("No suppliers to run"));
+    }
+    ExecutorCompletionService<Try<U>> tasks =
+        new ExecutorCompletionService<>(executor);
+    List<Future<Try<U>>> futures = new ArrayList<>(suppliers.size());
+    List<Exception> failures = new ArrayList<>();
+    try {
+      submitAll(tasks, futures, suppliers);
+      long deadline = System.nanoTime() + timeoutNanos;
+      for (int i = 0; i < suppliers.size(); i++) {
+        Try<U> t = next(tasks, timeoutNanos, deadline);
+        if (t == null) {
+          return timedOut(suppliers.size(), timeoutNanos, failures);
+        }
+        if (t.isSuccess()) {
+          return t;
+        }
+        failures.add(((Failure<U>) t).getException());
+      }
+      return Failure.of(new CompositeException(failures));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Failure.of(e);
+    } catch (RejectedExecutionException e) {
+      return Failure.of(e);
+    } finally {
+      cancelAll(futures);
+    }
+  }
+
+  static <U> Try<List<U>> allOf(Executor executor, long timeoutNanos,
+                                List<? extends ThrowingSupplier<? extends U>> suppliers) {
+    ExecutorCompletionService<Try<U>> tasks =
+        new ExecutorCompletionService<>(executor);
+    List<Future<Try<U>>> futures = new ArrayList<>(suppliers.size());
+    try {
+      submitAll(tasks, futures, suppliers);
+      long deadline = System.nanoTime() + timeoutNanos;
+      for (int i = 0; i < suppliers.size(); i++) {
+        Try<U> t = next(tasks, timeoutNanos, deadline);
+        if (t == null) {
+          return timedOut(suppliers.size(), timeoutNanos,
+              new ArrayList<Exception>());
+        }
+        if (t.isFailure()) {
+          return Failure.of(((Failure<U>) t).getException());
+        }
+      }
+      List<U> values = new ArrayList<>(suppliers.size());
+      for (Future<Try<U>> f : futures) {
+        values.add(done(f).get());
+      }
+      return Success.of(values);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Failure.of(e);
+    } catch (RejectedExecutionException e) {
+      return Failure.of(e);
+    } finally {
+      cancelAll(futures);
+    }
+  }
+
+  private static <U> void submitAll(ExecutorCompletionService<Try<U>> tasks,
+                                    List<Future<Try<U>>> futures,
+                                    List<? extends ThrowingSupplier<? extends U>> suppliers) {
+    for (ThrowingSupplier<? extends U> supplier : suppliers) {
+      futures.add(tasks.submit(() -> Try.<U>to(supplier::get)));
+    }
+  }
+
+  /**
+   * Returns the next outcome to complete, or {@code null} if the deadline
+   * passes first.
+   */
+  private static <U> Try<U> next(ExecutorCompletionService<Try<U>> tasks,
+                                 long timeoutNanos, long deadline)
+      throws InterruptedException {
+    Future<Try<U>> f = timeoutNanos == NO_TIMEOUT
+        ? tasks.take()
+        : tasks.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    return f == null ? null : done(f);
+  }
+
+  /** Returns the outcome of a completed task. */
+  static <U> Try<U> done(Future<Try<U>> f) {
+    boolean interrupted = false;
+    try {
+      for (;;) {
+        try {
+          return f.get();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          // Try.to only lets errors escape.
+          Throwable cause = e.getCause();
+          if (cause instanceof Error) {
+            throw (Error) cause;
+          }
+          return Failure.of((Exception) cause);
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static <U> Try<U> timedOut(int count, long timeoutNanos,
+                                     List<Exception> failures) {
+    TimeoutException e = new TimeoutException(String.format(
+        "%d suppliers did not complete within %s",
+        count, Duration.ofNanos(timeoutNanos)));
+    if (!failures.isEmpty()) {
+      e.initCause(new CompositeException(failures));
+    }
+    return Failure.of(e);
+  }
+
+  private static <U> void cancelAll(List<Future<Try<U>>> futures) {
+    for (Future<Try<U>> f : futures) {
+      f.cancel(true);
+    }
+  }
+}
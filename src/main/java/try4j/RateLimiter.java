@@ -0,0 +1,304 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+import try4j.function.ThrowingSupplier;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Keeps calls to a dependency under a fixed rate.
+ * <p>
+ * A {@link RateLimiter} hands out {@code permits} permits per
+ * {@code period}, spaced evenly, and lets up to its burst size of them be
+ * taken at once after a quiet spell. It is a token bucket kept as a
+ * single timestamp, the theoretical arrival time of the next call, so
+ * taking a permit is one compare-and-set with no lock and no thread
+ * refilling the bucket.
+ * <p>
+ * {@link #to(ThrowingSupplier)} runs a call only if a permit is free now,
+ * and otherwise returns a {@link Failure} containing a
+ * {@link CallNotPermittedException} right away.
+ * {@link #toAsync(ThrowingSupplier, ScheduledExecutorService)} instead
+ * reserves the next free permit and schedules the call for when it falls
+ * due, unless that is further off than the limiter's maximum wait.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * RateLimiter limiter = RateLimiter.of(100, Duration.ofSeconds(1))
+ *     .withBurst(10);
+ *
+ * Try<Rates> rates = limiter.to(() -> exchange.latest());
+ * }</pre>
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public final class RateLimiter {
+  private static final long REJECTED = -1;
+
+  // Longest interval, tolerance or wait kept, about 73 years; the sum of
+  // all three stays well clear of overflowing the clock.
+  private static final long MAX_SPAN = Long.MAX_VALUE / 4;
+  private static final Duration MAX_SPAN_DURATION = Duration.ofNanos(MAX_SPAN);
+
+  private final int permits;
+  private final Duration period;
+  private final int burst;
+  private final long maxWaitNanos;
+
+  // Nanoseconds between permits, and how far ahead of the clock the
+  // theoretical arrival time may run before calls must wait.
+  private final long interval;
+  private final long tolerance;
+  private final long origin = System.nanoTime();
+  private final AtomicLong arrival = new AtomicLong();
+  private final LongAdder delayed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+
+  private final Failure<?> rejection = new Failure<>(
+      new CallNotPermittedException("RateLimiter has no permits"));
+
+  private RateLimiter(int permits, Duration period, int burst,
+                      long maxWaitNanos) {
+    this.permits = permits;
+    this.period = period;
+    this.burst = burst;
+    this.maxWaitNanos = maxWaitNanos;
+    this.interval = Math.max(1, nanos(period) / permits);
+    long tolerance;
+    try {
+      tolerance = Math.multiplyExact(interval, burst - 1);
+    } catch (ArithmeticException e) {
+      tolerance = MAX_SPAN;
+    }
+    this.tolerance = Math.min(tolerance, MAX_SPAN);
+  }
+
+  private static long nanos(Duration duration) {
+    return duration.compareTo(MAX_SPAN_DURATION) >= 0
+        ? MAX_SPAN : duration.toNanos();
+  }
+
+  /**
+   * Returns a rate limiter that allows {@code permits} calls per
+   * {@code period}, one at a time, with no limit on how long
+   * {@link #toAsync(ThrowingSupplier, ScheduledExecutorService)} may wait.
+   * @param permits the number of calls allowed per period
+   * @param period the period over which the rate is measured
+   * @return a new {@link RateLimiter}
+   * @throws IllegalArgumentException if {@code permits} is less than 1 or
+   *    {@code period} is not positive
+   */
+  public static RateLimiter of(int permits, Duration period) {
+    if (permits < 1) {
+      throw new IllegalArgumentException(
+          String.format("permits must be at least 1, was %d", permits));
+    }
+    if (period.isNegative() || period.isZero()) {
+      throw new IllegalArgumentException(
+          String.format("period must be positive, was %s", period));
+    }
+    return new RateLimiter(permits, period, 1, MAX_SPAN);
+  }
+
+  /**
+   * Returns a new {@link RateLimiter} like this one that lets up to
+   * {@code burst} calls through at once when it has been idle.
+   * @param burst the number of permits the bucket holds
+   * @return a new {@link RateLimiter}
+   * @throws IllegalArgumentException if {@code burst} is less than 1
+   */
+  public RateLimiter withBurst(int burst) {
+    if (burst < 1) {
+      throw new IllegalArgumentException(
+          String.format("burst must be at least 1, was %d", burst));
+    }
+    return new RateLimiter(permits, period, burst, maxWaitNanos);
+  }
+
+  /**
+   * Returns a new {@link RateLimiter} like this one in which a call made
+   * with {@link #toAsync(ThrowingSupplier, ScheduledExecutorService)} is
+   * rejected rather than scheduled more than {@code maxWait} ahead.
+   * @param maxWait the longest a call may be delayed
+   * @return a new {@link RateLimiter}
+   * @throws IllegalArgumentException if {@code maxWait} is negative
+   */
+  public RateLimiter withMaxWait(Duration maxWait) {
+    if (maxWait.isNegative()) {
+      throw new IllegalArgumentException(
+          String.format("maxWait must not be negative, was %s", maxWait));
+    }
+    return new RateLimiter(permits, period, burst, nanos(maxWait));
+  }
+
+  /**
+   * Takes a permit if one is free now.
+   * @return {@code true} if a permit was taken
+   */
+  public boolean tryAcquire() {
+    return reserve(0) != REJECTED;
+  }
+
+  /**
+   * Executes {@code supplier} if a permit is free now.
+   * @param <T> the type of element returned by {@code supplier} if successful
+   * @param supplier the operation to be evaluated, which may throw an exception
+   * @return the outcome of {@code supplier} as in
+   *    {@link Try#to(ThrowingSupplier)}, or a {@link Failure} containing a
+   *    {@link CallNotPermittedException} if no permit was free
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Try<T> to(ThrowingSupplier<T> supplier) {
+    if (reserve(0) == REJECTED) {
+      return (Try<T>) rejection;
+    }
+    return Try.to(supplier);
+  }
+
+  /**
+   * Reserves the next free permit and executes {@code supplier} on
+   * {@code scheduler} when it falls due, right away if a permit is free now.
+   * @param <T> the type of element returned by {@code supplier} if successful
+   * @param supplier the operation to be evaluated, which may throw an exception
+   * @param scheduler the executor that delays and runs {@code supplier}
+   * @return an {@link AsyncTry} completing with the outcome of
+   *    {@code supplier} as in {@link Try#to(ThrowingSupplier)}; with a
+   *    {@link Failure} containing a {@link CallNotPermittedException} if the
+   *    next free permit is further off than the maximum wait; or with a
+   *    {@link Failure} containing a {@link RejectedExecutionException} if
+   *    {@code scheduler} refused the call. It completes exceptionally if
+   *    {@code supplier} throws an {@link Error}.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> AsyncTry<T> toAsync(ThrowingSupplier<T> supplier,
+                                 ScheduledExecutorService scheduler) {
+    long wait = reserve(maxWaitNanos);
+    if (wait == REJECTED) {
+      return AsyncTry.completed((Try<T>) rejection);
+    }
+    CompletableFuture<Try<T>> future = new CompletableFuture<>();
+    Runnable call = () -> {
+      try {
+        future.complete(Try.to(supplier));
+      } catch (Throwable t) {
+        future.completeExceptionally(t);
+      }
+    };
+    try {
+      if (wait == 0) {
+        scheduler.execute(call);
+      } else {
+        delayed.increment();
+        scheduler.schedule(call, wait, TimeUnit.NANOSECONDS);
+      }
+    } catch (RejectedExecutionException e) {
+      future.complete(Failure.of(e));
+    }
+    return new AsyncTry<>(future);
+  }
+
+  /**
+   * Returns a function that applies {@code f} if a permit is free.
+   * @param <A> the type of the input to {@code f}
+   * @param <R> the type of the result of {@code f}
+   * @param f the function to limit
+   * @return a function returning the outcome of {@code f} as in
+   *    {@link #to(ThrowingSupplier)}
+   */
+  public <A, R> Function<A, Try<R>> decorate(ThrowingFunction<A, R> f) {
+    return a -> to(() -> f.apply(a));
+  }
+
+  /**
+   * Returns a function that applies {@code f} once a permit falls due.
+   * @param <A> the type of the input to {@code f}
+   * @param <R> the type of the result of {@code f}
+   * @param f the function to limit
+   * @param scheduler the executor that delays and runs {@code f}
+   * @return a function returning the outcome of {@code f} as in
+   *    {@link #toAsync(ThrowingSupplier, ScheduledExecutorService)}
+   */
+  public <A, R> Function<A, AsyncTry<R>> decorateAsync(
+      ThrowingFunction<A, R> f, ScheduledExecutorService scheduler) {
+    return a -> toAsync(() -> f.apply(a), scheduler);
+  }
+
+  /**
+   * Returns the number of permits that could be taken now without waiting.
+   * @return a number between zero and the burst size
+   */
+  public int getAvailablePermits() {
+    long free = clock() + tolerance + interval - arrival.get();
+    return free <= 0 ? 0 : (int) Math.min(burst, free / interval);
+  }
+
+  /**
+   * Returns the burst size.
+   * @return the most permits that can be taken at once
+   */
+  public int getBurst() { return burst; }
+
+  /**
+   * Returns the number of calls scheduled to run later so far.
+   * @return the number of delayed calls
+   */
+  public long getDelayedCount() { return delayed.sum(); }
+
+  /**
+   * Returns the number of calls rejected so far.
+   * @return the number of calls rejected without being attempted
+   */
+  public long getRejectedCount() { return rejected.sum(); }
+
+  // Takes the next permit if it falls due within maxWait, returning how
+  // many nanoseconds from now that is, or REJECTED.
+  private long reserve(long maxWait) {
+    long now;
+    long current;
+    long wait;
+    do {
+      now = clock();
+      current = arrival.get();
+      wait = Math.max(0, current - tolerance - now);
+      if (wait > maxWait) {
+        rejected.increment();
+        return REJECTED;
+      }
+    } while (!arrival.compareAndSet(current, Math.max(current, now) + interval));
+    return wait;
+  }
+
+  private long clock() {
+    return System.nanoTime() - origin;
+  }
+
+  @Override public String toString() {
+    return String.format("RateLimiter(%d per %s, burst %d)",
+        permits, period, burst);
+  }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Maps exception classes to the handlers that recover from them.
+ * <p>
+ * Passed to {@link Try#recover(RecoveryTable)} or
+ * {@link Try#recoverWith(RecoveryTable)}, a table applies the handler
+ * registered for the most specific superclass of the failure's exception,
+ * and leaves the failure as it is if there is none. A table that
+ * {@link #searchingCauses() searches causes} also looks for a handler for
+ * each exception in the cause chain, in order, and applies it to that cause.
+ * <p>
+ * The handler resolved for each exception class is cached in a
+ * {@link ClassValue}, so after the first failure of a given class, dispatch
+ * takes constant time regardless of the number of handlers. A table is
+ * immutable; {@link #on} returns a new one.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * RecoveryTable<Config> fallbacks = RecoveryTable
+ *     .of(FileNotFoundException.class, e -> Config.DEFAULT)
+ *     .on(IOException.class, e -> Config.cached())
+ *     .searchingCauses();
+ *
+ * Try<? super Config> config = Try.to(this::loadConfig).recover(fallbacks);
+ * }</pre>
+ *
+ * @param <R> the type of the results of the handlers
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public final class RecoveryTable<R> {
+  private static final int MAX_CAUSE_DEPTH = 64;
+
+  private final Map<Class<?>, ThrowingFunction<Exception, ? extends R>> handlers;
+  private final boolean searchCauses;
+  private final ClassValue<ThrowingFunction<Exception, ? extends R>> resolved =
+      new ClassValue<ThrowingFunction<Exception, ? extends R>>() {
+        @Override
+        protected ThrowingFunction<Exception, ? extends R> computeValue(Class<?> type) {
+          return resolve(type);
+        }
+      };
+
+  private RecoveryTable(
+      Map<Class<?>, ThrowingFunction<Exception, ? extends R>> handlers,
+      boolean searchCauses) {
+    this.handlers = handlers;
+    this.searchCauses = searchCauses;
+  }
+
+  /**
+   * Returns a table with a single handler.
+   * @param <R> the type of the results of the handlers
+   * @param <X> the type of exception handled
+   * @param type the class of exception handled, including its subclasses
+   * @param handler the function applied to an exception of {@code type}
+   * @return a new {@link RecoveryTable}
+   */
+  public static <R, X extends Exception> RecoveryTable<R> of(
+      Class<X> type, ThrowingFunction<? super X, ? extends R> handler) {
+    return new RecoveryTable<R>(Collections.emptyMap(), false).on(type, handler);
+  }
+
+  /**
+   * Returns a copy of this table that also applies {@code handler} to
+   * exceptions of {@code type}, replacing any handler already registered for
+   * exactly {@code type}.
+   * @param <X> the type of exception handled
+   * @param type the class of exception handled, including its subclasses
+   * @param handler the function applied to an exception of {@code type}
+   * @return a new {@link RecoveryTable}
+   */
+  public <X extends Exception> RecoveryTable<R> on(
+      Class<X> type, ThrowingFunction<? super X, ? extends R> handler) {
+    Objects.requireNonNull(type);
+    Objects.requireNonNull(handler);
+    Map<Class<?>, ThrowingFunction<Exception, ? extends R>> copy =
+        new LinkedHashMap<>(handlers);
+    copy.put(type, e -> handler.apply(type.cast(e)));
+    return new RecoveryTable<>(Collections.unmodifiableMap(copy), searchCauses);
+  }
+
+  /**
+   * Returns a copy of this table that, if no handler is registered for an
+   * exception, looks for one for each exception in its cause chain.
+   * @return a new {@link RecoveryTable}
+   */
+  public RecoveryTable<R> searchingCauses() {
+    return new RecoveryTable<>(handlers, true);
+  }
+
+  /**
+   * Returns the exception a handler is registered for: {@code e} itself or,
+   * if this table searches causes, the first cause of {@code e} with a
+   * handler.
+   * @return the exception to pass to {@link #handle(Exception)}, or
+   *    {@code null} if no handler applies
+   */
+  Exception match(Exception e) {
+    if (resolved.get(e.getClass()) != null) {
+      return e;
+    }
+    if (searchCauses) {
+      Throwable cause = e.getCause();
+      for (int depth = 0; cause != null && depth < MAX_CAUSE_DEPTH; depth++) {
+        if (cause instanceof Exception
+            && resolved.get(cause.getClass()) != null) {
+          return (Exception) cause;
+        }
+        cause = cause.getCause();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Applies the handler for {@code matched}, as returned by
+   * {@link #match(Exception)}.
+   */
+  R handle(Exception matched) throws Exception {
+    return resolved.get(matched.getClass()).apply(matched);
+  }
+
+  /**
+   * Returns the handler registered for the most specific superclass of
+   * {@code type}, or {@code null}.
+   */
+  private ThrowingFunction<Exception, ? extends R> resolve(Class<?> type) {
+    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+      ThrowingFunction<Exception, ? extends R> handler = handlers.get(c);
+      if (handler != null) {
+        return handler;
+      }
+    }
+    return null;
+  }
+
+  @Override public String toString() {
+    return String.format("RecoveryTable(%s)", handlers.keySet());
+  }
+}
@@ -0,0 +1,247 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingSupplier;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * A policy for re-attempting an operation that fails.
+ * <p>
+ * A {@link Retry} is immutable; each {@code with...} method returns a new
+ * policy. By default, every exception is retried immediately, up to the
+ * maximum number of attempts.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * Retry policy = Retry.of(5)
+ *     .withBackoff(Duration.ofMillis(50), 2.0, Duration.ofSeconds(2))
+ *     .withJitter(0.5)
+ *     .retryingOn(e -> e instanceof IOException)
+ *     .withinBudget(Duration.ofSeconds(5));
+ *
+ * Try<Response> response = Try.retry(() -> client.send(request), policy);
+ * }</pre>
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ * @see Try#retry(ThrowingSupplier, Retry)
+ * @see Try#retryAsync(ThrowingSupplier, Retry, ScheduledExecutorService)
+ */
+public final class Retry {
+  private static final Duration MAX_NANOS = Duration.ofNanos(Long.MAX_VALUE);
+
+  private final int maxAttempts;
+  private final long initialDelayNanos;
+  private final double multiplier;
+  private final long maxDelayNanos;
+  private final double jitter;
+  private final Predicate<? super Exception> retryOn;
+  private final long budgetNanos;
+
+  private Retry(int maxAttempts, long initialDelayNanos, double multiplier,
+                long maxDelayNanos, double jitter,
+                Predicate<? super Exception> retryOn, long budgetNanos) {
+    this.maxAttempts = maxAttempts;
+    this.initialDelayNanos = initialDelayNanos;
+    this.multiplier = multiplier;
+    this.maxDelayNanos = maxDelayNanos;
+    this.jitter = jitter;
+    this.retryOn = retryOn;
+    this.budgetNanos = budgetNanos;
+  }
+
+  /**
+   * Returns a policy that makes at most {@code maxAttempts} attempts, with no
+   * delay between them.
+   * @param maxAttempts the maximum number of attempts, including the first
+   * @return a new {@link Retry}
+   * @throws IllegalArgumentException if {@code maxAttempts} is less than 1
+   */
+  public static Retry of(int maxAttempts) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException(
+          String.format("maxAttempts must be at least 1, was %d", maxAttempts));
+    }
+    return new Retry(maxAttempts, 0, 1.0, 0, 0.0, e -> true, Long.MAX_VALUE);
+  }
+
+  /**
+   * Returns a copy of this policy that waits {@code initialDelay} before the
+   * second attempt and multiplies the delay by {@code multiplier} before
+   * each further attempt, up to {@code maxDelay}.
+   * @param initialDelay the delay before the second attempt
+   * @param multiplier the factor by which the delay grows per attempt
+   * @param maxDelay the longest delay between two attempts
+   * @return a new {@link Retry}
+   * @throws IllegalArgumentException if a delay is negative or
+   *    {@code multiplier} is less than 1
+   */
+  public Retry withBackoff(Duration initialDelay, double multiplier,
+                           Duration maxDelay) {
+    if (initialDelay.isNegative() || maxDelay.isNegative() || multiplier < 1.0) {
+      throw new IllegalArgumentException(String.format(
+          "Invalid backoff: %s * %s up to %s", initialDelay, multiplier, maxDelay));
+    }
+    return new Retry(maxAttempts, initialDelay.toNanos(), multiplier,
+        maxDelay.toNanos(), jitter, retryOn, budgetNanos);
+  }
+
+  /**
+   * Returns a copy of this policy that shortens each delay by a random
+   * fraction of up to {@code jitter}, so that callers failing at the same
+   * time do not retry at the same time.
+   * @param jitter the largest fraction of a delay to remove, between 0 (no
+   *    jitter) and 1 (a delay anywhere between zero and the full delay)
+   * @return a new {@link Retry}
+   * @throws IllegalArgumentException if {@code jitter} is not between 0 and 1
+   */
+  public Retry withJitter(double jitter) {
+    if (!(jitter >= 0.0 && jitter <= 1.0)) {
+      throw new IllegalArgumentException(
+          String.format("jitter must be between 0 and 1, was %s", jitter));
+    }
+    return new Retry(maxAttempts, initialDelayNanos, multiplier,
+        maxDelayNanos, jitter, retryOn, budgetNanos);
+  }
+
+  /**
+   * Returns a copy of this policy that only retries failures whose exception
+   * satisfies {@code retryOn}.
+   * @param retryOn the test applied to the exception of each failed attempt
+   * @return a new {@link Retry}
+   */
+  public Retry retryingOn(Predicate<? super Exception> retryOn) {
+    return new Retry(maxAttempts, initialDelayNanos, multiplier,
+        maxDelayNanos, jitter, Objects.requireNonNull(retryOn), budgetNanos);
+  }
+
+  /**
+   * Returns a copy of this policy that gives up instead of waiting for an
+   * attempt that would start more than {@code budget} after the first one.
+   * @param budget the total time allowed for all attempts
+   * @return a new {@link Retry}
+   * @throws IllegalArgumentException if {@code budget} is negative
+   */
+  public Retry withinBudget(Duration budget) {
+    if (budget.isNegative()) {
+      throw new IllegalArgumentException(
+          String.format("budget must not be negative, was %s", budget));
+    }
+    long budgetNanos = budget.compareTo(MAX_NANOS) >= 0
+        ? Long.MAX_VALUE : budget.toNanos();
+    return new Retry(maxAttempts, initialDelayNanos, multiplier,
+        maxDelayNanos, jitter, retryOn, budgetNanos);
+  }
+
+  /**
+   * Returns the maximum number of attempts.
+   * @return the maximum number of attempts, including the first
+   */
+  public int getMaxAttempts() { return maxAttempts; }
+
+  <T> Try<T> run(ThrowingSupplier<T> supplier) {
+    long start = System.nanoTime();
+    for (int attempt = 1; ; attempt++) {
+      Try<T> result = Try.to(supplier);
+      long delay = nextDelay(result, attempt, start);
+      if (delay < 0) {
+        return result;
+      }
+      try {
+        TimeUnit.NANOSECONDS.sleep(delay);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return result;
+      }
+    }
+  }
+
+  <T> AsyncTry<T> runAsync(ThrowingSupplier<T> supplier,
+                           ScheduledExecutorService scheduler) {
+    CompletableFuture<Try<T>> promise = new CompletableFuture<>();
+    attempt(supplier, scheduler, promise, 1, System.nanoTime(), 0);
+    return new AsyncTry<>(promise);
+  }
+
+  private <T> void attempt(ThrowingSupplier<T> supplier,
+                           ScheduledExecutorService scheduler,
+                           CompletableFuture<Try<T>> promise,
+                           int attempt, long start, long delay) {
+    try {
+      scheduler.schedule(() -> {
+        try {
+          Try<T> result = Try.to(supplier);
+          long next = nextDelay(result, attempt, start);
+          if (next < 0) {
+            promise.complete(result);
+          } else {
+            attempt(supplier, scheduler, promise, attempt + 1, start, next);
+          }
+        } catch (Exception e) {
+          promise.complete(Failure.of(e));
+        } catch (Throwable t) {
+          promise.completeExceptionally(t);
+        }
+      }, delay, TimeUnit.NANOSECONDS);
+    } catch (RejectedExecutionException e) {
+      promise.complete(Failure.of(e));
+    }
+  }
+
+  /**
+   * Returns the delay before the next attempt, or -1 if {@code result} is
+   * final.
+   */
+  private long nextDelay(Try<?> result, int attempt, long start) {
+    if (result.isSuccess() || attempt >= maxAttempts
+        || !retryOn.test(result.failed().get())) {
+      return -1;
+    }
+    long delay = delay(attempt);
+    if (System.nanoTime() - start + delay > budgetNanos) {
+      return -1;
+    }
+    return delay;
+  }
+
+  /**
+   * Returns the delay after the given failed attempt, with jitter applied.
+   */
+  long delay(int attempt) {
+    double delay = Math.min(
+        initialDelayNanos * Math.pow(multiplier, attempt - 1),
+        Math.max(initialDelayNanos, maxDelayNanos));
+    if (jitter > 0.0) {
+      delay *= 1.0 - jitter * ThreadLocalRandom.current().nextDouble();
+    }
+    return (long) delay;
+  }
+
+  @Override public String toString() {
+    return String.format("Retry(%d)", maxAttempts);
+  }
+}
@@ -20,13 +20,43 @@ import try4j.function.ThrowingFunction;
 import try4j.function.ThrowingPredicate;
 import try4j.function.ThrowingSupplier;
 
-import java.util.NoSuchElementException;
+import java.util.Collections;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 public final class Success<T> implements Try<T> {
+  static final Success<Unit> UNIT = new Success<>(Unit.INSTANCE);
+
+  static Success<Exception> notAFailure() {
+    return new Success<>(new NotAFailureException());
+  }
+
+  private static final Success<Boolean> TRUE = new Success<>(Boolean.TRUE);
+  private static final Success<Boolean> FALSE = new Success<>(Boolean.FALSE);
+  private static final Success<String> EMPTY_STRING = new Success<>("");
+  private static final Success<?> EMPTY_LIST =
+      new Success<>(Collections.emptyList());
+  private static final Success<?> EMPTY_SET =
+      new Success<>(Collections.emptySet());
+  private static final Success<?> EMPTY_MAP =
+      new Success<>(Collections.emptyMap());
+  private static final Success<?> EMPTY_OPTIONAL =
+      new Success<>(Optional.empty());
+
+  private static final int SMALL_INTEGER_MIN = -128;
+  private static final int SMALL_INTEGER_MAX = 127;
+  private static final Success<?>[] SMALL_INTEGERS =
+      new Success<?>[SMALL_INTEGER_MAX - SMALL_INTEGER_MIN + 1];
+
+  static {
+    for (int i = SMALL_INTEGER_MIN; i <= SMALL_INTEGER_MAX; i++) {
+      SMALL_INTEGERS[i - SMALL_INTEGER_MIN] = new Success<>(Integer.valueOf(i));
+    }
+  }
+
   private final T value;
 
   /**
@@ -40,15 +70,54 @@ public final class Success<T> implements Try<T> {
   }
 
   /**
-   * Creates a new {@link try4j.Success} containing {@code value}.
+   * Returns a {@link try4j.Success} containing {@code value}.
    * <p>
-   * Named constructor for syntactic sugar.
+   * Named constructor for syntactic sugar. Common immutable values
+   * ({@link Boolean#TRUE}, {@link Boolean#FALSE}, the {@link Integer}s that
+   * {@link Integer#valueOf(int)} caches, the empty {@link String}, the empty
+   * collections of {@link Collections}, {@link Optional#empty()} and
+   * {@link Unit#INSTANCE}) share a single instance instead of allocating a
+   * new one. Use the constructor if you need a distinct instance.
    * @param value represents a successful operation
    * @param <U> type of {@code value}
-   * @return a new {@link try4j.Success} containing {@code value}.
+   * @return a {@link try4j.Success} containing {@code value}.
    */
   public static <U> Success<U> of(U value) {
-    return new Success<>(value);
+    Success<?> interned = value == null ? null : interned(value);
+    if (interned != null) {
+      @SuppressWarnings("unchecked")
+      Success<U> ret = (Success<U>) interned;
+      return ret;
+    } else {
+      return new Success<>(value);
+    }
+  }
+
+  private static Success<?> interned(Object value) {
+    Class<?> type = value.getClass();
+    if (type == Integer.class) {
+      int i = (Integer) value;
+      if (i >= SMALL_INTEGER_MIN && i <= SMALL_INTEGER_MAX
+          && value == Integer.valueOf(i)) {
+        return SMALL_INTEGERS[i - SMALL_INTEGER_MIN];
+      }
+    } else if (type == Boolean.class) {
+      if (value == Boolean.TRUE) return TRUE;
+      if (value == Boolean.FALSE) return FALSE;
+    } else if (type == String.class) {
+      if (((String) value).isEmpty()) return EMPTY_STRING;
+    } else if (value == Unit.INSTANCE) {
+      return UNIT;
+    } else if (value == Collections.emptyList()) {
+      return EMPTY_LIST;
+    } else if (value == Collections.emptySet()) {
+      return EMPTY_SET;
+    } else if (value == Collections.emptyMap()) {
+      return EMPTY_MAP;
+    } else if (value == Optional.empty()) {
+      return EMPTY_OPTIONAL;
+    }
+    return null;
   }
 
   /**
@@ -58,12 +127,24 @@ public final class Success<T> implements Try<T> {
   public T getValue() { return value; }
 
   @Override
-  public Try<Exception> failed() {
-    return Success.of(new UnsupportedOperationException("Success.failed"));
-  }
+  public Try<Exception> failed() { return notAFailure(); }
 
   @Override public T get() { return value; }
 
+  @Override public T getOrThrow() { return value; }
+
+  @Override
+  public <X extends Exception> T getOrThrow(
+      Function<? super Exception, ? extends X> translate) {
+    return value;
+  }
+
+  @Override
+  public <R> R fold(Function<? super T, ? extends R> onSuccess,
+                    Function<? super Exception, ? extends R> onFailure) {
+    return onSuccess.apply(value);
+  }
+
   @Override public T orElse(T instead) { return get(); }
 
   @Override public T orElse(Supplier<T> instead) { return getValue(); }
@@ -89,24 +170,19 @@ public final class Success<T> implements Try<T> {
   }
 
   @Override public Try<T> filter(ThrowingPredicate<T> predicate) {
-    try {
-      if (predicate.test(value)) {
-        return this;
-      } else {
-        String msg = String.format("Predicate does not hold for '%s'", value);
-        return Failure.of(new NoSuchElementException(msg));
-      }
-    } catch (Exception e) {
-      return Failure.of(e);
-    }
+    return TryMetrics.FILTER.evaluate(() -> predicate.test(value)
+        ? this
+        : Failure.of(new PredicateNotSatisfiedException(value)));
   }
 
   @Override public <U> Try<U> flatMap(ThrowingFunction<? super T, Try<U>> mapper) {
-    try {
-      return mapper.apply(value);
-    } catch (Exception e) {
-      return Failure.of(e);
+    if (Deadline.ACTIVE.get() != 0) {
+      Try<U> expired = Deadline.checkCurrent("Success.flatMap");
+      if (expired != null) {
+        return expired;
+      }
     }
+    return TryMetrics.FLAT_MAP.evaluate(() -> mapper.apply(value));
   }
 
   @Override public <U extends Try<?>> Try<U> flatten() {
@@ -115,8 +191,7 @@ public final class Success<T> implements Try<T> {
       Try<U> ret = (Try<U>) value;
       return ret;
     } else {
-      String msg = String.format("%s is not an instance of Try", value);
-      return Failure.of(new UnsupportedOperationException(msg));
+      return Failure.of(new NotATryException(value));
     }
   }
 
@@ -125,7 +200,13 @@ public final class Success<T> implements Try<T> {
   }
 
   @Override public <U> Try<U> map(ThrowingFunction<? super T, ? extends U> mapper) {
-    return Try.to(() -> mapper.apply(value));
+    if (Deadline.ACTIVE.get() != 0) {
+      Try<U> expired = Deadline.checkCurrent("Success.map");
+      if (expired != null) {
+        return expired;
+      }
+    }
+    return TryMetrics.MAP.evaluate(() -> Success.of(mapper.apply(value)));
   }
   
   @Override
@@ -138,6 +219,15 @@ public final class Success<T> implements Try<T> {
     return this;
   }
 
+  @Override public Try<? super T> recover(RecoveryTable<? super T> table) {
+    return this;
+  }
+
+  @Override
+  public Try<? super T> recoverWith(RecoveryTable<? extends Try<? super T>> table) {
+    return this;
+  }
+
   @Override public boolean equals(Object obj) {
     if (obj == null) return false;
     if (obj == this) return true;
@@ -0,0 +1,151 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Implements {@link Try#sequence}, {@link Try#traverse} and
+ * {@link Try#traverseParallel}.
+ *
+ * @author Brad Collins
+ */
+final class Traversals {
+  private Traversals() { }
+
+  static <U> Try<List<U>> sequence(Iterable<? extends Try<? extends U>> tries) {
+    List<U> values = tries instanceof Collection
+        ? new ArrayList<>(((Collection<?>) tries).size())
+        : new ArrayList<>();
+    for (Try<? extends U> t : tries) {
+      if (t.isFailure()) {
+        return propagate(t);
+      }
+      values.add(t.get());
+    }
+    return Success.of(values);
+  }
+
+  static <A, U> Try<List<U>> traverse(
+      Collection<? extends A> values,
+      ThrowingFunction<? super A, ? extends U> f) {
+    List<U> results = new ArrayList<>(values.size());
+    for (A value : values) {
+      try {
+        results.add(f.apply(value));
+      } catch (Exception e) {
+        return Failure.of(e);
+      }
+    }
+    return Success.of(results);
+  }
+
+  static <A, U> Try<List<U>> traverseParallel(
+      Collection<? extends A> values,
+      ThrowingFunction<? super A, ? extends U> f,
+      ForkJoinPool pool) {
+    Object[] in = values.toArray();
+    Object[] out = new Object[in.length];
+    AtomicReference<Exception> failure = new AtomicReference<>();
+    int threshold = Math.max(1, in.length / (pool.getParallelism() * 4));
+    pool.invoke(new TraverseTask<>(in, out, f, failure, 0, in.length, threshold));
+
+    Exception e = failure.get();
+    if (e != null) {
+      return Failure.of(e);
+    } else {
+      @SuppressWarnings("unchecked")
+      List<U> results = (List<U>) Arrays.asList(out);
+      return Success.of(results);
+    }
+  }
+
+  private static <U> Try<U> propagate(Try<?> failure) {
+    if (failure instanceof Failure) {
+      @SuppressWarnings("unchecked")
+      Try<U> ret = (Try<U>) failure;
+      return ret;
+    } else {
+      return Failure.of(failure.failed().get());
+    }
+  }
+
+  /**
+   * Applies the function to a range of the input, splitting the range in
+   * half until it is no larger than the threshold. Once any element has
+   * failed, tasks that have not yet applied the function return without
+   * doing so.
+   */
+  private static final class TraverseTask<A, U> extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final Object[] in;
+    private final Object[] out;
+    private final ThrowingFunction<? super A, ? extends U> f;
+    private final AtomicReference<Exception> failure;
+    private final int lo;
+    private final int hi;
+    private final int threshold;
+
+    TraverseTask(Object[] in, Object[] out,
+                 ThrowingFunction<? super A, ? extends U> f,
+                 AtomicReference<Exception> failure,
+                 int lo, int hi, int threshold) {
+      this.in = in;
+      this.out = out;
+      this.f = f;
+      this.failure = failure;
+      this.lo = lo;
+      this.hi = hi;
+      this.threshold = threshold;
+    }
+
+    @Override protected void compute() {
+      if (failure.get() != null) {
+        return;
+      }
+      if (hi - lo <= threshold) {
+        for (int i = lo; i < hi; i++) {
+          if (failure.get() != null) {
+            return;
+          }
+          try {
+            @SuppressWarnings("unchecked")
+            A value = (A) in[i];
+            out[i] = f.apply(value);
+          } catch (Exception e) {
+            failure.compareAndSet(null, e);
+            return;
+          }
+        }
+      } else {
+        int mid = (lo + hi) >>> 1;
+        invokeAll(
+            new TraverseTask<>(in, out, f, failure, lo, mid, threshold),
+            new TraverseTask<>(in, out, f, failure, mid, hi, threshold));
+      }
+    }
+  }
+}
@@ -18,10 +18,20 @@ package try4j;
 
 import try4j.function.ThrowingFunction;
 import try4j.function.ThrowingPredicate;
+import try4j.function.ThrowingRunnable;
 import try4j.function.ThrowingSupplier;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -82,13 +92,388 @@ public interface Try<T> {
    *    unsuccessful.
    */
   public static <U> Try<U> to(ThrowingSupplier<U> supplier) {
+    return TryMetrics.TO.evaluate(() -> Success.of(supplier.get()));
+  }
+
+  /**
+   * Takes a callable instance, executes it, and returns either a
+   * {@link Success} or a {@link Failure}, with {@code policy} in place of the
+   * global one while it runs.
+   * <p>
+   * {@code policy} decides whether the exceptions try4j creates while
+   * {@code supplier} runs, such as a {@link FailureException} from calling
+   * {@link #get()} on a {@link Failure}, fill in their stack trace. The
+   * exception thrown by {@code supplier} is kept as it is.
+   * @param <U> the type of element returned by {@code callable} if
+   *    successful
+   * @param supplier the operation to be evaluated, which may throw an exception
+   * @param policy decides whether the exceptions try4j creates while
+   *    {@code supplier} runs fill in their stack trace
+   * @return a {@link Success} containing the return value of {@code callable} if
+   *    {@code callable} completes without throwing an exception, or a
+   *    {@link Failure} containing the exception {@code callable} throws if
+   *    unsuccessful.
+   * @see CapturePolicy
+   * @since 1.9.0
+   */
+  public static <U> Try<U> to(ThrowingSupplier<U> supplier,
+                              CapturePolicy policy) {
+    CapturePolicy outer = CapturePolicy.enter(policy);
+    try {
+      return to(supplier);
+    } finally {
+      CapturePolicy.restore(outer);
+    }
+  }
+
+  /**
+   * Takes a callable instance, executes it on {@code executor}, and returns an
+   * {@link AsyncTry} that completes with either a {@link Success} or a
+   * {@link Failure}.
+   * @param <U> the type of element returned by {@code supplier} if
+   *    successful
+   * @param supplier the operation to be evaluated, which may throw an exception
+   * @param executor the executor that runs {@code supplier}
+   * @return an {@link AsyncTry} that completes with a {@link Success}
+   *    containing the return value of {@code supplier}, or with a
+   *    {@link Failure} containing the exception {@code supplier} throws.
+   * @since 1.9.0
+   */
+  public static <U> AsyncTry<U> async(ThrowingSupplier<U> supplier,
+                                      Executor executor) {
+    return new AsyncTry<>(
+        CompletableFuture.supplyAsync(() -> Try.to(supplier), executor));
+  }
+
+  /**
+   * Takes a runnable instance, executes it, and returns either a
+   * {@link Success} containing {@link Unit#INSTANCE} or a {@link Failure}.
+   * <p>
+   * Every successful run returns the same {@link Success} instance.
+   * @param runnable the operation to be evaluated, which may throw an
+   *    exception
+   * @return a {@link Success} containing {@link Unit#INSTANCE} if
+   *    {@code runnable} completes without throwing an exception, or a
+   *    {@link Failure} containing the exception {@code runnable} throws if
+   *    unsuccessful.
+   * @since 1.9.0
+   */
+  public static Try<Unit> run(ThrowingRunnable runnable) {
     try {
-      return Success.of(supplier.get());
+      runnable.run();
+      return Success.UNIT;
     } catch (Exception e) {
       return Failure.of(e);
     }
   }
 
+  /**
+   * Takes a callable instance, executes it on another thread, and returns
+   * either a {@link Success} or a {@link Failure}, or, if it has not
+   * completed within {@code timeout}, a {@link Failure} containing a
+   * {@link DeadlineExceededException} and interrupts it.
+   * <p>
+   * If a {@link Deadline} is current and earlier, that deadline applies
+   * instead; either way, the one that applies is current while
+   * {@code supplier} runs, as described in {@link Deadline}.
+   * {@code supplier} runs on a new virtual thread on
+   * Java 21 and later, and on a pool of daemon threads otherwise.
+   * @param <U> the type of element returned by {@code supplier} if
+   *    successful
+   * @param timeout how long to wait for {@code supplier}
+   * @param supplier the operation to be evaluated, which may throw an exception
+   * @return a {@link Success} containing {@code supplier}'s return value, or a
+   *    {@link Failure} containing the exception it throws or a
+   *    {@link DeadlineExceededException}
+   * @see Deadline
+   * @since 1.9.0
+   */
+  public static <U> Try<U> within(Duration timeout,
+                                  ThrowingSupplier<U> supplier) {
+    return Deadline.within(timeout, supplier);
+  }
+
+  /**
+   * Tests {@code value} against every one of {@code checks} and returns a
+   * {@link Success} containing it if they all hold, otherwise a
+   * {@link Failure} containing a {@link ValidationException} with the
+   * failure of each check that did not hold or threw.
+   * @param <U> the type of the value being validated
+   * @param value the value to validate
+   * @param checks the checks to run, all of which run regardless of failures
+   * @return the outcome of the validation
+   * @see Validation
+   * @since 1.9.0
+   */
+  @SafeVarargs
+  public static <U> Try<U> validateAll(U value,
+                                       ThrowingPredicate<? super U>... checks) {
+    Validation<U> validation = Validation.of(value);
+    for (ThrowingPredicate<? super U> check : checks) {
+      validation.check(check);
+    }
+    return validation.toTry();
+  }
+
+  /**
+   * Takes a callable instance and returns a {@link Try} that executes it the
+   * first time its outcome is needed, at most once.
+   * <p>
+   * Operations that return a new {@link Try}, such as {@link #map},
+   * {@link #flatMap}, {@link #filter} and {@link #recover}, do not execute
+   * {@code supplier}; they return lazy {@link Try}s themselves. Operations
+   * that need the outcome, such as {@link #get}, {@link #isSuccess},
+   * {@link #orElse(Object)} and {@link #forEach}, execute it if it has not
+   * been executed yet. Concurrent first accesses execute it only once, and
+   * later accesses do not block.
+   * @param <U> the type of element returned by {@code supplier} if
+   *    successful
+   * @param supplier the operation to be evaluated, which may throw an exception
+   * @return a {@link Try} that evaluates to a {@link Success} containing the
+   *    return value of {@code supplier}, or to a {@link Failure} containing
+   *    the exception {@code supplier} throws.
+   * @since 1.9.0
+   */
+  public static <U> Try<U> lazy(ThrowingSupplier<U> supplier) {
+    return new LazyTry<>(() -> Try.to(supplier));
+  }
+
+  /**
+   * Takes a callable instance and executes it, re-attempting it as
+   * {@code policy} allows for as long as it fails.
+   * <p>
+   * The calling thread sleeps between attempts. If it is interrupted while
+   * sleeping, the last {@link Failure} is returned and the interrupt status
+   * is restored.
+   * @param <U> the type of element returned by {@code supplier} if
+   *    successful
+   * @param supplier the operation to be evaluated, which may throw an exception
+   * @param policy decides whether, and after what delay, to re-attempt a
+   *    failure
+   * @return a {@link Success} containing the return value of the first
+   *    successful attempt, or the {@link Failure} of the last attempt
+   * @see Retry
+   * @since 1.9.0
+   */
+  public static <U> Try<U> retry(ThrowingSupplier<U> supplier, Retry policy) {
+    return policy.run(supplier);
+  }
+
+  /**
+   * Takes a callable instance and executes it on {@code scheduler},
+   * re-attempting it as {@code policy} allows for as long as it fails.
+   * <p>
+   * Re-attempts are scheduled on {@code scheduler} after the delay that
+   * {@code policy} calls for, so no thread is blocked while waiting.
+   * @param <U> the type of element returned by {@code supplier} if
+   *    successful
+   * @param supplier the operation to be evaluated, which may throw an exception
+   * @param policy decides whether, and after what delay, to re-attempt a
+   *    failure
+   * @param scheduler runs the attempts
+   * @return an {@link AsyncTry} that completes with a {@link Success}
+   *    containing the return value of the first successful attempt, or with
+   *    the {@link Failure} of the last attempt
+   * @see Retry
+   * @since 1.9.0
+   */
+  public static <U> AsyncTry<U> retryAsync(ThrowingSupplier<U> supplier,
+                                           Retry policy,
+                                           ScheduledExecutorService scheduler) {
+    return policy.runAsync(supplier, scheduler);
+  }
+
+  /**
+   * Turns a sequence of {@link Try}s into a {@link Try} of a {@link List},
+   * stopping at the first {@link Failure}.
+   * @param <U> the type of element contained in the successful {@link Try}s
+   * @param tries the {@link Try}s to combine
+   * @return a {@link Success} containing the values of {@code tries} in
+   *    iteration order if all are {@link Success}es, or the first
+   *    {@link Failure} otherwise
+   * @since 1.9.0
+   */
+  public static <U> Try<List<U>> sequence(
+      Iterable<? extends Try<? extends U>> tries) {
+    return Traversals.sequence(tries);
+  }
+
+  /**
+   * Applies {@code f} to each element of {@code values} in iteration order,
+   * stopping at the first exception.
+   * @param <A> the type of the elements of {@code values}
+   * @param <U> the type of the values {@code f} returns
+   * @param values the values to apply {@code f} to
+   * @param f the function to apply, which may throw an exception
+   * @return a {@link Success} containing the results of {@code f} in
+   *    iteration order, or a {@link Failure} containing the first exception
+   *    {@code f} throws
+   * @since 1.9.0
+   */
+  public static <A, U> Try<List<U>> traverse(
+      Collection<? extends A> values,
+      ThrowingFunction<? super A, ? extends U> f) {
+    return Traversals.traverse(values, f);
+  }
+
+  /**
+   * Applies {@code f} to each element of {@code values} in parallel on the
+   * {@link ForkJoinPool#commonPool() common pool}.
+   * @param <A> the type of the elements of {@code values}
+   * @param <U> the type of the values {@code f} returns
+   * @param values the values to apply {@code f} to
+   * @param f the function to apply, which may throw an exception
+   * @return a {@link Success} containing the results of {@code f} in
+   *    iteration order, or a {@link Failure} containing an exception
+   *    {@code f} throws
+   * @see #traverseParallel(Collection, ThrowingFunction, ForkJoinPool)
+   * @since 1.9.0
+   */
+  public static <A, U> Try<List<U>> traverseParallel(
+      Collection<? extends A> values,
+      ThrowingFunction<? super A, ? extends U> f) {
+    return Traversals.traverseParallel(values, f, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Applies {@code f} to each element of {@code values} in parallel on
+   * {@code pool}.
+   * <p>
+   * {@code values} is split into chunks that are processed as fork-join
+   * tasks. Results are written straight into an array sized up front, which
+   * backs the fixed-size {@link List} returned. Once {@code f} throws for any
+   * element, the remaining tasks stop without applying {@code f}; which
+   * exception is reported is then not necessarily that of the first failing
+   * element in iteration order.
+   * @param <A> the type of the elements of {@code values}
+   * @param <U> the type of the values {@code f} returns
+   * @param values the values to apply {@code f} to
+   * @param f the function to apply, which may throw an exception; it must be
+   *    safe to call from several threads at once
+   * @param pool the pool that runs the tasks
+   * @return a {@link Success} containing the results of {@code f} in
+   *    iteration order, or a {@link Failure} containing an exception
+   *    {@code f} throws
+   * @since 1.9.0
+   */
+  public static <A, U> Try<List<U>> traverseParallel(
+      Collection<? extends A> values,
+      ThrowingFunction<? super A, ? extends U> f,
+      ForkJoinPool pool) {
+    return Traversals.traverseParallel(values, f, pool);
+  }
+
+  /**
+   * Runs {@code primary} and, if it has not completed within the delay
+   * {@code policy} chooses and the policy's hedge rate allows, {@code backup}
+   * as well, and returns whichever succeeds first, cancelling and
+   * interrupting the other.
+   * <p>
+   * If the first to complete fails, the other one is awaited, and
+   * {@code backup} is started if it has not been yet.
+   * @param <U> the type of element returned by the suppliers if successful
+   * @param primary the operation to evaluate, which may throw an exception
+   * @param backup the equivalent operation to start if {@code primary} is
+   *    slow or fails
+   * @param policy decides when {@code backup} starts and records the outcome
+   * @return the first {@link Success}, or, if both fail, a {@link Failure}
+   *    containing a {@link CompositeException} with both exceptions in the
+   *    order they occurred
+   * @since 1.9.0
+   */
+  public static <U> Try<U> hedged(ThrowingSupplier<? extends U> primary,
+                                  ThrowingSupplier<? extends U> backup,
+                                  HedgePolicy policy) {
+    return policy.run(primary, backup);
+  }
+
+  /**
+   * Runs {@code suppliers} concurrently on {@code executor} and returns the
+   * first {@link Success}, cancelling and interrupting the suppliers still
+   * running.
+   * @param <U> the type of element returned by the suppliers if successful
+   * @param executor the executor that runs the suppliers
+   * @param suppliers the operations to race, which may throw exceptions
+   * @return the first {@link Success}, or, if every supplier fails, a
+   *    {@link Failure} containing a {@link CompositeException} with their
+   *    exceptions in the order they occurred
+   * @see #firstSuccess(Executor, Duration, ThrowingSupplier...)
+   * @since 1.9.0
+   */
+  @SafeVarargs
+  @SuppressWarnings("varargs") // Races only reads the list
+  public static <U> Try<U> firstSuccess(Executor executor,
+                                        ThrowingSupplier<? extends U>... suppliers) {
+    return Races.firstSuccess(executor, Races.NO_TIMEOUT,
+        Arrays.asList(suppliers));
+  }
+
+  /**
+   * Runs {@code suppliers} concurrently on {@code executor} and returns the
+   * first {@link Success} to complete within {@code timeout}, cancelling and
+   * interrupting the suppliers still running.
+   * @param <U> the type of element returned by the suppliers if successful
+   * @param executor the executor that runs the suppliers
+   * @param timeout how long to wait for a {@link Success}
+   * @param suppliers the operations to race, which may throw exceptions
+   * @return the first {@link Success}; if every supplier fails, a
+   *    {@link Failure} containing a {@link CompositeException} with their
+   *    exceptions in the order they occurred; or, if {@code timeout} passes
+   *    first, a {@link Failure} containing a
+   *    {@link java.util.concurrent.TimeoutException} caused by a
+   *    {@link CompositeException} with the failures so far, if any
+   * @since 1.9.0
+   */
+  @SafeVarargs
+  @SuppressWarnings("varargs")
+  public static <U> Try<U> firstSuccess(Executor executor, Duration timeout,
+                                        ThrowingSupplier<? extends U>... suppliers) {
+    return Races.firstSuccess(executor, Races.nanos(timeout),
+        Arrays.asList(suppliers));
+  }
+
+  /**
+   * Runs {@code suppliers} concurrently on {@code executor} and returns all
+   * of their values, or the first {@link Failure} to occur, cancelling and
+   * interrupting the suppliers still running.
+   * @param <U> the type of element returned by the suppliers if successful
+   * @param executor the executor that runs the suppliers
+   * @param suppliers the operations to run, which may throw exceptions
+   * @return a {@link Success} containing the values of {@code suppliers} in
+   *    order, or a {@link Failure} containing the first exception to occur
+   * @see #allOf(Executor, Duration, ThrowingSupplier...)
+   * @since 1.9.0
+   */
+  @SafeVarargs
+  @SuppressWarnings("varargs")
+  public static <U> Try<List<U>> allOf(Executor executor,
+                                       ThrowingSupplier<? extends U>... suppliers) {
+    return Races.allOf(executor, Races.NO_TIMEOUT, Arrays.asList(suppliers));
+  }
+
+  /**
+   * Runs {@code suppliers} concurrently on {@code executor} and returns all
+   * of their values if they complete within {@code timeout}, or the first
+   * {@link Failure} to occur, cancelling and interrupting the suppliers
+   * still running.
+   * @param <U> the type of element returned by the suppliers if successful
+   * @param executor the executor that runs the suppliers
+   * @param timeout how long to wait for every supplier
+   * @param suppliers the operations to run, which may throw exceptions
+   * @return a {@link Success} containing the values of {@code suppliers} in
+   *    order; a {@link Failure} containing the first exception to occur;
+   *    or, if {@code timeout} passes first, a {@link Failure}
+   *    containing a {@link java.util.concurrent.TimeoutException}
+   * @since 1.9.0
+   */
+  @SafeVarargs
+  @SuppressWarnings("varargs")
+  public static <U> Try<List<U>> allOf(Executor executor, Duration timeout,
+                                       ThrowingSupplier<? extends U>... suppliers) {
+    return Races.allOf(executor, Races.nanos(timeout),
+        Arrays.asList(suppliers));
+  }
+
   /**
    * Completes this {@link Try} with an exception wrapped in a {@link Success}.
    * @return a {@link Success} containing either the exception that the
@@ -105,6 +490,50 @@ public interface Try<T> {
    */
   T get();
 
+  /**
+   * Returns the value from this {@link Try} if it is a {@link Success} or
+   * throws the encapsulated exception itself, unwrapped, if it is a
+   * {@link Failure}.
+   * <p>
+   * A checked exception is thrown even though this method does not declare
+   * it; unlike {@link #get()}, no wrapper exception with a second stack trace
+   * is created.
+   * @return if a {@link Success}, the encapsulated value; if a {@link Failure},
+   *    throws the encapsulated exception
+   * @since 1.9.0
+   */
+  T getOrThrow();
+
+  /**
+   * Returns the value from this {@link Try} if it is a {@link Success} or
+   * throws the exception {@code translate} makes of the encapsulated
+   * exception if it is a {@link Failure}.
+   * @param <X> the type of exception thrown
+   * @param translate the function applied to the encapsulated exception if
+   *    this is a {@link Failure}
+   * @return if a {@link Success}, the encapsulated value; if a {@link Failure},
+   *    throws {@code translate}'s return value
+   * @throws X if this is a {@link Failure}
+   * @since 1.9.0
+   */
+  <X extends Exception> T getOrThrow(
+      Function<? super Exception, ? extends X> translate) throws X;
+
+  /**
+   * Applies {@code onSuccess} to the value if this is a {@link Success}, or
+   * {@code onFailure} to the exception if this is a {@link Failure}, and
+   * returns the result.
+   * @param <R> the type of the result
+   * @param onSuccess the function applied to the encapsulated value if this
+   *    is a {@link Success}
+   * @param onFailure the function applied to the encapsulated exception if
+   *    this is a {@link Failure}
+   * @return the result of whichever function was applied
+   * @since 1.9.0
+   */
+  <R> R fold(Function<? super T, ? extends R> onSuccess,
+             Function<? super Exception, ? extends R> onFailure);
+
   /**
    * Returns the value from this {@link Try} if it is a {@link Success} or the
    * given default argument if it is a {@link Failure}.
@@ -281,4 +710,37 @@ public interface Try<T> {
    *    {@link Success}.
    */
   Try<? super T> recoverWith(ThrowingFunction<Exception, Try<? super T>> rescue);
+
+  /**
+   * Applies the handler {@code table} resolves for the exception if this is a
+   * {@link Failure}, otherwise returns this if this is a {@link Success}.
+   * <p>
+   * If {@code table} has no handler for the exception, this returns this
+   * {@link Failure}. If the handler throws an exception, this returns a
+   * {@link Failure}.
+   *
+   * @param table the handlers applied to the encapsulated exception if this
+   *    is a {@link Failure}
+   * @return The result of invoking the resolved handler on the encapsulated
+   *    exception, or returns this instance if this is a {@link Success} or
+   *    no handler applies.
+   * @since 1.9.0
+   */
+  Try<? super T> recover(RecoveryTable<? super T> table);
+
+  /**
+   * Applies the handler {@code table} resolves for the exception if this is a
+   * {@link Failure}, otherwise returns this if this is a {@link Success}.
+   * <p>
+   * If {@code table} has no handler for the exception, this returns this
+   * {@link Failure}. If the handler throws an exception, this returns a
+   * {@link Failure}.
+   *
+   * @param table the handlers applied to the encapsulated exception if this
+   *    is a {@link Failure}
+   * @return The {@link Try} returned by the resolved handler, or returns this
+   *    instance if this is a {@link Success} or no handler applies.
+   * @since 1.9.0
+   */
+  Try<? super T> recoverWith(RecoveryTable<? extends Try<? super T>> table);
 }
@@ -0,0 +1,269 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of the outcomes of a {@link ThrowingFunction}.
+ * <p>
+ * The first call for a key computes its outcome, and concurrent calls for
+ * the same key wait for that computation instead of starting their own.
+ * Later calls return the cached {@link Try} until it expires or is evicted,
+ * as described by the cache's {@link CachePolicy}.
+ * <p>
+ * Entries live in a {@link ConcurrentHashMap}; no call takes a global lock.
+ * Once the cache grows past its maximum size, the calling thread that added
+ * the last entry evicts a batch of the least recently used entries, expired
+ * ones first, so the size stays approximately within bounds.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values of successful computations
+ * @author Brad Collins
+ * @since 1.9.0
+ * @see ThrowingFunction#memoize(CachePolicy)
+ */
+public final class TryCache<K, V> implements Function<K, Try<V>> {
+  private final ThrowingFunction<? super K, ? extends V> loader;
+  private final CachePolicy policy;
+  private final ConcurrentHashMap<K, Entry<K, V>> map =
+      new ConcurrentHashMap<>();
+  private final AtomicBoolean evicting = new AtomicBoolean();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder refreshes = new LongAdder();
+
+  private TryCache(ThrowingFunction<? super K, ? extends V> loader,
+                   CachePolicy policy) {
+    this.loader = Objects.requireNonNull(loader);
+    this.policy = Objects.requireNonNull(policy);
+  }
+
+  /**
+   * Returns an empty cache of the outcomes of {@code loader}.
+   * @param <K> the type of the keys
+   * @param <V> the type of the values of successful computations
+   * @param loader the function computing the value for a key
+   * @param policy how entries are bounded and expired
+   * @return a new {@link TryCache}
+   */
+  public static <K, V> TryCache<K, V> of(
+      ThrowingFunction<? super K, ? extends V> loader, CachePolicy policy) {
+    return new TryCache<>(loader, policy);
+  }
+
+  /**
+   * Returns the cached outcome for {@code key}, computing it if it is absent
+   * or expired.
+   * @param key the key, which must not be null
+   * @return the outcome of applying the loader to {@code key}
+   */
+  public Try<V> get(K key) {
+    for (;;) {
+      Entry<K, V> e = map.get(key);
+      if (e == null) {
+        Entry<K, V> created = new Entry<>(key, loader, policy);
+        e = map.putIfAbsent(key, created);
+        if (e == null) {
+          misses.increment();
+          if (map.size() > policy.maximumSize) {
+            evict();
+          }
+          Try<V> value = created.value.force();
+          long now = System.nanoTime();
+          if (created.isExpired(now) && !isStaleServable(created, now)) {
+            map.remove(key, created);
+          }
+          return value;
+        }
+      }
+
+      boolean inFlight = !e.loaded;
+      Try<V> value = e.value.force();
+      long now = System.nanoTime();
+      if (inFlight || !e.isExpired(now)) {
+        e.lastAccess = now;
+        hits.increment();
+        return value;
+      }
+      if (isStaleServable(e, now)) {
+        refresh(key, e);
+        hits.increment();
+        return value;
+      }
+      map.remove(key, e);
+    }
+  }
+
+  /**
+   * Returns the cached outcome for {@code key}, as {@link #get(Object)}.
+   * @param key the key, which must not be null
+   * @return the outcome of applying the loader to {@code key}
+   */
+  @Override public Try<V> apply(K key) { return get(key); }
+
+  /**
+   * Removes the entry for {@code key}, if any.
+   * @param key the key whose entry is removed
+   */
+  public void invalidate(K key) { map.remove(key); }
+
+  /** Removes all entries. */
+  public void invalidateAll() { map.clear(); }
+
+  /**
+   * Returns the number of entries, including expired ones not yet removed.
+   * @return the current number of entries
+   */
+  public int size() { return map.size(); }
+
+  /**
+   * Returns the number of calls answered from the cache, including calls
+   * that waited for another call's computation and stale entries returned
+   * while they were refreshed.
+   * @return the number of hits so far
+   */
+  public long getHitCount() { return hits.sum(); }
+
+  /**
+   * Returns the number of calls that computed an outcome.
+   * @return the number of misses so far
+   */
+  public long getMissCount() { return misses.sum(); }
+
+  /**
+   * Returns the number of entries removed to keep the cache within its
+   * maximum size.
+   * @return the number of evictions so far
+   */
+  public long getEvictionCount() { return evictions.sum(); }
+
+  /**
+   * Returns the number of stale entries replaced by a background refresh.
+   * @return the number of refreshes so far
+   */
+  public long getRefreshCount() { return refreshes.sum(); }
+
+  private boolean isStaleServable(Entry<K, V> e, long now) {
+    return policy.refreshExecutor != null
+        && now - e.loadedAt - e.ttl < policy.staleNanos;
+  }
+
+  private void refresh(K key, Entry<K, V> stale) {
+    if (!stale.refreshing.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      policy.refreshExecutor.execute(() -> {
+        Entry<K, V> fresh = new Entry<>(key, loader, policy);
+        // A failed refresh does not replace a stale success; the next call
+        // within the stale window tries again.
+        if (fresh.value.force().isSuccess() || stale.value.isFailure()) {
+          if (map.replace(key, stale, fresh)) {
+            refreshes.increment();
+          }
+        } else {
+          stale.refreshing.set(false);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      stale.refreshing.set(false);
+    }
+  }
+
+  private void evict() {
+    if (!evicting.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      int excess = map.size() - policy.maximumSize;
+      if (excess <= 0) {
+        return;
+      }
+      // Evict in batches so that the sort is amortized over many insertions.
+      int count = excess + policy.maximumSize / 16;
+      long now = System.nanoTime();
+      // Rank a snapshot, since other threads keep touching the entries and
+      // a sort key that changes mid-sort breaks the comparator's contract.
+      List<Candidate<K, V>> candidates = new ArrayList<>(map.size());
+      for (Entry<K, V> e : map.values()) {
+        candidates.add(new Candidate<>(e,
+            e.isExpired(now) ? Long.MIN_VALUE : e.lastAccess - now));
+      }
+      candidates.sort(Comparator.comparingLong(c -> c.rank));
+      for (int i = 0; i < count && i < candidates.size(); i++) {
+        Entry<K, V> e = candidates.get(i).entry;
+        if (map.remove(e.key, e)) {
+          evictions.increment();
+        }
+      }
+    } finally {
+      evicting.set(false);
+    }
+  }
+
+  @Override public String toString() {
+    return String.format("TryCache(%d/%d)", map.size(), policy.maximumSize);
+  }
+
+  private static final class Candidate<K, V> {
+    final Entry<K, V> entry;
+    final long rank;
+
+    Candidate(Entry<K, V> entry, long rank) {
+      this.entry = entry;
+      this.rank = rank;
+    }
+  }
+
+  private static final class Entry<K, V> {
+    final K key;
+    final LazyTry<V> value;
+    final AtomicBoolean refreshing = new AtomicBoolean();
+    volatile long lastAccess = System.nanoTime();
+    volatile long loadedAt;
+    volatile long ttl;
+    volatile boolean loaded;
+
+    Entry(K key, ThrowingFunction<? super K, ? extends V> loader,
+          CachePolicy policy) {
+      this.key = key;
+      this.value = new LazyTry<>(() -> {
+        Try<V> t = Try.to(() -> loader.apply(key));
+        ttl = t.isSuccess() ? policy.successTtlNanos : policy.failureTtlNanos;
+        loadedAt = System.nanoTime();
+        loaded = true;
+        return t;
+      });
+    }
+
+    boolean isExpired(long now) {
+      return loaded && now - loadedAt >= ttl;
+    }
+  }
+}
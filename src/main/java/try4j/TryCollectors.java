@@ -0,0 +1,425 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collector;
+import java.util.stream.Collector.Characteristics;
+
+/**
+ * {@link Collector}s that take a stream of {@link Try}s apart in a single
+ * pass.
+ * <p>
+ * Instead of
+ *
+ * <pre>{@code
+ * List<Integer> values = tries.stream()
+ *     .filter(Try::isSuccess).map(Try::get).collect(Collectors.toList());
+ * List<Exception> errors = tries.stream()
+ *     .filter(Try::isFailure).map(t -> t.failed().get()).collect(Collectors.toList());
+ * }</pre>
+ *
+ * write
+ *
+ * <pre>{@code
+ * TryCollectors.Partition<Integer> p = tries.stream()
+ *     .collect(TryCollectors.partitioning());
+ * }</pre>
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public final class TryCollectors {
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private TryCollectors() { }
+
+  /**
+   * The values of the {@link Success}es and the exceptions of the
+   * {@link Failure}s of a stream of {@link Try}s, each in encounter order.
+   * @param <T> the type of element contained in a successful computation
+   */
+  public static final class Partition<T> {
+    private final List<T> successes;
+    private final List<Exception> failures;
+
+    Partition(List<T> successes, List<Exception> failures) {
+      this.successes = successes;
+      this.failures = failures;
+    }
+
+    /**
+     * Returns the values of the {@link Success}es.
+     * @return the values of the {@link Success}es, in encounter order
+     */
+    public List<T> successes() { return successes; }
+
+    /**
+     * Returns the exceptions of the {@link Failure}s.
+     * @return the exceptions of the {@link Failure}s, in encounter order
+     */
+    public List<Exception> failures() { return failures; }
+
+    @Override public String toString() {
+      return String.format("Partition(%s, %s)", successes, failures);
+    }
+  }
+
+  /**
+   * Returns a {@link Collector} that splits {@link Try}s into the values of
+   * the {@link Success}es and the exceptions of the {@link Failure}s.
+   * @param <T> the type of element contained in a successful computation
+   * @return a {@link Collector} producing a {@link Partition}
+   */
+  public static <T> Collector<Try<T>, ?, Partition<T>> partitioning() {
+    return Collector.of(
+        () -> new Partition<T>(new ArrayList<>(), new ArrayList<>()),
+        (p, t) -> {
+          if (t instanceof Success) {
+            p.successes.add(((Success<T>) t).getValue());
+          } else if (t instanceof Failure) {
+            p.failures.add(((Failure<T>) t).getException());
+          } else if (t.isSuccess()) {
+            p.successes.add(t.get());
+          } else {
+            p.failures.add(t.failed().get());
+          }
+        },
+        (left, right) -> {
+          left.successes.addAll(right.successes);
+          left.failures.addAll(right.failures);
+          return left;
+        },
+        Characteristics.IDENTITY_FINISH);
+  }
+
+  /**
+   * Returns a {@link Collector} that collects the values of the
+   * {@link Success}es into a {@link List} and ignores the {@link Failure}s.
+   * @param <T> the type of element contained in a successful computation
+   * @return a {@link Collector} producing the values of the {@link Success}es
+   *    in encounter order
+   */
+  public static <T> Collector<Try<T>, ?, List<T>> successes() {
+    return Collector.of(
+        ArrayList::new,
+        (List<T> list, Try<T> t) -> {
+          if (t instanceof Success) {
+            list.add(((Success<T>) t).getValue());
+          } else if (!(t instanceof Failure) && t.isSuccess()) {
+            list.add(t.get());
+          }
+        },
+        (left, right) -> { left.addAll(right); return left; },
+        Characteristics.IDENTITY_FINISH);
+  }
+
+  /**
+   * Returns a {@link Collector} that collects the values of the
+   * {@link Success}es into an {@code int[]} and ignores the
+   * {@link Failure}s.
+   * @return a {@link Collector} producing the values of the {@link Success}es
+   *    in encounter order
+   */
+  public static Collector<Try<Integer>, ?, int[]> successesToIntArray() {
+    return successesToIntArray(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Returns a {@link Collector} that collects the values of the
+   * {@link Success}es into an {@code int[]} and ignores the
+   * {@link Failure}s.
+   * <p>
+   * Each container starts small and doubles as it fills, stopping at
+   * {@code expectedSize} on the way, so the containers of a parallel
+   * collection do not each allocate all of it. If a sequential stream holds
+   * exactly {@code expectedSize} {@link Success}es, the filled container is
+   * returned without a final copy.
+   * @param expectedSize the number of {@link Success}es expected
+   * @return a {@link Collector} producing the values of the {@link Success}es
+   *    in encounter order
+   */
+  public static Collector<Try<Integer>, ?, int[]> successesToIntArray(
+      int expectedSize) {
+    return Collector.of(
+        () -> new IntBuffer(expectedSize),
+        (b, t) -> {
+          if (t instanceof Success) {
+            b.add(((Success<Integer>) t).getValue());
+          } else if (!(t instanceof Failure) && t.isSuccess()) {
+            b.add(t.get());
+          }
+        },
+        IntBuffer::addAll,
+        IntBuffer::toArray);
+  }
+
+  /**
+   * Returns a {@link Collector} that collects the values of the
+   * {@link Success}es into a {@code long[]} and ignores the
+   * {@link Failure}s.
+   * @return a {@link Collector} producing the values of the {@link Success}es
+   *    in encounter order
+   */
+  public static Collector<Try<Long>, ?, long[]> successesToLongArray() {
+    return successesToLongArray(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Returns a {@link Collector} that collects the values of the
+   * {@link Success}es into a {@code long[]} and ignores the
+   * {@link Failure}s.
+   * <p>
+   * Each container starts small and doubles as it fills, stopping at
+   * {@code expectedSize} on the way, so the containers of a parallel
+   * collection do not each allocate all of it. If a sequential stream holds
+   * exactly {@code expectedSize} {@link Success}es, the filled container is
+   * returned without a final copy.
+   * @param expectedSize the number of {@link Success}es expected
+   * @return a {@link Collector} producing the values of the {@link Success}es
+   *    in encounter order
+   */
+  public static Collector<Try<Long>, ?, long[]> successesToLongArray(
+      int expectedSize) {
+    return Collector.of(
+        () -> new LongBuffer(expectedSize),
+        (b, t) -> {
+          if (t instanceof Success) {
+            b.add(((Success<Long>) t).getValue());
+          } else if (!(t instanceof Failure) && t.isSuccess()) {
+            b.add(t.get());
+          }
+        },
+        LongBuffer::addAll,
+        LongBuffer::toArray);
+  }
+
+  /**
+   * Returns a {@link Collector} that collects the values of the
+   * {@link Success}es into a {@code double[]} and ignores the
+   * {@link Failure}s.
+   * @return a {@link Collector} producing the values of the {@link Success}es
+   *    in encounter order
+   */
+  public static Collector<Try<Double>, ?, double[]> successesToDoubleArray() {
+    return successesToDoubleArray(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Returns a {@link Collector} that collects the values of the
+   * {@link Success}es into a {@code double[]} and ignores the
+   * {@link Failure}s.
+   * <p>
+   * Each container starts small and doubles as it fills, stopping at
+   * {@code expectedSize} on the way, so the containers of a parallel
+   * collection do not each allocate all of it. If a sequential stream holds
+   * exactly {@code expectedSize} {@link Success}es, the filled container is
+   * returned without a final copy.
+   * @param expectedSize the number of {@link Success}es expected
+   * @return a {@link Collector} producing the values of the {@link Success}es
+   *    in encounter order
+   */
+  public static Collector<Try<Double>, ?, double[]> successesToDoubleArray(
+      int expectedSize) {
+    return Collector.of(
+        () -> new DoubleBuffer(expectedSize),
+        (b, t) -> {
+          if (t instanceof Success) {
+            b.add(((Success<Double>) t).getValue());
+          } else if (!(t instanceof Failure) && t.isSuccess()) {
+            b.add(t.get());
+          }
+        },
+        DoubleBuffer::addAll,
+        DoubleBuffer::toArray);
+  }
+
+  /**
+   * Returns a {@link Collector} that groups the exceptions of the
+   * {@link Failure}s by their class and ignores the {@link Success}es.
+   * @param <T> the type of element contained in a successful computation
+   * @return a {@link Collector} producing a {@link Map} from exception class
+   *    to the exceptions of that exact class, in encounter order
+   */
+  public static <T> Collector<Try<T>, ?, Map<Class<? extends Exception>, List<Exception>>>
+      failuresByType() {
+    return Collector.of(
+        HashMap::new,
+        (Map<Class<? extends Exception>, List<Exception>> m, Try<T> t) -> {
+          if (!(t instanceof Success) && t.isFailure()) {
+            Exception e = exceptionOf(t);
+            m.computeIfAbsent(e.getClass(), k -> new ArrayList<>()).add(e);
+          }
+        },
+        (left, right) -> {
+          right.forEach((k, v) ->
+              left.merge(k, v, (l, r) -> { l.addAll(r); return l; }));
+          return left;
+        },
+        Characteristics.IDENTITY_FINISH);
+  }
+
+  /**
+   * Returns a concurrent {@link Collector} that groups the exceptions of the
+   * {@link Failure}s by their class and ignores the {@link Success}es.
+   * <p>
+   * On a parallel stream, all threads add to the same map rather than to
+   * per-thread maps that are merged later. The order of the exceptions
+   * within each group is therefore unspecified.
+   * @param <T> the type of element contained in a successful computation
+   * @return a {@link Collector} producing a {@link ConcurrentMap} from
+   *    exception class to the exceptions of that exact class
+   */
+  public static <T> Collector<Try<T>, ?, ConcurrentMap<Class<? extends Exception>, Queue<Exception>>>
+      failuresByTypeConcurrent() {
+    return Collector.of(
+        ConcurrentHashMap::new,
+        (ConcurrentMap<Class<? extends Exception>, Queue<Exception>> m, Try<T> t) -> {
+          if (!(t instanceof Success) && t.isFailure()) {
+            Exception e = exceptionOf(t);
+            m.computeIfAbsent(e.getClass(), k -> new ConcurrentLinkedQueue<>())
+                .add(e);
+          }
+        },
+        (left, right) -> {
+          right.forEach((k, v) ->
+              left.merge(k, v, (l, r) -> { l.addAll(r); return l; }));
+          return left;
+        },
+        Characteristics.CONCURRENT,
+        Characteristics.UNORDERED,
+        Characteristics.IDENTITY_FINISH);
+  }
+
+  private static Exception exceptionOf(Try<?> t) {
+    return t instanceof Failure
+        ? ((Failure<?>) t).getException()
+        : t.failed().get();
+  }
+
+  private static int initialCapacity(int expected) {
+    return Math.max(1, Math.min(expected, DEFAULT_CAPACITY));
+  }
+
+  // Doubles a full buffer of the given length, but stops at the expected
+  // size if doubling would pass it, so an exact fit needs no final copy.
+  private static int grow(int length, int expected) {
+    int next = length * 2;
+    return length < expected && next > expected ? expected : next;
+  }
+
+  private static final class IntBuffer {
+    private final int expected;
+    private int[] values;
+    private int size;
+
+    IntBuffer(int expected) {
+      this.expected = expected;
+      values = new int[initialCapacity(expected)];
+    }
+
+    void add(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, grow(size, expected));
+      }
+      values[size++] = value;
+    }
+
+    IntBuffer addAll(IntBuffer other) {
+      if (size + other.size > values.length) {
+        values = Arrays.copyOf(values, size + other.size);
+      }
+      System.arraycopy(other.values, 0, values, size, other.size);
+      size += other.size;
+      return this;
+    }
+
+    int[] toArray() {
+      return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+  }
+
+  private static final class LongBuffer {
+    private final int expected;
+    private long[] values;
+    private int size;
+
+    LongBuffer(int expected) {
+      this.expected = expected;
+      values = new long[initialCapacity(expected)];
+    }
+
+    void add(long value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, grow(size, expected));
+      }
+      values[size++] = value;
+    }
+
+    LongBuffer addAll(LongBuffer other) {
+      if (size + other.size > values.length) {
+        values = Arrays.copyOf(values, size + other.size);
+      }
+      System.arraycopy(other.values, 0, values, size, other.size);
+      size += other.size;
+      return this;
+    }
+
+    long[] toArray() {
+      return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+  }
+
+  private static final class DoubleBuffer {
+    private final int expected;
+    private double[] values;
+    private int size;
+
+    DoubleBuffer(int expected) {
+      this.expected = expected;
+      values = new double[initialCapacity(expected)];
+    }
+
+    void add(double value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, grow(size, expected));
+      }
+      values[size++] = value;
+    }
+
+    DoubleBuffer addAll(DoubleBuffer other) {
+      if (size + other.size > values.length) {
+        values = Arrays.copyOf(values, size + other.size);
+      }
+      System.arraycopy(other.values, 0, values, size, other.size);
+      size += other.size;
+      return this;
+    }
+
+    double[] toArray() {
+      return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+  }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emits Java Flight Recorder events for {@link TryMetrics.Site sites}, if
+ * enabled with {@code -Dtry4j.jfr=true}.
+ * <p>
+ * The event classes live in {@link JfrEvents}, which is only loaded once
+ * events are enabled and the running JVM provides {@code jdk.jfr}, so that
+ * try4j still runs on a Java 8 JVM without Flight Recorder.
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+final class TryEvents {
+  /** Whether events are requested and Flight Recorder is available. */
+  static final boolean ENABLED =
+      Boolean.getBoolean("try4j.jfr") && isFlightRecorderAvailable();
+
+  /** The duration from which a call emits a slow call event. */
+  static final long SLOW_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(
+      Long.getLong("try4j.jfr.slowThresholdMillis", 100L));
+
+  private TryEvents() {}
+
+  /**
+   * Emits the events for {@code outcome} of a call at {@code site} that
+   * started at {@code start}. Only called when {@link #ENABLED}.
+   */
+  static void report(String site, long start, Try<?> outcome) {
+    long elapsed = System.nanoTime() - start;
+    if (outcome instanceof Failure) {
+      JfrEvents.failure(site,
+          ((Failure<?>) outcome).getException().getClass(), elapsed);
+    }
+    if (elapsed >= SLOW_THRESHOLD_NANOS) {
+      JfrEvents.slowCall(site, elapsed);
+    }
+  }
+
+  private static boolean isFlightRecorderAvailable() {
+    try {
+      Class.forName("jdk.jfr.Event", false, TryEvents.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+}
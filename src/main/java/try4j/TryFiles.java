@@ -0,0 +1,286 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Parses the lines of large files without creating a {@link String}, a
+ * lambda or a {@link Try} per line.
+ * <p>
+ * The file is memory-mapped in segments of up to 1 GiB, each ending at a line
+ * break, and every line is passed to the parser as a {@link CharSequence}
+ * view over the mapped bytes. A line ends at {@code '\n'}; a preceding
+ * {@code '\r'} is dropped. Each byte is viewed as one character, as in
+ * ISO-8859-1, which is exact for ASCII data such as most logs and CSV
+ * files; call {@code toString()} on the view and re-decode if a line may
+ * contain other characters.
+ * <p>
+ * The view is reused for the next line once the parser returns, so the
+ * parser must not keep a reference to it; {@code toString()} and
+ * {@code subSequence} return copies that it may keep.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * Try<Long> lines = TryFiles.forEachRecord(Paths.get("access.log"),
+ *     LogEntry::parse,
+ *     entries::add,
+ *     (e, offset) -> log.warn("Bad entry at byte {}: {}", offset, e));
+ * }</pre>
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public final class TryFiles {
+  private static final long MAX_SEGMENT = 1L << 30;
+  private static final long MIN_PARALLEL_SEGMENT = 1L << 20;
+
+  private TryFiles() {}
+
+  /**
+   * Applies {@code parser} to each line of {@code file}, in order, passing
+   * each result to {@code onSuccess} and each exception {@code parser}
+   * throws to {@code onFailure}, together with the byte offset of the line.
+   * @param <R> the type of the result of {@code parser}
+   * @param file the file to read
+   * @param parser the function applied to each line
+   * @param onSuccess receives the result of each line {@code parser} accepts
+   * @param onFailure receives the exception and the byte offset of each line
+   *    {@code parser} rejects
+   * @return a {@link Success} containing the number of lines, or a
+   *    {@link Failure} containing the exception that stopped reading the
+   *    file
+   */
+  public static <R> Try<Long> forEachRecord(
+      Path file, ThrowingFunction<? super CharSequence, ? extends R> parser,
+      Consumer<? super R> onSuccess, ObjLongConsumer<? super Exception> onFailure) {
+    return Try.to(() ->
+        process(file, parser, onSuccess, onFailure, MAX_SEGMENT, false));
+  }
+
+  /**
+   * Applies {@code parser} to each line of {@code file} as
+   * {@link #forEachRecord}, but processes segments of the file in parallel
+   * in the common {@link ForkJoinPool}. Lines are passed to
+   * {@code onSuccess} and {@code onFailure} in no particular order and from
+   * several threads at once, so both must be thread-safe.
+   * @param <R> the type of the result of {@code parser}
+   * @param file the file to read
+   * @param parser the function applied to each line, from several threads
+   * @param onSuccess receives the result of each line {@code parser} accepts
+   * @param onFailure receives the exception and the byte offset of each line
+   *    {@code parser} rejects
+   * @return a {@link Success} containing the number of lines, or a
+   *    {@link Failure} containing the exception that stopped reading the
+   *    file
+   */
+  public static <R> Try<Long> forEachRecordParallel(
+      Path file, ThrowingFunction<? super CharSequence, ? extends R> parser,
+      Consumer<? super R> onSuccess, ObjLongConsumer<? super Exception> onFailure) {
+    return Try.to(() ->
+        process(file, parser, onSuccess, onFailure, 0, true));
+  }
+
+  /**
+   * Processes {@code file} in segments of about {@code segmentSize} bytes, or,
+   * if {@code segmentSize} is 0 and {@code parallel}, of a size that spreads
+   * the file over the common pool.
+   */
+  static <R> long process(
+      Path file, ThrowingFunction<? super CharSequence, ? extends R> parser,
+      Consumer<? super R> onSuccess, ObjLongConsumer<? super Exception> onFailure,
+      long segmentSize, boolean parallel) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (segmentSize == 0) {
+        long perWorker = size / (ForkJoinPool.getCommonPoolParallelism() * 4L);
+        segmentSize = Math.min(MAX_SEGMENT, Math.max(MIN_PARALLEL_SEGMENT, perWorker));
+      }
+      long[] bounds = segmentBounds(channel, size, segmentSize);
+      if (!parallel || bounds.length <= 2) {
+        long count = 0;
+        for (int i = 0; i + 1 < bounds.length; i++) {
+          count += processSegment(channel, bounds[i], bounds[i + 1] - bounds[i],
+              parser, onSuccess, onFailure);
+        }
+        return count;
+      }
+      try {
+        return IntStream.range(0, bounds.length - 1).parallel()
+            .mapToLong(i -> {
+              try {
+                return processSegment(channel, bounds[i],
+                    bounds[i + 1] - bounds[i], parser, onSuccess, onFailure);
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            })
+            .sum();
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    }
+  }
+
+  /**
+   * Returns the offsets at which segments of about {@code segmentSize} bytes
+   * start, each just after a line break, followed by {@code size}.
+   */
+  private static long[] segmentBounds(FileChannel channel, long size,
+                                      long segmentSize) throws IOException {
+    List<Long> bounds = new ArrayList<>();
+    bounds.add(0L);
+    ByteBuffer probe = ByteBuffer.allocate(8192);
+    long start = 0;
+    while (size - start > segmentSize) {
+      long newline = indexOfNewline(channel, start + segmentSize - 1, probe);
+      if (newline < 0 || newline + 1 >= size) {
+        break;
+      }
+      start = newline + 1;
+      bounds.add(start);
+    }
+    bounds.add(size);
+
+    long[] ret = new long[bounds.size()];
+    for (int i = 0; i < ret.length; i++) {
+      ret[i] = bounds.get(i);
+      if (i > 0 && ret[i] - ret[i - 1] > Integer.MAX_VALUE) {
+        throw new IOException(String.format(
+            "Line starting before offset %d is too long to map", ret[i]));
+      }
+    }
+    return ret;
+  }
+
+  private static long indexOfNewline(FileChannel channel, long from,
+                                     ByteBuffer probe) throws IOException {
+    for (long position = from; ; ) {
+      probe.clear();
+      int n = channel.read(probe, position);
+      if (n <= 0) {
+        return -1;
+      }
+      for (int i = 0; i < n; i++) {
+        if (probe.get(i) == '\n') {
+          return position + i;
+        }
+      }
+      position += n;
+    }
+  }
+
+  private static <R> long processSegment(
+      FileChannel channel, long offset, long length,
+      ThrowingFunction<? super CharSequence, ? extends R> parser,
+      Consumer<? super R> onSuccess, ObjLongConsumer<? super Exception> onFailure)
+      throws IOException {
+    MappedByteBuffer buffer =
+        channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+    RecordView view = new RecordView(buffer);
+    int limit = (int) length;
+    long count = 0;
+    for (int start = 0; start < limit; ) {
+      int end = start;
+      while (end < limit && buffer.get(end) != '\n') {
+        end++;
+      }
+      int recordEnd = end > start && buffer.get(end - 1) == '\r' ? end - 1 : end;
+      view.reset(start, recordEnd - start);
+
+      R result = null;
+      Exception failure = null;
+      try {
+        result = parser.apply(view);
+      } catch (Exception e) {
+        failure = e;
+      }
+      if (failure == null) {
+        onSuccess.accept(result);
+      } else {
+        onFailure.accept(failure, offset + start);
+      }
+      count++;
+      start = end + 1;
+    }
+    return count;
+  }
+
+  /**
+   * A {@link CharSequence} over a range of a byte buffer, one character per
+   * byte.
+   */
+  private static final class RecordView implements CharSequence {
+    private final ByteBuffer buffer;
+    private int start;
+    private int length;
+
+    RecordView(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    void reset(int start, int length) {
+      this.start = start;
+      this.length = length;
+    }
+
+    @Override public int length() { return length; }
+
+    @Override public char charAt(int index) {
+      if (index < 0 || index >= length) {
+        throw new IndexOutOfBoundsException(String.valueOf(index));
+      }
+      return (char) (buffer.get(start + index) & 0xFF);
+    }
+
+    @Override public CharSequence subSequence(int from, int to) {
+      if (from < 0 || to > length || from > to) {
+        throw new IndexOutOfBoundsException(
+            String.format("[%d, %d) of %d", from, to, length));
+      }
+      return decode(start + from, to - from);
+    }
+
+    @Override public String toString() {
+      return decode(start, length);
+    }
+
+    private String decode(int from, int count) {
+      byte[] bytes = new byte[count];
+      for (int i = 0; i < count; i++) {
+        bytes[i] = buffer.get(from + i);
+      }
+      return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+  }
+}
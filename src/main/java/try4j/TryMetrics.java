@@ -0,0 +1,385 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingSupplier;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counts the outcomes of {@link Try} operations.
+ * <p>
+ * Each {@link Site} counts its calls and failures, and, if it is timed, keeps
+ * the total time spent in it and a histogram of call latencies in fixed
+ * decade buckets from 1&micro;s to 1s. Failures are also counted per
+ * exception class across all sites. Counters are {@link LongAdder}s, so
+ * concurrent callers do not contend on a single memory location.
+ * <p>
+ * Sites created with {@link #site(String)} always count. The built-in sites
+ * reported to by {@link Try#to(ThrowingSupplier)}, {@link Success#map},
+ * {@link Success#flatMap}, {@link Success#filter}, {@link Failure#recover}
+ * and {@link Failure#recoverWith} only count when the JVM is started with
+ * {@code -Dtry4j.metrics=true}; otherwise these operations pay a single
+ * check of a static final flag, which the JIT compiler removes. With
+ * {@code -Dtry4j.metrics.latency=true} as well, the built-in sites are timed.
+ * While metrics are enabled, they are exposed over JMX through
+ * {@link TryMetricsMXBean}.
+ * <p>
+ * When started with {@code -Dtry4j.jfr=true} on a JVM with Java Flight
+ * Recorder, every site also emits a {@code try4j.Failure} event for each
+ * failure and a {@code try4j.SlowCall} event for each call that takes longer
+ * than {@code -Dtry4j.jfr.slowThresholdMillis} (100 by default). Events carry
+ * the site name, the exception class and the duration of the call.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * private static final TryMetrics.Site LOOKUP = TryMetrics.site("dns", true);
+ *
+ * Try<InetAddress> address = LOOKUP.to(() -> InetAddress.getByName(host));
+ * }</pre>
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public final class TryMetrics {
+  /** Whether the built-in sites count. */
+  static final boolean ENABLED = Boolean.getBoolean("try4j.metrics");
+  /** Whether the built-in sites are reported to, for metrics or events. */
+  static final boolean REPORTING = ENABLED || TryEvents.ENABLED;
+  /** Whether the built-in sites are timed. */
+  static final boolean LATENCY =
+      ENABLED && Boolean.getBoolean("try4j.metrics.latency");
+
+  private static final long[] BUCKET_BOUNDS = {
+      1_000L, 10_000L, 100_000L, 1_000_000L,
+      10_000_000L, 100_000_000L, 1_000_000_000L
+  };
+
+  private static final ConcurrentHashMap<String, Site> SITES =
+      new ConcurrentHashMap<>();
+  private static final ConcurrentHashMap<Class<?>, LongAdder> FAILURES_BY_TYPE =
+      new ConcurrentHashMap<>();
+
+  static final Site TO = site("Try.to", LATENCY);
+  static final Site MAP = site("Success.map", LATENCY);
+  static final Site FLAT_MAP = site("Success.flatMap", LATENCY);
+  static final Site FILTER = site("Success.filter", LATENCY);
+  static final Site RECOVER = site("Failure.recover", LATENCY);
+  static final Site RECOVER_WITH = site("Failure.recoverWith", LATENCY);
+
+  static {
+    if (ENABLED) {
+      try {
+        ManagementFactory.getPlatformMBeanServer().registerMBean(
+            new MXBean(), new ObjectName("try4j:type=TryMetrics"));
+      } catch (JMException | SecurityException e) {
+        // Metrics remain readable through this class.
+      }
+    }
+  }
+
+  private TryMetrics() {}
+
+  /**
+   * Returns whether the built-in sites count, as set by the
+   * {@code try4j.metrics} system property.
+   * @return {@code true} if {@link Try} operations report their outcomes
+   */
+  public static boolean isEnabled() { return ENABLED; }
+
+  /**
+   * Returns the untimed site named {@code name}, creating it if needed.
+   * @param name the site name
+   * @return the {@link Site} with that name
+   */
+  public static Site site(String name) {
+    return site(name, false);
+  }
+
+  /**
+   * Returns the site named {@code name}, creating it if needed.
+   * @param name the site name
+   * @param timed whether a newly created site records latencies; ignored if
+   *    the site already exists
+   * @return the {@link Site} with that name
+   */
+  public static Site site(String name, boolean timed) {
+    Site s = SITES.get(name);
+    return s != null ? s : SITES.computeIfAbsent(name, n -> new Site(n, timed));
+  }
+
+  /**
+   * Returns all sites created so far.
+   * @return an unmodifiable view of the sites
+   */
+  public static Collection<Site> sites() {
+    return Collections.unmodifiableCollection(SITES.values());
+  }
+
+  /**
+   * Returns the number of failures per exception class, over all sites.
+   * @return a snapshot of the failure counts
+   */
+  public static Map<Class<?>, Long> failuresByType() {
+    Map<Class<?>, Long> ret = new LinkedHashMap<>();
+    FAILURES_BY_TYPE.forEach((type, n) -> ret.put(type, n.sum()));
+    return ret;
+  }
+
+  /**
+   * Returns the upper bounds of the latency histogram buckets.
+   * @return the exclusive upper bound, in nanoseconds, of each bucket but
+   *    the last, which is unbounded
+   */
+  public static long[] latencyBucketBounds() {
+    return BUCKET_BOUNDS.clone();
+  }
+
+  /** Resets all counters to zero. */
+  public static void reset() {
+    SITES.values().forEach(Site::reset);
+    FAILURES_BY_TYPE.values().forEach(LongAdder::reset);
+  }
+
+  /**
+   * Returns the start time of a built-in operation, reading the clock only if
+   * the built-in sites are timed or events are enabled.
+   */
+  private static long startTimer() {
+    return LATENCY || TryEvents.ENABLED ? System.nanoTime() : 0L;
+  }
+
+  /**
+   * A named place in the code whose {@link Try} outcomes are counted.
+   */
+  public static final class Site {
+    private final String name;
+    private final boolean timed;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder[] buckets;
+
+    private Site(String name, boolean timed) {
+      this.name = name;
+      this.timed = timed;
+      this.buckets = new LongAdder[timed ? BUCKET_BOUNDS.length + 1 : 0];
+      for (int i = 0; i < buckets.length; i++) {
+        buckets[i] = new LongAdder();
+      }
+    }
+
+    /**
+     * Takes a callable instance, executes it, counts its outcome at this site
+     * and returns it.
+     * @param <T> the type of element returned by {@code supplier} if
+     *    successful
+     * @param supplier the operation to be evaluated, which may throw an
+     *    exception
+     * @return the outcome of {@code supplier} as in
+     *    {@link Try#to(ThrowingSupplier)}
+     */
+    public <T> Try<T> to(ThrowingSupplier<T> supplier) {
+      long start = timed || TryEvents.ENABLED ? System.nanoTime() : 0L;
+      Try<T> result;
+      try {
+        result = Success.of(supplier.get());
+      } catch (Exception e) {
+        result = Failure.of(e);
+      }
+      record(start, result);
+      if (TryEvents.ENABLED) {
+        TryEvents.report(name, start, result);
+      }
+      return result;
+    }
+
+    /**
+     * Evaluates {@code body} for a built-in operation, turning an exception
+     * into a {@link Failure}, and reports the outcome. Unless reporting is
+     * on, this costs one check of a static final flag.
+     * @param <T> the type of element contained in a successful outcome
+     * @param body the operation, which may throw an exception
+     * @return the outcome of {@code body}
+     */
+    @SuppressWarnings("unchecked")
+    <T> Try<T> evaluate(ThrowingSupplier<? extends Try<? extends T>> body) {
+      long start = REPORTING ? startTimer() : 0L;
+      Try<T> result;
+      try {
+        result = (Try<T>) body.get();
+      } catch (Exception e) {
+        result = Failure.of(e);
+      }
+      if (REPORTING) {
+        report(start, result);
+      }
+      return result;
+    }
+
+    /**
+     * Reports {@code outcome} of a built-in operation, counting it if metrics
+     * are enabled and emitting events if events are enabled.
+     * @param start the value of {@link TryMetrics#startTimer()} when the
+     *    operation started
+     * @param outcome the outcome of the operation
+     */
+    private void report(long start, Try<?> outcome) {
+      if (ENABLED) {
+        record(start, outcome);
+      }
+      if (TryEvents.ENABLED) {
+        TryEvents.report(name, start, outcome);
+      }
+    }
+
+    /**
+     * Counts {@code outcome} at this site.
+     * @param start the {@link System#nanoTime()} at which the call started,
+     *    only read if this site is timed
+     * @param outcome the outcome of the call
+     */
+    void record(long start, Try<?> outcome) {
+      if (timed) {
+        long elapsed = System.nanoTime() - start;
+        totalNanos.add(elapsed);
+        int i = 0;
+        while (i < BUCKET_BOUNDS.length && elapsed >= BUCKET_BOUNDS[i]) {
+          i++;
+        }
+        buckets[i].increment();
+      }
+      calls.increment();
+      if (outcome instanceof Failure) {
+        failures.increment();
+        Class<?> type = ((Failure<?>) outcome).getException().getClass();
+        LongAdder n = FAILURES_BY_TYPE.get(type);
+        if (n == null) {
+          n = FAILURES_BY_TYPE.computeIfAbsent(type, t -> new LongAdder());
+        }
+        n.increment();
+      }
+    }
+
+    /**
+     * Returns the name of this site.
+     * @return the site name
+     */
+    public String getName() { return name; }
+
+    /**
+     * Returns whether this site records latencies.
+     * @return {@code true} if this site is timed
+     */
+    public boolean isTimed() { return timed; }
+
+    /**
+     * Returns the number of calls counted at this site.
+     * @return the number of calls
+     */
+    public long getCalls() { return calls.sum(); }
+
+    /**
+     * Returns the number of calls at this site that failed.
+     * @return the number of failures
+     */
+    public long getFailures() { return failures.sum(); }
+
+    /**
+     * Returns the total time spent in calls at this site.
+     * @return the total time in nanoseconds, or 0 if this site is not timed
+     */
+    public long getTotalNanos() { return totalNanos.sum(); }
+
+    /**
+     * Returns the latency histogram of this site.
+     * @return the number of calls per bucket of
+     *    {@link TryMetrics#latencyBucketBounds()}, or an empty array if this
+     *    site is not timed
+     */
+    public long[] getLatencyHistogram() {
+      long[] ret = new long[buckets.length];
+      for (int i = 0; i < ret.length; i++) {
+        ret[i] = buckets[i].sum();
+      }
+      return ret;
+    }
+
+    private void reset() {
+      calls.reset();
+      failures.reset();
+      totalNanos.reset();
+      for (LongAdder b : buckets) {
+        b.reset();
+      }
+    }
+
+    @Override public String toString() {
+      return String.format("Site(%s: %d calls, %d failures)",
+          name, getCalls(), getFailures());
+    }
+  }
+
+  private static final class MXBean implements TryMetricsMXBean {
+    @Override public Map<String, Long> getCalls() {
+      return bySite(Site::getCalls);
+    }
+
+    @Override public Map<String, Long> getFailures() {
+      return bySite(Site::getFailures);
+    }
+
+    @Override public Map<String, Long> getTotalNanos() {
+      return bySite(Site::getTotalNanos);
+    }
+
+    @Override public Map<String, Long> getFailuresByType() {
+      Map<String, Long> ret = new LinkedHashMap<>();
+      failuresByType().forEach((type, n) -> ret.put(type.getName(), n));
+      return ret;
+    }
+
+    @Override public long[] getLatencyBucketBounds() {
+      return latencyBucketBounds();
+    }
+
+    @Override public long[] latencyHistogram(String site) {
+      Site s = SITES.get(site);
+      return s == null ? new long[0] : s.getLatencyHistogram();
+    }
+
+    @Override public void reset() {
+      TryMetrics.reset();
+    }
+
+    private static Map<String, Long> bySite(ToLongFunction<Site> counter) {
+      Map<String, Long> ret = new LinkedHashMap<>();
+      SITES.forEach((name, s) -> ret.put(name, counter.applyAsLong(s)));
+      return ret;
+    }
+  }
+}
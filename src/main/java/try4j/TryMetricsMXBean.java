@@ -0,0 +1,71 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.util.Map;
+
+/**
+ * The management interface through which {@link TryMetrics} are exposed over
+ * JMX, registered as {@code try4j:type=TryMetrics} when metrics are enabled.
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public interface TryMetricsMXBean {
+
+  /**
+   * Returns the number of calls per site.
+   * @return the number of calls, keyed by site name
+   */
+  Map<String, Long> getCalls();
+
+  /**
+   * Returns the number of failures per site.
+   * @return the number of failures, keyed by site name
+   */
+  Map<String, Long> getFailures();
+
+  /**
+   * Returns the total time spent in timed sites.
+   * @return the total time in nanoseconds, keyed by site name
+   */
+  Map<String, Long> getTotalNanos();
+
+  /**
+   * Returns the number of failures per exception class, over all sites.
+   * @return the number of failures, keyed by exception class name
+   */
+  Map<String, Long> getFailuresByType();
+
+  /**
+   * Returns the upper bounds of the latency histogram buckets.
+   * @return the exclusive upper bound, in nanoseconds, of each bucket but
+   *    the last, which is unbounded
+   */
+  long[] getLatencyBucketBounds();
+
+  /**
+   * Returns the latency histogram of a site.
+   * @param site the site name
+   * @return the number of calls per bucket, or an empty array if there is no
+   *    such site
+   */
+  long[] latencyHistogram(String site);
+
+  /** Resets all counters to zero. */
+  void reset();
+}
@@ -0,0 +1,397 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+
+import org.reactivestreams.Processor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+
+/**
+ * A Reactive Streams {@link Processor} that maps each element through a
+ * {@link ThrowingFunction}.
+ * <p>
+ * A processor made by {@link #mapping} emits a {@link Try} per element. A
+ * processor made by {@link #successes} emits only the results of elements
+ * the function accepts, and passes each rejected element and its exception
+ * to a side channel instead.
+ * <p>
+ * The processor requests {@code prefetch} elements from upstream up front,
+ * buffers them, and emits them as downstream demand allows. It requests
+ * more from upstream in batches, each time three quarters of the prefetched
+ * elements have been consumed, rather than one request per element. If
+ * upstream fails or completes, the buffered elements are emitted first. A
+ * processor has a single upstream and accepts a single subscriber.
+ * <p>
+ * A {@link TryProcessor} is a Reactive Streams {@link Processor}, so it runs
+ * on Java 8. On Java 9 or later,
+ * {@code org.reactivestreams.FlowAdapters.toFlowProcessor} adapts it to a
+ * {@code java.util.concurrent.Flow.Processor}.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * TryProcessor<String, Event> parse =
+ *     TryProcessor.successes(Event::parse, (line, e) -> deadLetters.add(line));
+ * lines.subscribe(parse);
+ * parse.subscribe(sink);
+ * }</pre>
+ *
+ * @param <T> the type of the elements received from upstream
+ * @param <O> the type of the elements emitted downstream
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public final class TryProcessor<T, O> implements Processor<T, O> {
+  /** The number of elements prefetched unless another number is given. */
+  public static final int DEFAULT_PREFETCH = 256;
+
+  /** Marks a rejected element that was sent to the side channel. */
+  private static final Object SKIP = new Object();
+
+  /**
+   * Takes the place of the subscriber once it has cancelled or been sent a
+   * terminal signal, so the processor no longer holds on to it.
+   */
+  private static final Subscriber<Object> TERMINATED = new Subscriber<Object>() {
+    @Override public void onSubscribe(Subscription subscription) {
+      subscription.cancel();
+    }
+    @Override public void onNext(Object item) {}
+    @Override public void onError(Throwable throwable) {}
+    @Override public void onComplete() {}
+  };
+
+  private final ThrowingFunction<? super T, ?> f;
+  private final BiConsumer<? super T, ? super Exception> onFailure;
+  private final int prefetch;
+  private final int limit;
+
+  private final AtomicReferenceArray<Object> queue;
+  private final AtomicLong producerIndex = new AtomicLong();
+  private final AtomicLong consumerIndex = new AtomicLong();
+  private final AtomicReference<Subscription> upstream =
+      new AtomicReference<>();
+  private final AtomicBoolean subscribed = new AtomicBoolean();
+  private final AtomicReference<Subscriber<? super O>> downstream =
+      new AtomicReference<>();
+  private final AtomicLong requested = new AtomicLong();
+  private final AtomicInteger wip = new AtomicInteger();
+  private volatile boolean done;
+  private volatile boolean cancelled;
+  private Throwable error;
+  private volatile Throwable badRequest;
+  private int consumed;
+
+  private TryProcessor(ThrowingFunction<? super T, ?> f,
+                       BiConsumer<? super T, ? super Exception> onFailure,
+                       int prefetch) {
+    if (prefetch < 1) {
+      throw new IllegalArgumentException(
+          String.format("prefetch must be at least 1, was %d", prefetch));
+    }
+    this.f = Objects.requireNonNull(f);
+    this.onFailure = onFailure;
+    this.prefetch = prefetch;
+    this.limit = prefetch - (prefetch >> 2);
+    this.queue = new AtomicReferenceArray<>(prefetch);
+  }
+
+  /**
+   * Returns a processor that emits the outcome of applying {@code f} to each
+   * element, prefetching {@value #DEFAULT_PREFETCH} elements.
+   * @param <T> the type of the elements received from upstream
+   * @param <R> the type of the result of {@code f}
+   * @param f the function applied to each element
+   * @return a new {@link TryProcessor}
+   */
+  public static <T, R> TryProcessor<T, Try<R>> mapping(
+      ThrowingFunction<? super T, ? extends R> f) {
+    return mapping(f, DEFAULT_PREFETCH);
+  }
+
+  /**
+   * Returns a processor that emits the outcome of applying {@code f} to each
+   * element, prefetching {@code prefetch} elements.
+   * @param <T> the type of the elements received from upstream
+   * @param <R> the type of the result of {@code f}
+   * @param f the function applied to each element
+   * @param prefetch the number of elements requested from upstream ahead of
+   *    downstream demand
+   * @return a new {@link TryProcessor}
+   * @throws IllegalArgumentException if {@code prefetch} is less than 1
+   */
+  public static <T, R> TryProcessor<T, Try<R>> mapping(
+      ThrowingFunction<? super T, ? extends R> f, int prefetch) {
+    return new TryProcessor<>(f, null, prefetch);
+  }
+
+  /**
+   * Returns a processor that emits the result of applying {@code f} to each
+   * element it accepts, and passes each element it rejects, with the
+   * exception, to {@code onFailure}, prefetching
+   * {@value #DEFAULT_PREFETCH} elements.
+   * @param <T> the type of the elements received from upstream
+   * @param <R> the type of the result of {@code f}
+   * @param f the function applied to each element; a {@code null} result
+   *    counts as a {@link NullPointerException}
+   * @param onFailure receives each rejected element and its exception
+   * @return a new {@link TryProcessor}
+   */
+  public static <T, R> TryProcessor<T, R> successes(
+      ThrowingFunction<? super T, ? extends R> f,
+      BiConsumer<? super T, ? super Exception> onFailure) {
+    return successes(f, onFailure, DEFAULT_PREFETCH);
+  }
+
+  /**
+   * Returns a processor that emits the result of applying {@code f} to each
+   * element it accepts, and passes each element it rejects, with the
+   * exception, to {@code onFailure}, prefetching {@code prefetch} elements.
+   * @param <T> the type of the elements received from upstream
+   * @param <R> the type of the result of {@code f}
+   * @param f the function applied to each element; a {@code null} result
+   *    counts as a {@link NullPointerException}
+   * @param onFailure receives each rejected element and its exception
+   * @param prefetch the number of elements requested from upstream ahead of
+   *    downstream demand
+   * @return a new {@link TryProcessor}
+   * @throws IllegalArgumentException if {@code prefetch} is less than 1
+   */
+  public static <T, R> TryProcessor<T, R> successes(
+      ThrowingFunction<? super T, ? extends R> f,
+      BiConsumer<? super T, ? super Exception> onFailure, int prefetch) {
+    return new TryProcessor<>(f, Objects.requireNonNull(onFailure), prefetch);
+  }
+
+  @Override public void onSubscribe(Subscription subscription) {
+    Objects.requireNonNull(subscription);
+    if (!upstream.compareAndSet(null, subscription) || cancelled) {
+      subscription.cancel();
+      return;
+    }
+    subscription.request(prefetch);
+  }
+
+  @Override public void onNext(T item) {
+    Objects.requireNonNull(item);
+    if (done || cancelled) {
+      return;
+    }
+    Object out;
+    try {
+      Object r = f.apply(item);
+      if (onFailure == null) {
+        out = Success.of(r);
+      } else if (r == null) {
+        throw new NullPointerException("The function returned null");
+      } else {
+        out = r;
+      }
+    } catch (Exception e) {
+      if (onFailure == null) {
+        out = Failure.of(e);
+      } else {
+        onFailure.accept(item, e);
+        out = SKIP;
+      }
+    }
+
+    long p = producerIndex.get();
+    if (p - consumerIndex.get() >= prefetch) {
+      upstream.get().cancel();
+      onError(new IllegalStateException(
+          "Upstream sent more elements than were requested"));
+      return;
+    }
+    int slot = (int) (p % prefetch);
+    queue.lazySet(slot, out);
+    producerIndex.lazySet(p + 1);
+    if (cancelled) {
+      // The subscriber cancelled while this element was being mapped.
+      queue.lazySet(slot, null);
+      return;
+    }
+    drain();
+  }
+
+  @Override public void onError(Throwable throwable) {
+    Objects.requireNonNull(throwable);
+    if (done) {
+      return;
+    }
+    error = throwable;
+    done = true;
+    drain();
+  }
+
+  @Override public void onComplete() {
+    done = true;
+    drain();
+  }
+
+  @Override public void subscribe(Subscriber<? super O> subscriber) {
+    Objects.requireNonNull(subscriber);
+    if (!subscribed.compareAndSet(false, true)) {
+      subscriber.onSubscribe(new Subscription() {
+        @Override public void request(long n) {}
+        @Override public void cancel() {}
+      });
+      subscriber.onError(new IllegalStateException(
+          "TryProcessor allows only a single subscriber"));
+      return;
+    }
+    subscriber.onSubscribe(new Subscription() {
+      @Override public void request(long n) {
+        if (n <= 0) {
+          cancelUpstream();
+          badRequest = new IllegalArgumentException(String.format(
+              "Subscribers must request a positive number of elements, was %d", n));
+          drain();
+          return;
+        }
+        for (;;) {
+          long r = requested.get();
+          long next = r + n < 0 ? Long.MAX_VALUE : r + n;
+          if (requested.compareAndSet(r, next)) {
+            break;
+          }
+        }
+        drain();
+      }
+
+      @Override public void cancel() {
+        cancelled = true;
+        terminate();
+        cancelUpstream();
+        drain();
+      }
+    });
+    // Only now may drain signal the subscriber, so that no onNext overlaps
+    // its onSubscribe; a cancel from within onSubscribe has already
+    // replaced it.
+    downstream.compareAndSet(null, subscriber);
+    drain();
+  }
+
+  private void terminate() {
+    downstream.set(TERMINATED);
+  }
+
+  private void cancelUpstream() {
+    Subscription s = upstream.get();
+    if (s != null) {
+      s.cancel();
+    }
+  }
+
+  /**
+   * Emits buffered elements while there is demand, and the terminal signal
+   * once the buffer is empty. Only one thread drains at a time; a thread that
+   * finds another draining leaves it to loop once more.
+   */
+  private void drain() {
+    if (wip.getAndIncrement() != 0) {
+      return;
+    }
+    int missed = 1;
+    for (;;) {
+      Subscriber<? super O> s = downstream.get();
+      if (s != null || cancelled) {
+        long r = requested.get();
+        long emitted = 0;
+        long c = consumerIndex.get();
+        for (;;) {
+          if (cancelled) {
+            clear(c);
+            return;
+          }
+          Throwable bad = badRequest;
+          if (bad != null) {
+            cancelled = true;
+            terminate();
+            clear(c);
+            s.onError(bad);
+            return;
+          }
+          boolean d = done;
+          boolean empty = c == producerIndex.get();
+          if (d && empty) {
+            cancelled = true;
+            terminate();
+            Throwable t = error;
+            error = null;
+            if (t == null) {
+              s.onComplete();
+            } else {
+              s.onError(t);
+            }
+            return;
+          }
+          if (empty) {
+            break;
+          }
+          int slot = (int) (c % prefetch);
+          Object v = queue.get(slot);
+          if (v != SKIP && emitted == r) {
+            break;
+          }
+          queue.lazySet(slot, null);
+          consumerIndex.lazySet(++c);
+          if (v != SKIP) {
+            @SuppressWarnings("unchecked")
+            O item = (O) v;
+            s.onNext(item);
+            emitted++;
+          }
+          if (++consumed == limit) {
+            consumed = 0;
+            upstream.get().request(limit);
+          }
+        }
+        if (emitted != 0 && r != Long.MAX_VALUE) {
+          requested.addAndGet(-emitted);
+        }
+      }
+      missed = wip.addAndGet(-missed);
+      if (missed == 0) {
+        return;
+      }
+    }
+  }
+
+  private void clear(long c) {
+    for (long p = producerIndex.get(); c < p; c++) {
+      queue.lazySet((int) (c % prefetch), null);
+    }
+    consumerIndex.lazySet(c);
+  }
+
+  @Override public String toString() {
+    return String.format("TryProcessor(%d buffered)",
+        producerIndex.get() - consumerIndex.get());
+  }
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+
+import java.util.Collection;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Maps streams through a {@link ThrowingFunction} without wrapping each
+ * element in a {@link Try}.
+ * <p>
+ * Mapping with {@code stream.map(x -> Try.to(() -> f.apply(x)))} allocates a
+ * lambda and a {@link Success} or {@link Failure} per element and leaves the
+ * caller to unwrap them. The streams returned here apply the function inside
+ * a {@code try-catch} and emit the results of successful applications
+ * directly. Elements for which the function throws are handed, along with the
+ * exception, to a separate failure handler and are left out of the stream.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * Queue<Exception> errors = new ConcurrentLinkedQueue<>();
+ * List<Integer> ports = TryStreams
+ *     .mapParallel(lines, Integer::parseInt, (line, e) -> errors.add(e))
+ *     .collect(Collectors.toList());
+ * }</pre>
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public final class TryStreams {
+  private TryStreams() { }
+
+  /**
+   * Returns a {@link Spliterator} over the results of applying {@code f} to
+   * the elements of {@code source} for which it does not throw.
+   * <p>
+   * The returned {@link Spliterator} splits whenever {@code source} does, so
+   * it splits as well as {@code source} does. It is never {@code SIZED},
+   * since the number of failures is not known in advance.
+   * @param <T> the type of the elements of {@code source}
+   * @param <R> the type of the results of {@code f}
+   * @param source the elements to map
+   * @param f the function to apply, which may throw an exception
+   * @param onFailure receives each element for which {@code f} throws, with
+   *    the exception; it must be safe to call from several threads at once
+   *    if the {@link Spliterator} is traversed in parallel
+   * @return a {@link Spliterator} over the results of {@code f}
+   */
+  public static <T, R> Spliterator<R> spliterator(
+      Spliterator<T> source,
+      ThrowingFunction<? super T, ? extends R> f,
+      BiConsumer<? super T, ? super Exception> onFailure) {
+    return new MappingSpliterator<>(source, f, onFailure);
+  }
+
+  /**
+   * Returns a parallel {@link Stream} of the results of applying {@code f} to
+   * the elements of {@code source} for which it does not throw.
+   * @param <T> the type of the elements of {@code source}
+   * @param <R> the type of the results of {@code f}
+   * @param source the elements to map
+   * @param f the function to apply, which may throw an exception; it must be
+   *    safe to call from several threads at once
+   * @param onFailure receives each element for which {@code f} throws, with
+   *    the exception; it must be safe to call from several threads at once
+   * @return a parallel {@link Stream} of the results of {@code f}
+   * @see #spliterator
+   */
+  public static <T, R> Stream<R> mapParallel(
+      Spliterator<T> source,
+      ThrowingFunction<? super T, ? extends R> f,
+      BiConsumer<? super T, ? super Exception> onFailure) {
+    return StreamSupport.stream(spliterator(source, f, onFailure), true);
+  }
+
+  /**
+   * Returns a parallel {@link Stream} of the results of applying {@code f} to
+   * the elements of {@code source} for which it does not throw.
+   * @param <T> the type of the elements of {@code source}
+   * @param <R> the type of the results of {@code f}
+   * @param source the elements to map
+   * @param f the function to apply, which may throw an exception; it must be
+   *    safe to call from several threads at once
+   * @param onFailure receives each element for which {@code f} throws, with
+   *    the exception; it must be safe to call from several threads at once
+   * @return a parallel {@link Stream} of the results of {@code f}
+   * @see #spliterator
+   */
+  public static <T, R> Stream<R> mapParallel(
+      Collection<T> source,
+      ThrowingFunction<? super T, ? extends R> f,
+      BiConsumer<? super T, ? super Exception> onFailure) {
+    return mapParallel(source.spliterator(), f, onFailure);
+  }
+
+  /**
+   * Applies the function to each element that the source hands to it as a
+   * {@link Consumer}, so that traversal allocates nothing per element. Each
+   * split gets its own instance, so the per-traversal state needs no
+   * synchronization.
+   */
+  private static final class MappingSpliterator<T, R>
+      implements Spliterator<R>, Consumer<T> {
+    private static final int CHARACTERISTICS = ORDERED | CONCURRENT | IMMUTABLE;
+
+    private final Spliterator<T> source;
+    private final ThrowingFunction<? super T, ? extends R> f;
+    private final BiConsumer<? super T, ? super Exception> onFailure;
+
+    private Consumer<? super R> action;
+    private boolean emitted;
+
+    MappingSpliterator(Spliterator<T> source,
+                       ThrowingFunction<? super T, ? extends R> f,
+                       BiConsumer<? super T, ? super Exception> onFailure) {
+      this.source = source;
+      this.f = f;
+      this.onFailure = onFailure;
+    }
+
+    @Override public void accept(T t) {
+      R result;
+      try {
+        result = f.apply(t);
+      } catch (Exception e) {
+        onFailure.accept(t, e);
+        return;
+      }
+      emitted = true;
+      action.accept(result);
+    }
+
+    @Override public boolean tryAdvance(Consumer<? super R> action) {
+      this.action = action;
+      try {
+        emitted = false;
+        while (!emitted && source.tryAdvance(this)) { }
+        return emitted;
+      } finally {
+        this.action = null;
+      }
+    }
+
+    @Override public void forEachRemaining(Consumer<? super R> action) {
+      this.action = action;
+      try {
+        source.forEachRemaining(this);
+      } finally {
+        this.action = null;
+      }
+    }
+
+    @Override public Spliterator<R> trySplit() {
+      Spliterator<T> prefix = source.trySplit();
+      return prefix == null
+          ? null
+          : new MappingSpliterator<>(prefix, f, onFailure);
+    }
+
+    @Override public long estimateSize() { return source.estimateSize(); }
+
+    @Override public int characteristics() {
+      return source.characteristics() & CHARACTERISTICS;
+    }
+  }
+}
@@ -0,0 +1,31 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+/**
+ * The value of an operation that completes without producing a result, such
+ * as the {@link Success} returned by {@link Try#run}.
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public enum Unit {
+  /** The only value of {@link Unit}. */
+  INSTANCE;
+
+  @Override public String toString() { return "()"; }
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import try4j.function.ThrowingFunction;
+import try4j.function.ThrowingPredicate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Runs every check on a value and collects all of the failures, instead of
+ * stopping at the first one as {@link Try#filter} does.
+ * <p>
+ * A {@link Validation} keeps no storage for failures until a check fails;
+ * failures are then kept in a single array. A {@link Validation} is meant to
+ * be built up and read by one thread, and is not thread-safe.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * Try<Order> order = Validation.of(request)
+ *     .check(r -> !r.getItems().isEmpty(), "an order needs items")
+ *     .check(r -> r.getQuantity() > 0, "quantity must be positive")
+ *     .validate(r -> Currency.getInstance(r.getCurrency()))
+ *     .toTry()
+ *     .map(Order::from);
+ * }</pre>
+ *
+ * @param <T> the type of the value being validated
+ * @author Brad Collins
+ * @since 1.9.0
+ * @see Try#validateAll(Object, ThrowingPredicate...)
+ */
+public final class Validation<T> {
+  private final T value;
+  private Exception[] failures;
+  private int count;
+
+  private Validation(T value) {
+    this.value = value;
+  }
+
+  /**
+   * Returns a {@link Validation} of {@code value} with no failures.
+   * @param <T> the type of the value being validated
+   * @param value the value to validate
+   * @return a new {@link Validation}
+   */
+  public static <T> Validation<T> of(T value) {
+    return new Validation<>(value);
+  }
+
+  /**
+   * Tests the value against {@code predicate}, recording a
+   * {@link PredicateNotSatisfiedException} if it does not hold, or the
+   * exception {@code predicate} throws.
+   * @param predicate the check to run
+   * @return this {@link Validation}
+   */
+  public Validation<T> check(ThrowingPredicate<? super T> predicate) {
+    try {
+      if (!predicate.test(value)) {
+        add(new PredicateNotSatisfiedException(value));
+      }
+    } catch (Exception e) {
+      add(e);
+    }
+    return this;
+  }
+
+  /**
+   * Tests the value against {@code predicate}, recording a
+   * {@link CheckFailedException} with {@code message} if it does not hold,
+   * or the exception {@code predicate} throws.
+   * @param predicate the check to run
+   * @param message the message of the failure recorded if the check does not
+   *    hold
+   * @return this {@link Validation}
+   */
+  public Validation<T> check(ThrowingPredicate<? super T> predicate,
+                             String message) {
+    try {
+      if (!predicate.test(value)) {
+        add(new CheckFailedException(message));
+      }
+    } catch (Exception e) {
+      add(e);
+    }
+    return this;
+  }
+
+  /**
+   * Applies {@code f} to the value for its side effect of throwing if the
+   * value is invalid, recording the exception it throws, if any. The result
+   * of {@code f} is discarded.
+   * @param f the check to run, such as a parser or a lookup
+   * @return this {@link Validation}
+   */
+  public Validation<T> validate(ThrowingFunction<? super T, ?> f) {
+    try {
+      f.apply(value);
+    } catch (Exception e) {
+      add(e);
+    }
+    return this;
+  }
+
+  /**
+   * Returns whether every check so far has passed.
+   * @return {@code true} if no failures have been recorded
+   */
+  public boolean isValid() { return count == 0; }
+
+  /**
+   * Returns the exceptions of the failed checks, in the order the checks ran.
+   * @return an unmodifiable snapshot of the failures, empty if
+   *    {@link #isValid()}
+   */
+  public List<Exception> getFailures() {
+    return count == 0
+        ? Collections.emptyList()
+        : Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(failures, count)));
+  }
+
+  /**
+   * Returns the outcome of the validation.
+   * @return a {@link Success} containing the value if every check passed,
+   *    otherwise a {@link Failure} containing a {@link ValidationException}
+   *    with every failure
+   */
+  public Try<T> toTry() {
+    return count == 0
+        ? Success.of(value)
+        : Failure.of(new ValidationException(Arrays.copyOf(failures, count)));
+  }
+
+  private void add(Exception e) {
+    if (failures == null) {
+      failures = new Exception[2];
+    } else if (count == failures.length) {
+      failures = Arrays.copyOf(failures, count * 2);
+    }
+    failures[count++] = e;
+  }
+
+  @Override public String toString() {
+    return String.format("Validation(%s, %d failures)", value, count);
+  }
+}
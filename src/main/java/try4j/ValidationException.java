@@ -0,0 +1,68 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Signals that a value failed one or more checks of a {@link Validation}.
+ * <p>
+ * The message is only formatted when it is asked for, and the stack trace is
+ * only filled in if the {@link CapturePolicy} in effect says so.
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ */
+public final class ValidationException
+    extends IllegalArgumentException implements LibraryException {
+  private static final long serialVersionUID = 1L;
+
+  private final Exception[] failures;
+
+  ValidationException(Exception[] failures) {
+    this.failures = failures;
+  }
+
+  /**
+   * Returns the exceptions of the failed checks, in the order the checks ran.
+   * @return an unmodifiable list of at least one exception
+   */
+  public List<Exception> getFailures() {
+    return Collections.unmodifiableList(Arrays.asList(failures));
+  }
+
+  @Override public String getMessage() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(failures.length).append(failures.length == 1
+        ? " validation failure: " : " validation failures: ");
+    for (int i = 0; i < failures.length; i++) {
+      if (i > 0) {
+        sb.append("; ");
+      }
+      sb.append(failures[i]);
+    }
+    return sb.toString();
+  }
+
+  @Override public synchronized Throwable fillInStackTrace() {
+    return CapturePolicy.current().shouldCapture()
+        ? super.fillInStackTrace()
+        : this;
+  }
+}
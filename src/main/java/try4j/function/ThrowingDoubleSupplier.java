@@ -0,0 +1,42 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j.function;
+
+/**
+ * Represents a supplier of {@code double}-valued results that could throw an
+ * exception.
+ * <p>
+ * This is the {@code double}-producing primitive specialization of
+ * {@link ThrowingSupplier}.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #getAsDouble()}.
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ *
+ * @see java.util.function.DoubleSupplier
+ */
+@FunctionalInterface
+public interface ThrowingDoubleSupplier {
+  /**
+   * Get a result.
+   * @return a result
+   * @throws Exception if the underlying operation throws an exception
+   */
+  double getAsDouble() throws Exception;
+}
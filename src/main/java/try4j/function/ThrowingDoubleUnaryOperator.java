@@ -0,0 +1,42 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j.function;
+
+/**
+ * Represents an operation on a single {@code double}-valued operand that produces
+ * a {@code double}-valued result, but could throw an exception.
+ *
+ * <p>This is a functional interface whose functional method is
+ * {@link #applyAsDouble(double)}.
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ *
+ * @see java.util.function.DoubleUnaryOperator
+ */
+@FunctionalInterface
+public interface ThrowingDoubleUnaryOperator {
+
+  /**
+   * Applies this operator to the given operand.
+   *
+   * @param operand the operand
+   * @return the operator result
+   * @throws Exception if an error occurs
+   */
+  double applyAsDouble(double operand) throws Exception;
+}
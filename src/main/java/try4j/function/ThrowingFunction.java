@@ -16,6 +16,9 @@
 
 package try4j.function;
 
+import try4j.CachePolicy;
+import try4j.TryCache;
+
 import java.util.Objects;
 
 /**
@@ -84,4 +87,18 @@ public interface ThrowingFunction<T, R> {
     Objects.requireNonNull(after);
     return (T t) -> after.apply(apply(t));
   }
+
+  /**
+   * Returns a function that caches the outcomes of this function as described
+   * by {@code policy}.
+   *
+   * @param policy how outcomes are bounded and expired
+   * @return a {@link TryCache} of the outcomes of this function
+   * @throws NullPointerException if policy is null
+   *
+   * @since 1.9.0
+   */
+  default TryCache<T, R> memoize(CachePolicy policy) {
+    return TryCache.of(this, policy);
+  }
 }
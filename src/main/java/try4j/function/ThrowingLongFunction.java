@@ -0,0 +1,44 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j.function;
+
+/**
+ * Represents a function that accepts a {@code long}-valued argument and produces
+ * a result, but could throw an exception.
+ *
+ * <p>This is a functional interface whose functional method is
+ * {@link #apply(long)}.
+ *
+ * @param <R> the type of the result of the function
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ *
+ * @see java.util.function.LongFunction
+ */
+@FunctionalInterface
+public interface ThrowingLongFunction<R> {
+
+  /**
+   * Applies this function to the given argument.
+   *
+   * @param value the function argument
+   * @return the function result
+   * @throws Exception if an error occurs
+   */
+  R apply(long value) throws Exception;
+}
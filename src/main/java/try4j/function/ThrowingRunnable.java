@@ -0,0 +1,37 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j.function;
+
+/**
+ * Represents an operation that takes no arguments, returns no result and
+ * could throw an exception.
+ * <p>
+ * This is a functional interface whose functional method is {@link #run()}.
+ *
+ * @author Brad Collins
+ * @since 1.9.0
+ *
+ * @see java.lang.Runnable
+ */
+@FunctionalInterface
+public interface ThrowingRunnable {
+  /**
+   * Performs this operation.
+   * @throws Exception if the underlying operation throws an exception
+   */
+  void run() throws Exception;
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class AdaptiveLimiterTest {
+
+  private String timeout() throws TimeoutException {
+    throw new TimeoutException("slow");
+  }
+
+  private String fail() throws IOException {
+    throw new IOException("down");
+  }
+
+  @Test
+  public void limiterPassesCallsThrough() {
+    AdaptiveLimiter limiter = AdaptiveLimiter.of(4, 1, 10);
+    assertThat(limiter.to(() -> "Value"), is(Success.of("Value")));
+    assertThat(limiter.getInFlight(), is(0));
+    assertThat(limiter.getCallCount(), is(1L));
+  }
+
+  @Test
+  public void dropsCutTheLimitDownToMinimum() {
+    AdaptiveLimiter limiter = AdaptiveLimiter.of(10, 3, 20);
+    limiter.to(this::timeout);
+    assertThat(limiter.getLimit(), is(9));
+    for (int i = 0; i < 50; i++) {
+      limiter.to(this::timeout);
+    }
+    assertThat(limiter.getLimit(), is(3));
+    assertThat(limiter.getDropCount(), is(51L));
+  }
+
+  @Test
+  public void otherFailuresLeaveTheLimit() {
+    AdaptiveLimiter limiter = AdaptiveLimiter.of(10, 3, 20);
+    limiter.to(this::fail);
+    assertThat(limiter.getLimit(), is(10));
+    assertThat(limiter.getDropCount(), is(0L));
+  }
+
+  @Test
+  public void customDropPredicate() {
+    AdaptiveLimiter limiter = AdaptiveLimiter.of(10, 3, 20)
+        .withDropOn(e -> e instanceof IOException);
+    limiter.to(this::fail);
+    limiter.to(this::timeout);
+    assertThat(limiter.getLimit(), is(9));
+  }
+
+  @Test
+  public void slowCallsCutTheLimit() {
+    AdaptiveLimiter limiter = AdaptiveLimiter.of(10, 3, 20)
+        .withLatencyThreshold(Duration.ofMillis(1));
+    assertThat(limiter.to(() -> { Thread.sleep(20); return "Value"; }),
+        is(Success.of("Value")));
+    assertThat(limiter.getLimit(), is(9));
+  }
+
+  @Test
+  public void busyLimiterGrowsToTwiceItsUse() {
+    AdaptiveLimiter limiter = AdaptiveLimiter.of(1, 1, 5);
+    for (int i = 0; i < 100; i++) {
+      limiter.to(() -> "Value");
+    }
+    assertThat(limiter.getLimit(), is(2));
+  }
+
+  @Test
+  public void idleLimiterDoesNotGrow() {
+    AdaptiveLimiter limiter = AdaptiveLimiter.of(10, 1, 20);
+    for (int i = 0; i < 100; i++) {
+      limiter.to(() -> "Value");
+    }
+    assertThat(limiter.getLimit(), is(10));
+  }
+
+  @Test
+  public void callsOverTheLimitAreRejected() throws Exception {
+    AdaptiveLimiter limiter = AdaptiveLimiter.of(1, 1, 5);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Try<String>> running = executor.submit(() -> limiter.to(() -> {
+        started.countDown();
+        release.await();
+        return "Value";
+      }));
+      started.await();
+      assertThat(limiter.getInFlight(), is(1));
+
+      Try<String> rejected = limiter.to(() -> "Other");
+      assertThat(((Failure<String>) rejected).getException(),
+          instanceOf(CapacityExceededException.class));
+      assertThat(limiter.to(() -> "Other"), is(sameInstance(rejected)));
+      assertThat(limiter.getRejectedCount(), is(2L));
+
+      release.countDown();
+      assertThat(running.get(), is(Success.of("Value")));
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void errorsReleaseTheirPermit() {
+    AdaptiveLimiter limiter = AdaptiveLimiter.of(1, 1, 5);
+    try {
+      limiter.to(() -> { throw new AssertionError("broken"); });
+      Assert.fail("Expected AssertionError");
+    } catch (AssertionError e) {
+      assertThat(e.getMessage(), is("broken"));
+    }
+    assertThat(limiter.getInFlight(), is(0));
+    assertThat(limiter.to(() -> "Value"), is(Success.of("Value")));
+  }
+
+  @Test
+  public void concurrentDropsCutTheLimitOnce() throws Exception {
+    AdaptiveLimiter limiter = AdaptiveLimiter.of(10, 1, 20);
+    CountDownLatch started = new CountDownLatch(5);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(5);
+    try {
+      List<Future<Try<String>>> calls = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+        calls.add(executor.submit(() -> limiter.to(() -> {
+          started.countDown();
+          release.await();
+          return timeout();
+        })));
+      }
+      started.await();
+      release.countDown();
+      for (Future<Try<String>> call : calls) {
+        call.get();
+      }
+      assertThat(limiter.getDropCount(), is(5L));
+      assertThat(limiter.getLimit(), is(9));
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void decoratedFunctionUsesLimiter() {
+    AdaptiveLimiter limiter = AdaptiveLimiter.of(1, 1, 5);
+    Function<String, Try<Integer>> length = limiter.decorate(String::length);
+    assertThat(length.apply("Value"), is(Success.of(5)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void initialLimitMustBeWithinBounds() {
+    AdaptiveLimiter.of(30, 1, 20);
+  }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class AsyncTryTest {
+
+  ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void asyncCompletesWithSuccessOrFailure() {
+    assertThat(Try.async(() -> "Value", executor).join(),
+        is(Success.of("Value")));
+    assertThat(Try.async(() -> Integer.parseInt("pig"), executor).join()
+            .failed().get(),
+        is(instanceOf(NumberFormatException.class)));
+  }
+
+  @Test
+  public void operationsMirrorTry() {
+    AsyncTry<Integer> async = Try.async(() -> 21, executor);
+    assertThat(async.map(n -> n * 2).join(), is(Success.of(42)));
+    assertThat(async.flatMap(n -> Success.of(n + 1)).join(),
+        is(Success.of(22)));
+    assertThat(async.filter(n -> n < 0).join(),
+        is(instanceOf(Failure.class)));
+    AsyncTry<Integer> failed =
+        async.<Integer>map(n -> { throw new ArithmeticException(); });
+    assertThat(failed.recover(e -> -1).join(), is(Success.of(-1)));
+    assertThat(failed.recoverWith(e -> Success.of(-2)).join(),
+        is(Success.of(-2)));
+  }
+
+  @Test
+  public void flatMapAsyncComposesAsyncTries() {
+    AsyncTry<Integer> async = Try.async(() -> 21, executor)
+        .flatMapAsync(n -> Try.async(() -> n * 2, executor));
+    assertThat(async.join(), is(Success.of(42)));
+
+    AsyncTry<Integer> failed = Try.async(() -> 21, executor)
+        .flatMapAsync(n -> { throw new IOException(); });
+    assertThat(failed.join().failed().get(), is(instanceOf(IOException.class)));
+  }
+
+  @Test
+  public void continuationsRunInPlaceWhenAlreadyCompleted() {
+    Thread caller = Thread.currentThread();
+    List<Thread> threads = new ArrayList<>();
+    AsyncTry<String> mapped = AsyncTry.completed(Success.of("Value"))
+        .map(s -> { threads.add(Thread.currentThread()); return s; });
+    assertThat(mapped.isDone(), is(true));
+    assertThat(threads, contains(caller));
+  }
+
+  @Test
+  public void continuationsDoNotBlockWhileIncomplete() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    AsyncTry<String> async = Try.async(() -> {
+      release.await();
+      return "Value";
+    }, executor);
+    AsyncTry<Integer> mapped = async.map(String::length);
+    assertThat(mapped.isDone(), is(false));
+    release.countDown();
+    assertThat(mapped.join(), is(Success.of(5)));
+  }
+
+  @Test
+  public void fromStageUnwrapsCompletionExceptions() {
+    CompletableFuture<String> stage = CompletableFuture.supplyAsync(() -> {
+      throw new IllegalStateException("boom");
+    }, executor);
+    Try<String> result = AsyncTry.fromStage(stage).join();
+    assertThat(result.failed().get(),
+        is(instanceOf(IllegalStateException.class)));
+  }
+
+  @Test
+  public void ofAndToCompletionStageBridgeTries() {
+    CompletableFuture<Try<String>> stage = new CompletableFuture<>();
+    AsyncTry<String> async = AsyncTry.of(stage);
+    stage.complete(Success.of("Value"));
+    assertThat(async.toCompletionStage().toCompletableFuture().join(),
+        is(Success.of("Value")));
+  }
+
+  @Test
+  public void joinWithTimeoutYieldsTimeoutFailure() {
+    AsyncTry<String> never = AsyncTry.of(new CompletableFuture<>());
+    assertThat(never.join(Duration.ofMillis(10)).failed().get(),
+        is(instanceOf(TimeoutException.class)));
+  }
+
+  @Test
+  public void errorsCompleteExceptionallyAndAreRethrownByJoin() {
+    CompletableFuture<Try<String>> stage = new CompletableFuture<>();
+    AsyncTry<Integer> async = AsyncTry.of(stage).map(String::length);
+    stage.completeExceptionally(new AssertionError("broken"));
+    assertThat(async.toString(), is("AsyncTry(?)"));
+    try {
+      async.join();
+      fail("Expected AssertionError");
+    } catch (AssertionError e) {
+      assertThat(e.getMessage(), is("broken"));
+    }
+  }
+}
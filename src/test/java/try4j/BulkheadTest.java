@@ -0,0 +1,139 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class BulkheadTest {
+
+  ExecutorService executor = Executors.newCachedThreadPool();
+  CountDownLatch started = new CountDownLatch(1);
+  CountDownLatch release = new CountDownLatch(1);
+
+  @After
+  public void shutdown() {
+    release.countDown();
+    executor.shutdownNow();
+  }
+
+  private String block() throws InterruptedException {
+    started.countDown();
+    release.await();
+    return "Value";
+  }
+
+  private Future<Try<String>> occupy(Bulkhead bulkhead) throws InterruptedException {
+    Future<Try<String>> call = executor.submit(() -> bulkhead.to(this::block));
+    started.await();
+    return call;
+  }
+
+  @Test
+  public void bulkheadPassesCallsThrough() {
+    Bulkhead bulkhead = Bulkhead.of(2);
+    assertThat(bulkhead.to(() -> "Value"), is(Success.of("Value")));
+    assertThat(bulkhead.getActiveCount(), is(0));
+    assertThat(bulkhead.getCallCount(), is(1L));
+  }
+
+  @Test
+  public void fullBulkheadRejectsImmediately() throws Exception {
+    Bulkhead bulkhead = Bulkhead.of(1);
+    Future<Try<String>> running = occupy(bulkhead);
+    assertThat(bulkhead.getActiveCount(), is(1));
+
+    Try<String> rejected = bulkhead.to(() -> "Other");
+    assertThat(rejected.isFailure(), is(true));
+    Exception e = ((Failure<String>) rejected).getException();
+    assertThat(e, instanceOf(RejectedExecutionException.class));
+    assertThat(e, instanceOf(CapacityExceededException.class));
+    assertThat(e.getStackTrace().length, is(0));
+    assertThat(bulkhead.getRejectedCount(), is(1L));
+
+    release.countDown();
+    assertThat(running.get(), is(Success.of("Value")));
+    assertThat(bulkhead.to(() -> "Other"), is(Success.of("Other")));
+  }
+
+  @Test
+  public void waitingCallRunsWhenPermitIsReleased() throws Exception {
+    Bulkhead bulkhead = Bulkhead.of(1).withMaxWait(Duration.ofSeconds(10));
+    occupy(bulkhead);
+    Future<Try<String>> waiting = executor.submit(() -> bulkhead.to(() -> "Other"));
+    while (bulkhead.getQueueLength() == 0) {
+      Thread.sleep(1);
+    }
+    release.countDown();
+    assertThat(waiting.get(), is(Success.of("Other")));
+    assertThat(bulkhead.getWaitedCount(), is(1L));
+    assertThat(bulkhead.getRejectedCount(), is(0L));
+  }
+
+  @Test
+  public void waitingCallIsRejectedAfterMaxWait() throws Exception {
+    Bulkhead bulkhead = Bulkhead.of(1).withMaxWait(Duration.ofMillis(20));
+    occupy(bulkhead);
+    Try<String> rejected = bulkhead.to(() -> "Other");
+    assertThat(((Failure<String>) rejected).getException(),
+        instanceOf(CapacityExceededException.class));
+    assertThat(bulkhead.getWaitedCount(), is(1L));
+  }
+
+  @Test
+  public void interruptedWaitFails() throws Exception {
+    Bulkhead bulkhead = Bulkhead.of(1).withMaxWait(Duration.ofSeconds(10));
+    occupy(bulkhead);
+    Thread.currentThread().interrupt();
+    Try<String> interrupted = bulkhead.to(() -> "Other");
+    assertThat(Thread.interrupted(), is(true));
+    assertThat(((Failure<String>) interrupted).getException(),
+        instanceOf(InterruptedException.class));
+  }
+
+  @Test
+  public void permitIsReleasedAfterFailure() {
+    Bulkhead bulkhead = Bulkhead.of(1);
+    bulkhead.to(() -> { throw new IllegalStateException(); });
+    assertThat(bulkhead.getActiveCount(), is(0));
+    assertThat(bulkhead.to(() -> "Value"), is(Success.of("Value")));
+  }
+
+  @Test
+  public void decoratedFunctionUsesBulkhead() {
+    Bulkhead bulkhead = Bulkhead.of(1);
+    Function<String, Try<Integer>> length = bulkhead.decorate(String::length);
+    assertThat(length.apply("Value"), is(Success.of(5)));
+    assertThat(bulkhead.getCallCount(), is(1L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void bulkheadNeedsAPermit() {
+    Bulkhead.of(0);
+  }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class CapturePolicyTest {
+
+  @After
+  public void tearDown() {
+    CapturePolicy.setGlobal(CapturePolicy.FULL);
+  }
+
+  @Test
+  public void globalPolicyIsFullByDefault() {
+    assertThat(CapturePolicy.global(), is(sameInstance(CapturePolicy.FULL)));
+  }
+
+  private static Exception libraryException(CapturePolicy policy) {
+    return Try.to(() -> Failure.<String>of(new Exception()).get(), policy)
+        .failed().get();
+  }
+
+  @Test
+  public void fullPolicyKeepsStackTrace() {
+    Exception e = libraryException(CapturePolicy.FULL);
+    assertThat(e, instanceOf(FailureException.class));
+    assertThat(e.getStackTrace().length, is(not(0)));
+  }
+
+  @Test
+  public void stacklessPolicyDropsStackTraceAndCountsIt() {
+    long skipped = CapturePolicy.STACKLESS.skippedCount();
+    Exception e = libraryException(CapturePolicy.STACKLESS);
+    assertThat(e, instanceOf(FailureException.class));
+    assertThat(e.getStackTrace().length, is(0));
+    assertThat(CapturePolicy.STACKLESS.skippedCount(), is(skipped + 1));
+  }
+
+  @Test
+  public void sampledPolicyKeepingNothingDropsStackTraceAndCountsIt() {
+    CapturePolicy policy = CapturePolicy.sampled(0, 1);
+    assertThat(libraryException(policy).getStackTrace().length, is(0));
+    assertThat(policy.skippedCount(), is(1L));
+  }
+
+  @Test
+  public void sampledPolicyKeepingEverythingKeepsStackTrace() {
+    CapturePolicy policy = CapturePolicy.sampled(1, 1);
+    assertThat(libraryException(policy).getStackTrace().length, is(not(0)));
+    assertThat(policy.skippedCount(), is(0L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void sampledRejectsKeepGreaterThanOutOf() {
+    CapturePolicy.sampled(2, 1);
+  }
+
+  @Test
+  public void callerExceptionsKeepTheirStackTrace() {
+    CapturePolicy.setGlobal(CapturePolicy.STACKLESS);
+    Exception e = new Exception();
+    int depth = e.getStackTrace().length;
+    assertThat(Failure.of(e).getException(), is(sameInstance(e)));
+    assertThat(Try.to(() -> { throw e; }, CapturePolicy.STACKLESS).failed().get(),
+        is(sameInstance(e)));
+    assertThat(e.getStackTrace().length, is(depth));
+  }
+
+  @Test
+  public void globalPolicyAppliesToLibraryExceptions() {
+    CapturePolicy.setGlobal(CapturePolicy.STACKLESS);
+    Try<String> result = Try.to(() -> Failure.<String>of(new Exception()).get());
+    assertThat(result.failed().get().getStackTrace().length, is(0));
+  }
+
+  @Test
+  public void givenPolicyOnlyAppliesWhileSupplierRuns() {
+    CapturePolicy.setGlobal(CapturePolicy.STACKLESS);
+    assertThat(libraryException(CapturePolicy.FULL).getStackTrace().length,
+        is(not(0)));
+    assertThat(CapturePolicy.current(),
+        is(sameInstance(CapturePolicy.STACKLESS)));
+  }
+
+  @Test
+  public void toWithPolicyReportsToMetrics() {
+    Assume.assumeTrue(TryMetrics.isEnabled());
+    long calls = TryMetrics.TO.getCalls();
+    long failures = TryMetrics.TO.getFailures();
+    Try.to(() -> "Value", CapturePolicy.STACKLESS);
+    Try.to(() -> Integer.parseInt("x"), CapturePolicy.STACKLESS);
+    assertThat(TryMetrics.TO.getCalls(), is(calls + 2));
+    assertThat(TryMetrics.TO.getFailures(), is(failures + 1));
+  }
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class CircuitBreakerTest {
+
+  AtomicInteger attempts = new AtomicInteger();
+
+  private String fail() throws IOException {
+    attempts.incrementAndGet();
+    throw new IOException("down");
+  }
+
+  private String succeed() {
+    attempts.incrementAndGet();
+    return "Value";
+  }
+
+  @Test
+  public void closedBreakerPassesCallsThrough() {
+    CircuitBreaker breaker = CircuitBreaker.of(0.5, 4, Duration.ofMinutes(1));
+    assertThat(breaker.to(this::succeed), is(Success.of("Value")));
+    assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+  }
+
+  @Test
+  public void breakerOpensAtFailureRate() {
+    CircuitBreaker breaker = CircuitBreaker.of(0.5, 4, Duration.ofMinutes(1));
+    breaker.to(this::succeed);
+    breaker.to(this::fail);
+    breaker.to(this::succeed);
+    assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+    breaker.to(this::fail);
+    assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+    assertThat(breaker.getFailureRate(), is(0.5));
+  }
+
+  @Test
+  public void breakerWaitsForMinimumCalls() {
+    CircuitBreaker breaker = CircuitBreaker.of(0.5, 10, Duration.ofMinutes(1))
+        .withMinimumCalls(3);
+    breaker.to(this::fail);
+    breaker.to(this::fail);
+    assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+    assertThat(breaker.getFailureRate(), is(-1.0));
+    breaker.to(this::fail);
+    assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+  }
+
+  @Test
+  public void openBreakerRejectsWithoutCalling() {
+    CircuitBreaker breaker = CircuitBreaker.of(1.0, 1, Duration.ofMinutes(1));
+    breaker.to(this::fail);
+    Try<String> first = breaker.to(this::succeed);
+    Try<String> second = breaker.to(this::succeed);
+    assertThat(attempts.get(), is(1));
+    assertThat(first.failed().get(), instanceOf(CallNotPermittedException.class));
+    assertThat(first, sameInstance(second));
+    assertThat(first.failed().get().getStackTrace().length, is(0));
+    assertThat(breaker.getRejectedCount(), is(2L));
+  }
+
+  @Test
+  public void halfOpenBreakerClosesAfterTrialSuccesses() {
+    CircuitBreaker breaker = CircuitBreaker.of(1.0, 2, Duration.ZERO)
+        .withMinimumCalls(1)
+        .withHalfOpenCalls(2);
+    breaker.to(this::fail);
+    assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+    assertThat(breaker.to(this::succeed), is(Success.of("Value")));
+    assertThat(breaker.getState(), is(CircuitBreaker.State.HALF_OPEN));
+    assertThat(breaker.to(this::succeed), is(Success.of("Value")));
+    assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+    assertThat(breaker.getFailureRate(), is(-1.0));
+  }
+
+  @Test
+  public void halfOpenBreakerReopensOnTrialFailure() {
+    CircuitBreaker breaker = CircuitBreaker.of(1.0, 1, Duration.ZERO);
+    breaker.to(this::fail);
+    breaker.to(this::fail);
+    assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+    assertThat(attempts.get(), is(2));
+  }
+
+  @Test
+  public void halfOpenBreakerLimitsTrialCalls() {
+    CircuitBreaker breaker = CircuitBreaker.of(1.0, 1, Duration.ZERO);
+    breaker.to(this::fail);
+    Try<String> nested = breaker.to(() -> breaker.to(this::succeed).get());
+    assertThat(nested.failed().get().getCause(),
+        instanceOf(CallNotPermittedException.class));
+  }
+
+  @Test
+  public void lateFailureDoesNotExtendOpenPeriod() {
+    CircuitBreaker breaker = CircuitBreaker.of(1.0, 1, Duration.ofMillis(20));
+    Try<String> late = breaker.to(() -> {
+      breaker.to(this::fail);
+      assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+      Thread.sleep(50);
+      return fail();
+    });
+    assertThat(late.failed().get(), instanceOf(IOException.class));
+    assertThat(breaker.to(this::succeed), is(Success.of("Value")));
+  }
+
+  @Test
+  public void concurrentCallersShareTheTrialPermits() throws Exception {
+    CircuitBreaker breaker = CircuitBreaker.of(1.0, 1, Duration.ZERO)
+        .withHalfOpenCalls(2);
+    breaker.to(this::fail);
+    attempts.set(0);
+    CountDownLatch start = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Try<String>>> calls = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        calls.add(executor.submit(() -> {
+          start.await();
+          return breaker.to(() -> {
+            attempts.incrementAndGet();
+            release.await();
+            return "Value";
+          });
+        }));
+      }
+      start.countDown();
+      Thread.sleep(50);
+      release.countDown();
+      for (Future<Try<String>> call : calls) {
+        call.get();
+      }
+      assertThat(attempts.get(), is(2));
+      assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void decorateAppliesThroughBreaker() {
+    CircuitBreaker breaker = CircuitBreaker.of(1.0, 1, Duration.ofMinutes(1));
+    Function<String, Try<Integer>> parse = breaker.decorate(Integer::parseInt);
+    assertThat(parse.apply("1"), is(Success.of(1)));
+    assertThat(parse.apply("x").failed().get(),
+        instanceOf(NumberFormatException.class));
+    assertThat(parse.apply("1").failed().get(),
+        instanceOf(CallNotPermittedException.class));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidThresholdIsRejected() {
+    CircuitBreaker.of(0.0, 10, Duration.ofSeconds(1));
+  }
+}
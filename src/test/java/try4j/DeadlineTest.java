@@ -0,0 +1,139 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class DeadlineTest {
+
+  @Test
+  public void withinReturnsResultInTime() {
+    assertThat(Try.within(Duration.ofSeconds(5), () -> "Value"),
+        is(Success.of("Value")));
+  }
+
+  @Test
+  public void withinTimesOutAndInterrupts() throws InterruptedException {
+    CountDownLatch interrupted = new CountDownLatch(1);
+    Try<String> result = Try.within(Duration.ofMillis(20), () -> {
+      try {
+        Thread.sleep(10_000);
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+        throw e;
+      }
+      return "late";
+    });
+    assertThat(result.failed().get(), instanceOf(DeadlineExceededException.class));
+    assertThat(interrupted.await(5, TimeUnit.SECONDS), is(true));
+  }
+
+  @Test
+  public void runMakesDeadlineCurrent() {
+    Deadline deadline = Deadline.after(Duration.ofSeconds(5));
+    assertThat(Deadline.current().isPresent(), is(false));
+    assertThat(deadline.run(() -> Deadline.current().get()), sameInstance(deadline));
+    assertThat(Deadline.current().isPresent(), is(false));
+  }
+
+  @Test
+  public void nestedDeadlineKeepsEarliest() {
+    Deadline outer = Deadline.after(Duration.ofMillis(100));
+    Deadline inner = Deadline.after(Duration.ofSeconds(10));
+    Deadline current = outer.run(() -> inner.run(() -> Deadline.current().get()));
+    assertThat(current, sameInstance(outer));
+  }
+
+  @Test
+  public void expiredDeadlineSkipsMapAndFlatMap() {
+    AtomicBoolean ran = new AtomicBoolean();
+    Try<String> result = Deadline.after(Duration.ZERO).run(() ->
+        Success.of("Value")
+            .map(s -> { ran.set(true); return s; })
+            .flatMap(s -> { ran.set(true); return Success.of(s); }));
+    assertThat(ran.get(), is(false));
+    assertThat(result.failed().get(), instanceOf(DeadlineExceededException.class));
+  }
+
+  @Test
+  public void withinHonoursCurrentDeadline() {
+    Try<String> result = Deadline.after(Duration.ofMillis(20)).run(() ->
+        Try.within(Duration.ofSeconds(10), () -> {
+          Thread.sleep(10_000);
+          return "late";
+        }));
+    assertThat(result.failed().get(), instanceOf(DeadlineExceededException.class));
+  }
+
+  @Test
+  public void supplierSeesDeadlineOfWithin() {
+    Try<Boolean> seen = Try.within(Duration.ofSeconds(5),
+        () -> Deadline.current().isPresent());
+    assertThat(seen, is(Success.of(true)));
+  }
+
+  @Test
+  public void withinAloneDoesNotActivateDeadlineChecks() throws Exception {
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Thread t = new Thread(() -> Try.within(Duration.ofSeconds(10), () -> {
+      running.countDown();
+      release.await();
+      return "Value";
+    }));
+    t.start();
+    try {
+      running.await();
+      assertThat(Deadline.ACTIVE.get(), is(0));
+    } finally {
+      release.countDown();
+      t.join();
+    }
+  }
+
+  @Test
+  public void withinInsideRunCutsMapShort() throws InterruptedException {
+    AtomicReference<Try<String>> inner = new AtomicReference<>();
+    CountDownLatch done = new CountDownLatch(1);
+    Try<String> result = Deadline.after(Duration.ofSeconds(10)).run(() -> {
+      Try<String> t = Try.within(Duration.ofMillis(20), () -> {
+        try {
+          Thread.sleep(10_000);
+        } catch (InterruptedException e) {
+          // Cancelled once the deadline of within has passed.
+        }
+        inner.set(Success.of("Value").map(s -> s + "!"));
+        done.countDown();
+        return "late";
+      });
+      Try.run(() -> done.await(5, TimeUnit.SECONDS));
+      return t;
+    });
+    assertThat(result.failed().get(), instanceOf(DeadlineExceededException.class));
+    assertThat(done.await(5, TimeUnit.SECONDS), is(true));
+    assertThat(inner.get().failed().get(), instanceOf(DeadlineExceededException.class));
+  }
+}
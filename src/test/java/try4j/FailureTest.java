@@ -61,6 +61,17 @@ public class FailureTest {
     failure.get();
   }
 
+  @Test
+  public void getThrowsRuntimeExceptionCausedByTheEncapsulatedException() {
+    try {
+      failure.get();
+      fail();
+    } catch (RuntimeException e) {
+      assertThat(e.getCause(), is(sameInstance(failure.getException())));
+      assertThat(e.getMessage(), is(failure.getException().toString()));
+    }
+  }
+
   @Test
   public void orElseYieldsGivenDefaultValue() {
     assertThat(failure.orElse("default"), is("default"));
@@ -195,4 +206,29 @@ public class FailureTest {
   public void testHashCode() {
     assertThat(failure.hashCode(), is(Objects.hash(failure.getException())));
   }
+
+  @Test
+  public void getOrThrowThrowsTheEncapsulatedExceptionUnwrapped() {
+    try {
+      failure.getOrThrow();
+      fail("Expected an exception");
+    } catch (Exception e) {
+      assertThat(e, sameInstance(failure.getException()));
+    }
+  }
+
+  @Test
+  public void getOrThrowTranslatesTheEncapsulatedException() {
+    try {
+      failure.getOrThrow(e -> new IllegalStateException(e.getMessage()));
+      fail("Expected an exception");
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage(), is("cause"));
+    }
+  }
+
+  @Test
+  public void foldAppliesFailureFunction() {
+    assertThat(failure.fold(String::length, Exception::getMessage), is("cause"));
+  }
 }
@@ -0,0 +1,175 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class HedgePolicyTest {
+
+  ExecutorService executor;
+  AtomicInteger backups;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+    backups = new AtomicInteger();
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  private String backup() {
+    backups.incrementAndGet();
+    return "backup";
+  }
+
+  @Test
+  public void fastPrimaryIsNotHedged() {
+    HedgePolicy policy = HedgePolicy.afterDelay(Duration.ofSeconds(10))
+        .withExecutor(executor);
+    assertThat(Try.hedged(() -> "primary", this::backup, policy),
+        is(Success.of("primary")));
+    assertThat(backups.get(), is(0));
+    assertThat(policy.getHedges(), is(0L));
+    assertThat(policy.getCalls(), is(1L));
+  }
+
+  @Test
+  public void slowPrimaryIsHedgedAndCancelled() throws InterruptedException {
+    HedgePolicy policy = HedgePolicy.afterDelay(Duration.ofMillis(10))
+        .withExecutor(executor);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    Try<String> result = Try.hedged(() -> {
+      try {
+        Thread.sleep(10_000);
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+        throw e;
+      }
+      return "primary";
+    }, this::backup, policy);
+    assertThat(result, is(Success.of("backup")));
+    assertThat(interrupted.await(5, TimeUnit.SECONDS), is(true));
+    assertThat(policy.getHedgeRate(), is(1.0));
+    assertThat(policy.getBackupWinRate(), is(1.0));
+  }
+
+  @Test
+  public void failedPrimaryFallsBackToBackup() {
+    HedgePolicy policy = HedgePolicy.afterDelay(Duration.ofSeconds(10))
+        .withExecutor(executor);
+    Try<String> result = Try.hedged(() -> { throw new IOException("down"); },
+        this::backup, policy);
+    assertThat(result, is(Success.of("backup")));
+    assertThat(policy.getBackupWins(), is(1L));
+    assertThat(policy.getFailovers(), is(1L));
+    assertThat(policy.getHedges(), is(0L));
+    assertThat(policy.getHedgeRate(), is(0.0));
+  }
+
+  @Test
+  public void failoversDoNotUseUpTheHedgeBudget() {
+    HedgePolicy policy = HedgePolicy.afterDelay(Duration.ofMillis(100))
+        .withMaxHedgeRate(0.1)
+        .withExecutor(executor);
+    for (int i = 0; i < 20; i++) {
+      Try.hedged(() -> { throw new IOException("down"); }, this::backup, policy);
+    }
+    Try<String> slow = Try.hedged(() -> {
+      Thread.sleep(10_000);
+      return "primary";
+    }, this::backup, policy);
+    assertThat(slow, is(Success.of("backup")));
+    assertThat(policy.getFailovers(), is(20L));
+    assertThat(policy.getHedges(), is(1L));
+  }
+
+  @Test
+  public void bothFailingAreAggregated() {
+    HedgePolicy policy = HedgePolicy.afterDelay(Duration.ZERO)
+        .withExecutor(executor);
+    Try<String> result = Try.hedged(() -> { throw new IOException("a"); },
+        () -> { throw new IOException("b"); }, policy);
+    Exception e = result.failed().get();
+    assertThat(e, instanceOf(CompositeException.class));
+    assertThat(((CompositeException) e).getFailures(), hasSize(2));
+  }
+
+  @Test
+  public void percentileDelayAdaptsToObservedLatencies() {
+    HedgePolicy policy = HedgePolicy.atPercentile(0.9, Duration.ofSeconds(1))
+        .withMinDelay(Duration.ofMillis(200))
+        .withExecutor(executor);
+    assertThat(policy.getDelay(), is(Duration.ofSeconds(1)));
+    for (int i = 0; i < 64; i++) {
+      Try.hedged(() -> "primary", this::backup, policy);
+    }
+    assertThat(policy.getDelay(), is(Duration.ofMillis(200)));
+    assertThat(backups.get(), is(0));
+    assertThat(policy.getHedges(), is(0L));
+  }
+
+  @Test
+  public void percentileDelayHasADefaultFloor() {
+    HedgePolicy policy = HedgePolicy.atPercentile(0.9, Duration.ofSeconds(1))
+        .withExecutor(executor);
+    for (int i = 0; i < 64; i++) {
+      Try.hedged(() -> "primary", this::backup, policy);
+    }
+    assertThat(policy.getDelay(), is(allOf(
+        greaterThanOrEqualTo(Duration.ofMillis(1)),
+        lessThan(Duration.ofSeconds(1)))));
+  }
+
+  @Test
+  public void hedgeRateIsCapped() {
+    HedgePolicy policy = HedgePolicy.afterDelay(Duration.ZERO)
+        .withMaxHedgeRate(0.25)
+        .withExecutor(executor);
+    for (int i = 0; i < 40; i++) {
+      assertThat(Try.hedged(() -> { Thread.sleep(1); return "primary"; },
+          this::backup, policy).isSuccess(), is(true));
+    }
+    assertThat(policy.getHedges(), lessThanOrEqualTo(11L));
+    assertThat(policy.getHedgeRate(), lessThanOrEqualTo(0.25 + 1.0 / 40));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidHedgeRateIsRejected() {
+    HedgePolicy.afterDelay(Duration.ZERO).withMaxHedgeRate(1.5);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidPercentileIsRejected() {
+    HedgePolicy.atPercentile(1.0, Duration.ofMillis(1));
+  }
+}
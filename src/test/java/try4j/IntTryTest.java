@@ -0,0 +1,160 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class IntTryTest {
+
+  final IntTry success = IntSuccess.of(42);
+  final IntTry failure = IntFailure.of(new Exception("cause"));
+
+  @Test
+  public void toYieldsSuccessWhenSupplierDoesNotThrow() {
+    IntTry result = IntTry.to(() -> Integer.parseInt("42"));
+    assertThat(result, is(IntSuccess.of(42)));
+  }
+
+  @Test
+  public void toYieldsFailureWhenSupplierThrows() {
+    IntTry result = IntTry.to(() -> Integer.parseInt("pig"));
+    assertThat(result, is(instanceOf(IntFailure.class)));
+    assertThat(result.failed().get(),
+        is(instanceOf(NumberFormatException.class)));
+  }
+
+  @Test
+  public void fromConvertsTryInBothDirections() {
+    assertThat(IntTry.from(Success.of(42)), is(success));
+    assertThat(success.boxed(), is(Success.of(42)));
+
+    Exception e = new Exception();
+    assertThat(IntTry.from(Failure.of(e)), is(IntFailure.of(e)));
+    assertThat(IntFailure.of(e).boxed(), is(Failure.of(e)));
+  }
+
+  @Test
+  public void getReturnsValueOrThrowsEncapsulatedException() {
+    assertThat(success.get(), is(42));
+    try {
+      failure.get();
+      fail();
+    } catch (RuntimeException e) {
+      assertThat(e.getCause().getMessage(), is("cause"));
+    }
+  }
+
+  @Test
+  public void orElseReturnsValueOrDefault() {
+    assertThat(success.orElse(-1), is(42));
+    assertThat(success.orElse(() -> -1), is(42));
+    assertThat(failure.orElse(-1), is(-1));
+    assertThat(failure.orElse(() -> -1), is(-1));
+  }
+
+  @Test
+  public void orElseTryReturnsThisOrSuppliedTry() {
+    assertThat(success.orElseTry(() -> IntSuccess.of(0)),
+        is(sameInstance(success)));
+    assertThat(failure.orElseTry(() -> IntSuccess.of(0)),
+        is(IntSuccess.of(0)));
+    assertThat(failure.orElseTry(() -> { throw new Exception(); }),
+        is(instanceOf(IntFailure.class)));
+  }
+
+  @Test
+  public void toOptionalReflectsOutcome() {
+    assertThat(success.toOptional(), is(OptionalInt.of(42)));
+    assertThat(failure.toOptional(), is(OptionalInt.empty()));
+  }
+
+  @Test
+  public void filterKeepsSuccessOnlyIfPredicateHolds() {
+    assertThat(success.filter(n -> n > 0), is(sameInstance(success)));
+    assertThat(success.filter(n -> n < 0).failed().get(),
+        is(instanceOf(NoSuchElementException.class)));
+    assertThat(success.filter(n -> { throw new Exception(); }),
+        is(instanceOf(IntFailure.class)));
+    assertThat(failure.filter(n -> true), is(sameInstance(failure)));
+  }
+
+  @Test
+  public void mapAppliesOperatorToSuccessOnly() {
+    assertThat(success.map(n -> n + 1), is(IntSuccess.of(43)));
+    assertThat(success.map(n -> { throw new ArithmeticException(); }),
+        is(instanceOf(IntFailure.class)));
+    assertThat(failure.map(n -> n + 1), is(sameInstance(failure)));
+  }
+
+  @Test
+  public void mapToObjBoxesResult() {
+    assertThat(success.mapToObj(Integer::toString), is(Success.of("42")));
+    assertThat(failure.mapToObj(Integer::toString),
+        is(Failure.of(((IntFailure) failure).getException())));
+  }
+
+  @Test
+  public void flatMapAppliesMapperToSuccessOnly() {
+    assertThat(success.flatMap(n -> IntTry.to(() -> n * 2)),
+        is(IntSuccess.of(84)));
+    assertThat(success.flatMap(n -> { throw new Exception(); }),
+        is(instanceOf(IntFailure.class)));
+    assertThat(failure.flatMap(n -> IntSuccess.of(n)),
+        is(sameInstance(failure)));
+  }
+
+  @Test
+  public void forEachPerformsActionOnSuccessOnly() {
+    final List<Integer> values = new ArrayList<>();
+    success.forEach(values::add);
+    failure.forEach(values::add);
+    assertThat(values, contains(42));
+  }
+
+  @Test
+  public void recoverAppliesRescueToFailureOnly() {
+    assertThat(success.recover(e -> -1), is(sameInstance(success)));
+    assertThat(failure.recover(e -> e.getMessage().length()),
+        is(IntSuccess.of(5)));
+    assertThat(failure.recover(e -> { throw new Exception(); }),
+        is(instanceOf(IntFailure.class)));
+  }
+
+  @Test
+  public void recoverWithAppliesRescueToFailureOnly() {
+    assertThat(success.recoverWith(e -> IntSuccess.of(-1)),
+        is(sameInstance(success)));
+    assertThat(failure.recoverWith(e -> IntSuccess.of(-1)),
+        is(IntSuccess.of(-1)));
+  }
+
+  @Test
+  public void testEquals() {
+    assertThat(success.equals(IntSuccess.of(42)), is(true));
+    assertThat(success.equals(IntSuccess.of(41)), is(false));
+    assertThat(success.equals(Success.of(42)), is(false));
+    assertThat(success.hashCode(), is(Integer.hashCode(42)));
+  }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class LazyTryTest {
+
+  @Test
+  public void lazyDoesNotRunSupplierUntilOutcomeIsNeeded() {
+    AtomicInteger calls = new AtomicInteger();
+    Try<String> lazy = Try.lazy(() -> "Value" + calls.incrementAndGet());
+    assertThat(calls.get(), is(0));
+    assertThat(lazy.get(), is("Value1"));
+    assertThat(lazy.get(), is("Value1"));
+    assertThat(calls.get(), is(1));
+  }
+
+  @Test
+  public void lazyEvaluatesToFailureIfSupplierThrows() {
+    Try<Integer> lazy = Try.lazy(() -> Integer.parseInt("pig"));
+    assertThat(lazy.isFailure(), is(true));
+    assertThat(lazy.failed().get(),
+        is(instanceOf(NumberFormatException.class)));
+  }
+
+  @Test
+  public void mapAndFlatMapStayLazyUntilForced() {
+    AtomicInteger calls = new AtomicInteger();
+    Try<Integer> lazy = Try.lazy(() -> calls.incrementAndGet())
+        .map(n -> n + 1)
+        .flatMap(n -> Success.of(n * 10))
+        .filter(n -> n > 0);
+    assertThat(calls.get(), is(0));
+    assertThat(lazy.get(), is(20));
+    assertThat(calls.get(), is(1));
+  }
+
+  @Test
+  public void recoverStaysLazyUntilForced() {
+    AtomicInteger calls = new AtomicInteger();
+    Try<? super Integer> lazy = Try.<Integer>lazy(() -> {
+      calls.incrementAndGet();
+      throw new Exception();
+    }).recover(e -> -1);
+    assertThat(calls.get(), is(0));
+    assertThat(lazy.get(), is(-1));
+  }
+
+  @Test
+  public void forEachForcesEvaluation() {
+    List<String> values = new ArrayList<>();
+    Try.lazy(() -> "Value").forEach(values::add);
+    assertThat(values, contains("Value"));
+  }
+
+  @Test
+  public void toStringDoesNotForceEvaluation() {
+    Try<String> lazy = Try.lazy(() -> "Value");
+    assertThat(lazy.toString(), is("Lazy(?)"));
+    lazy.get();
+    assertThat(lazy.toString(), is("Lazy(Success(Value))"));
+  }
+
+  @Test
+  public void concurrentFirstAccessRunsSupplierOnce() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    Try<Integer> lazy = Try.lazy(() -> {
+      Thread.sleep(10);
+      return calls.incrementAndGet();
+    });
+
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      Thread thread = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        lazy.get();
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(calls.get(), is(1));
+    assertThat(lazy.get(), is(1));
+  }
+
+  @Test
+  public void getOrThrowAndFoldForceTheComputation() {
+    Try<Integer> lazy = Try.lazy(() -> 1);
+    assertThat(lazy.getOrThrow(), is(1));
+    assertThat(lazy.fold(n -> n + 1, e -> -1), is(2));
+    Try<Integer> failing = Try.lazy(() -> { throw new IllegalStateException(); });
+    assertThat(failing.fold(n -> n, e -> -1), is(-1));
+  }
+
+  @Test
+  public void deepChainIsForcedWithoutOverflowingTheStack() {
+    Try<Integer> lazy = Try.lazy(() -> 0);
+    for (int i = 0; i < 100_000; i++) {
+      lazy = i % 2 == 0 ? lazy.map(n -> n + 1) : lazy.flatMap(n -> Success.of(n + 1));
+    }
+    assertThat(lazy.get(), is(100_000));
+  }
+
+  @Test
+  public void deepChainForcedHalfwayResumesFromKnownOutcome() {
+    AtomicInteger runs = new AtomicInteger();
+    Try<Integer> lazy = Try.lazy(runs::incrementAndGet);
+    for (int i = 0; i < 50_000; i++) {
+      lazy = lazy.map(n -> n + 1);
+    }
+    Try<Integer> halfway = lazy;
+    for (int i = 0; i < 50_000; i++) {
+      lazy = lazy.filter(n -> n > 0).map(n -> n + 1);
+    }
+    assertThat(halfway.get(), is(50_001));
+    assertThat(lazy.get(), is(100_001));
+    assertThat(runs.get(), is(1));
+  }
+}
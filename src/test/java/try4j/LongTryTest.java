@@ -0,0 +1,66 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class LongTryTest {
+
+  final LongTry success = LongSuccess.of(42L);
+  final LongTry failure = LongFailure.of(new Exception("cause"));
+
+  @Test
+  public void toYieldsSuccessOrFailure() {
+    assertThat(LongTry.to(() -> Long.parseLong("42")), is(success));
+    assertThat(LongTry.to(() -> { throw new Exception(); }),
+        is(instanceOf(LongFailure.class)));
+  }
+
+  @Test
+  public void fromAndBoxedConvertToAndFromTry() {
+    assertThat(LongTry.from(Success.of(42L)), is(success));
+    assertThat(success.boxed(), is(Success.of(42L)));
+    assertThat(LongTry.from(failure.boxed()), is(failure));
+  }
+
+  @Test
+  public void operationsApplyToSuccessOnly() {
+    assertThat(success.map(n -> n + 1), is(LongSuccess.of(43L)));
+    assertThat(success.filter(n -> n < 0).failed().get(),
+        is(instanceOf(NoSuchElementException.class)));
+    assertThat(success.recover(e -> 0), is(sameInstance(success)));
+    assertThat(success.toOptional(), is(OptionalLong.of(42L)));
+
+    assertThat(failure.map(n -> n + 1), is(sameInstance(failure)));
+    assertThat(failure.filter(n -> true), is(sameInstance(failure)));
+    assertThat(failure.recover(e -> 42L), is(success));
+    assertThat(failure.orElse(43L), is(43L));
+    assertThat(failure.toOptional(), is(OptionalLong.empty()));
+  }
+
+  @Test
+  public void mapReturnsFailureIfOperatorThrows() {
+    assertThat(success.map(n -> { throw new Exception(); }),
+        is(instanceOf(LongFailure.class)));
+  }
+}
@@ -0,0 +1,173 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class RateLimiterTest {
+
+  ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+  AtomicInteger attempts = new AtomicInteger();
+
+  @After
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  private String call() {
+    attempts.incrementAndGet();
+    return "Value";
+  }
+
+  @Test
+  public void limiterAllowsBurstThenRejects() {
+    RateLimiter limiter = RateLimiter.of(1, Duration.ofHours(1)).withBurst(3);
+    assertThat(limiter.getAvailablePermits(), is(3));
+    for (int i = 0; i < 3; i++) {
+      assertThat(limiter.to(this::call), is(Success.of("Value")));
+    }
+    Try<String> rejected = limiter.to(this::call);
+    assertThat(rejected.isFailure(), is(true));
+    Exception e = ((Failure<String>) rejected).getException();
+    assertThat(e, instanceOf(CallNotPermittedException.class));
+    assertThat(e.getStackTrace().length, is(0));
+    assertThat(attempts.get(), is(3));
+    assertThat(limiter.getAvailablePermits(), is(0));
+    assertThat(limiter.getRejectedCount(), is(1L));
+  }
+
+  @Test
+  public void rejectionsShareOneFailure() {
+    RateLimiter limiter = RateLimiter.of(1, Duration.ofHours(1));
+    limiter.to(this::call);
+    assertThat(limiter.to(this::call), is(sameInstance(limiter.to(this::call))));
+  }
+
+  @Test
+  public void permitsRefillOverTime() throws InterruptedException {
+    RateLimiter limiter = RateLimiter.of(1, Duration.ofMillis(20));
+    assertThat(limiter.tryAcquire(), is(true));
+    assertThat(limiter.tryAcquire(), is(false));
+    Thread.sleep(40);
+    assertThat(limiter.tryAcquire(), is(true));
+  }
+
+  @Test
+  public void permitsAreNotHoarded() throws InterruptedException {
+    RateLimiter limiter = RateLimiter.of(1, Duration.ofMillis(1)).withBurst(2);
+    Thread.sleep(20);
+    assertThat(limiter.getAvailablePermits(), is(2));
+  }
+
+  @Test
+  public void asyncCallRunsRightAwayWhenPermitIsFree() {
+    RateLimiter limiter = RateLimiter.of(1, Duration.ofHours(1));
+    assertThat(limiter.toAsync(this::call, scheduler).join(),
+        is(Success.of("Value")));
+    assertThat(limiter.getDelayedCount(), is(0L));
+  }
+
+  @Test
+  public void asyncCallWaitsForNextPermit() {
+    RateLimiter limiter = RateLimiter.of(1, Duration.ofMillis(50));
+    limiter.tryAcquire();
+    long start = System.nanoTime();
+    AsyncTry<String> delayed = limiter.toAsync(this::call, scheduler);
+    assertThat(delayed.join(), is(Success.of("Value")));
+    assertThat(System.nanoTime() - start,
+        greaterThanOrEqualTo(Duration.ofMillis(40).toNanos()));
+    assertThat(limiter.getDelayedCount(), is(1L));
+  }
+
+  @Test
+  public void asyncCallBeyondMaxWaitIsRejected() {
+    RateLimiter limiter = RateLimiter.of(1, Duration.ofHours(1))
+        .withMaxWait(Duration.ofSeconds(1));
+    limiter.tryAcquire();
+    AsyncTry<String> rejected = limiter.toAsync(this::call, scheduler);
+    assertThat(rejected.isDone(), is(true));
+    assertThat(((Failure<String>) rejected.join()).getException(),
+        instanceOf(CallNotPermittedException.class));
+    assertThat(attempts.get(), is(0));
+  }
+
+  @Test
+  public void asyncCallRefusedBySchedulerFails() {
+    RateLimiter limiter = RateLimiter.of(1, Duration.ofHours(1));
+    scheduler.shutdown();
+    Try<String> refused = limiter.toAsync(this::call, scheduler).join();
+    assertThat(((Failure<String>) refused).getException(),
+        instanceOf(RejectedExecutionException.class));
+  }
+
+  @Test
+  public void decoratedFunctionsUseLimiter() {
+    RateLimiter limiter = RateLimiter.of(1, Duration.ofHours(1)).withBurst(2);
+    Function<String, Try<Integer>> length = limiter.decorate(String::length);
+    Function<String, AsyncTry<Integer>> asyncLength =
+        limiter.decorateAsync(String::length, scheduler);
+    assertThat(length.apply("Value"), is(Success.of(5)));
+    assertThat(asyncLength.apply("Value").join(), is(Success.of(5)));
+    assertThat(length.apply("Value").isFailure(), is(true));
+  }
+
+  @Test
+  public void asyncCallThatThrowsAnErrorCompletes() {
+    RateLimiter limiter = RateLimiter.of(1, Duration.ofHours(1));
+    AsyncTry<String> broken = limiter.toAsync(
+        () -> { throw new AssertionError("broken"); }, scheduler);
+    try {
+      broken.join();
+      fail("Expected AssertionError");
+    } catch (AssertionError e) {
+      assertThat(e.getMessage(), is("broken"));
+    }
+  }
+
+  @Test
+  public void largeBurstOverLongPeriodDoesNotOverflow() {
+    RateLimiter limiter = RateLimiter.of(1, Duration.ofDays(1))
+        .withBurst(200_000);
+    assertThat(limiter.getAvailablePermits(), greaterThan(0));
+    assertThat(limiter.tryAcquire(), is(true));
+  }
+
+  @Test
+  public void hugeDurationsAreSaturated() {
+    RateLimiter limiter = RateLimiter.of(1, Duration.ofSeconds(Long.MAX_VALUE))
+        .withMaxWait(Duration.ofSeconds(Long.MAX_VALUE));
+    assertThat(limiter.tryAcquire(), is(true));
+    assertThat(limiter.tryAcquire(), is(false));
+    assertThat(limiter.getAvailablePermits(), is(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void periodMustBePositive() {
+    RateLimiter.of(1, Duration.ZERO);
+  }
+}
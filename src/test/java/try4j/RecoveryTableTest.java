@@ -0,0 +1,101 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketException;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class RecoveryTableTest {
+
+  RecoveryTable<String> table = RecoveryTable
+      .of(IOException.class, e -> "io")
+      .on(FileNotFoundException.class, e -> "missing " + e.getMessage())
+      .on(TimeoutException.class, e -> { throw new IllegalStateException(e); });
+
+  @Test
+  public void mostSpecificHandlerApplies() {
+    Try<String> failure = Failure.of(new FileNotFoundException("a.txt"));
+    assertThat(failure.recover(table), is(Success.of("missing a.txt")));
+  }
+
+  @Test
+  public void superclassHandlerApplies() {
+    Try<String> failure = Failure.of(new SocketException());
+    assertThat(failure.recover(table), is(Success.of("io")));
+  }
+
+  @Test
+  public void unmatchedFailureIsReturnedUnchanged() {
+    Try<String> failure = Failure.of(new IllegalArgumentException());
+    assertThat(failure.recover(table), sameInstance(failure));
+  }
+
+  @Test
+  public void throwingHandlerReturnsFailure() {
+    Try<String> failure = Failure.of(new TimeoutException());
+    assertThat(failure.recover(table).failed().get(),
+        instanceOf(IllegalStateException.class));
+  }
+
+  @Test
+  public void causesAreOnlySearchedWhenRequested() {
+    Try<String> failure = Failure.of(
+        new UncheckedIOException(new FileNotFoundException("b.txt")));
+    assertThat(failure.recover(table), sameInstance(failure));
+    assertThat(failure.recover(table.searchingCauses()),
+        is(Success.of("missing b.txt")));
+  }
+
+  @Test
+  public void successIgnoresTable() {
+    Try<String> success = Success.of("Value");
+    assertThat(success.recover(table), sameInstance(success));
+  }
+
+  @Test
+  public void recoverWithAppliesTryHandler() {
+    RecoveryTable<Try<String>> fallbacks = RecoveryTable
+        .of(IOException.class, e -> Success.of("fallback"));
+    Try<String> failure = Failure.of(new IOException());
+    assertThat(failure.recoverWith(fallbacks), is(Success.of("fallback")));
+    Try<String> other = Failure.of(new RuntimeException());
+    assertThat(other.recoverWith(fallbacks), sameInstance(other));
+  }
+
+  @Test
+  public void lazyTryDefersTable() {
+    Try<String> lazy = Try.lazy(() -> { throw new IOException(); });
+    assertThat(lazy.recover(table).get(), is("io"));
+  }
+
+  @Test
+  public void onReturnsNewTable() {
+    RecoveryTable<String> base = RecoveryTable.of(IOException.class, e -> "io");
+    RecoveryTable<String> extended = base.on(RuntimeException.class, e -> "rt");
+    Try<String> failure = Failure.of(new RuntimeException());
+    assertThat(failure.recover(base), sameInstance(failure));
+    assertThat(failure.recover(extended), is(Success.of("rt")));
+  }
+}
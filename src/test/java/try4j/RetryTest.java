@@ -0,0 +1,156 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class RetryTest {
+
+  ScheduledExecutorService scheduler;
+  AtomicInteger attempts;
+
+  @Before
+  public void setUp() {
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+    attempts = new AtomicInteger();
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  private String failTwice() throws IOException {
+    if (attempts.incrementAndGet() <= 2) {
+      throw new IOException("attempt " + attempts.get());
+    }
+    return "Value";
+  }
+
+  @Test
+  public void retryReattemptsUntilSuccess() {
+    assertThat(Try.retry(this::failTwice, Retry.of(3)), is(Success.of("Value")));
+    assertThat(attempts.get(), is(3));
+  }
+
+  @Test
+  public void retryReturnsLastFailureWhenAttemptsRunOut() {
+    Try<String> result = Try.retry(this::failTwice, Retry.of(2));
+    assertThat(result.failed().get().getMessage(), is("attempt 2"));
+    assertThat(attempts.get(), is(2));
+  }
+
+  @Test
+  public void retryDoesNotReattemptExceptionsRejectedByPolicy() {
+    Retry policy = Retry.of(3).retryingOn(e -> !(e instanceof IOException));
+    assertThat(Try.retry(this::failTwice, policy).isFailure(), is(true));
+    assertThat(attempts.get(), is(1));
+  }
+
+  @Test
+  public void retryGivesUpWhenBudgetIsExhausted() {
+    Retry policy = Retry.of(3)
+        .withBackoff(Duration.ofSeconds(10), 1.0, Duration.ofSeconds(10))
+        .withinBudget(Duration.ofSeconds(1));
+    assertThat(Try.retry(this::failTwice, policy).isFailure(), is(true));
+    assertThat(attempts.get(), is(1));
+  }
+
+  @Test
+  public void delayGrowsExponentiallyUpToMaximum() {
+    Retry policy = Retry.of(10)
+        .withBackoff(Duration.ofMillis(10), 2.0, Duration.ofMillis(50));
+    assertThat(policy.delay(1), is(Duration.ofMillis(10).toNanos()));
+    assertThat(policy.delay(2), is(Duration.ofMillis(20).toNanos()));
+    assertThat(policy.delay(3), is(Duration.ofMillis(40).toNanos()));
+    assertThat(policy.delay(4), is(Duration.ofMillis(50).toNanos()));
+  }
+
+  @Test
+  public void jitterShortensDelayByAtMostGivenFraction() {
+    Retry policy = Retry.of(10)
+        .withBackoff(Duration.ofMillis(100), 1.0, Duration.ofMillis(100))
+        .withJitter(0.5);
+    for (int i = 0; i < 100; i++) {
+      assertThat(policy.delay(1),
+          is(allOf(greaterThanOrEqualTo(Duration.ofMillis(50).toNanos()),
+              lessThanOrEqualTo(Duration.ofMillis(100).toNanos()))));
+    }
+  }
+
+  @Test
+  public void retryAsyncSchedulesReattemptsWithoutBlocking() {
+    Retry policy = Retry.of(3)
+        .withBackoff(Duration.ofMillis(5), 2.0, Duration.ofMillis(20));
+    AsyncTry<String> result = Try.retryAsync(this::failTwice, policy, scheduler);
+    assertThat(result.join(), is(Success.of("Value")));
+    assertThat(attempts.get(), is(3));
+  }
+
+  @Test
+  public void retryAsyncCompletesWithLastFailure() {
+    AsyncTry<String> result = Try.retryAsync(this::failTwice, Retry.of(2), scheduler);
+    assertThat(result.join().failed().get().getMessage(), is("attempt 2"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void ofRejectsFewerThanOneAttempt() {
+    Retry.of(0);
+  }
+
+  @Test
+  public void retryAsyncCompletesWhenRetryPredicateThrows() {
+    Retry policy = Retry.of(3).retryingOn(e -> { throw new IllegalStateException(); });
+    AsyncTry<String> result = Try.retryAsync(this::failTwice, policy, scheduler);
+    assertThat(result.join(Duration.ofSeconds(5)).failed().get(),
+        is(instanceOf(IllegalStateException.class)));
+  }
+
+  @Test
+  public void retryAsyncCompletesExceptionallyWhenSupplierThrowsError() {
+    AsyncTry<String> result = Try.retryAsync(
+        () -> { throw new AssertionError("broken"); }, Retry.of(3), scheduler);
+    try {
+      result.join(Duration.ofSeconds(5));
+      fail("Expected AssertionError");
+    } catch (AssertionError e) {
+      assertThat(e.getMessage(), is("broken"));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void withinBudgetRejectsNegativeBudget() {
+    Retry.of(3).withinBudget(Duration.ofMillis(-1));
+  }
+
+  @Test
+  public void withinBudgetSaturatesVeryLongBudgets() {
+    Retry policy = Retry.of(3).withinBudget(Duration.ofDays(365 * 1000));
+    assertThat(Try.retry(this::failTwice, policy), is(Success.of("Value")));
+  }
+}
@@ -17,7 +17,9 @@
 package try4j;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -55,6 +57,16 @@ public class SuccessTest {
         is(instanceOf(UnsupportedOperationException.class)));
   }
 
+  @Test
+  public void failedDoesNotShareItsException() {
+    Exception first = success.failed().get();
+    Exception second = Success.of("Other").failed().get();
+    first.addSuppressed(new Exception());
+    assertThat(second, is(not(sameInstance(first))));
+    assertThat(second.getSuppressed().length, is(0));
+    assertThat(first.getStackTrace().length, is(0));
+  }
+
   @Test
   public void getReturnsEncapsulatedValue() {
     assertThat(success.get(), is(success.getValue()));
@@ -117,6 +129,24 @@ public class SuccessTest {
         is(instanceOf(Failure.class)));
   }
 
+  @Test
+  public void filterFailsWithNoSuchElementExceptionNamingTheValue() {
+    Exception e = success.filter(s -> s.equals("FAIL")).failed().get();
+    assertThat(e, is(instanceOf(NoSuchElementException.class)));
+    assertThat(e.getMessage(), is("Predicate does not hold for 'Success'"));
+  }
+
+  @Test
+  public void filterFailsWithoutStackTraceIfGlobalPolicyIsStackless() {
+    CapturePolicy.setGlobal(CapturePolicy.STACKLESS);
+    try {
+      Exception e = success.filter(s -> s.equals("FAIL")).failed().get();
+      assertThat(e.getStackTrace().length, is(0));
+    } finally {
+      CapturePolicy.setGlobal(CapturePolicy.FULL);
+    }
+  }
+
   @Test
   public void filterReturnsAFailureIfInputPredicateThrowsAnException() {
     assertThat(success.filter(s -> { throw new Exception(); }),
@@ -144,6 +174,10 @@ public class SuccessTest {
   @Test
   public void flattenReturnsFailureIfEncapsulatedValueIsNotAnInstanceOfTry() {
     assertThat(success.flatten(), is(instanceOf(Failure.class)));
+    assertThat(success.flatten().failed().get(),
+        is(instanceOf(UnsupportedOperationException.class)));
+    assertThat(success.flatten().failed().get().getMessage(),
+        is("Success is not an instance of Try"));
   }
 
   @Test
@@ -181,6 +215,30 @@ public class SuccessTest {
         is(sameInstance(success)));
   }
 
+  @Test
+  public void ofSharesInstancesForCommonValues() {
+    assertThat(Success.of(true), is(sameInstance(Success.of(true))));
+    assertThat(Success.of(false), is(sameInstance(Success.of(false))));
+    assertThat(Success.of(127), is(sameInstance(Success.of(127))));
+    assertThat(Success.of(""), is(sameInstance(Success.of(""))));
+    assertThat(Success.of(Collections.emptyList()),
+        is(sameInstance(Success.of(Collections.emptyList()))));
+  }
+
+  @Test
+  public void ofAllocatesNewInstancesForOtherValues() {
+    assertThat(Success.of(128), is(not(sameInstance(Success.of(128)))));
+    assertThat(Success.of("x"), is(not(sameInstance(Success.of("x")))));
+    assertThat(new Success<>(true), is(not(sameInstance(Success.of(true)))));
+  }
+
+  @Test
+  @SuppressWarnings({"deprecation", "removal"})
+  public void ofPreservesIdentityOfValue() {
+    Integer distinct = new Integer(1);
+    assertThat(Success.of(distinct).get(), is(sameInstance(distinct)));
+  }
+
   @Test
   public void testEquals() {
     assertThat(success.equals(null), is(false));
@@ -195,4 +253,15 @@ public class SuccessTest {
   public void testHashCode() {
     assertThat(success.hashCode(), is(Objects.hash("Success")));
   }
+
+  @Test
+  public void getOrThrowReturnsTheEncapsulatedValue() {
+    assertThat(success.getOrThrow(), is("Success"));
+    assertThat(success.getOrThrow(IllegalStateException::new), is("Success"));
+  }
+
+  @Test
+  public void foldAppliesSuccessFunction() {
+    assertThat(success.fold(String::length, e -> -1), is(7));
+  }
 }
@@ -0,0 +1,165 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import try4j.function.ThrowingFunction;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class TryCacheTest {
+
+  ConcurrentMap<String, AtomicInteger> loads = new ConcurrentHashMap<>();
+
+  private String load(String key) throws IOException {
+    loads.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+    if (key.startsWith("bad")) {
+      throw new IOException(key);
+    }
+    return key.toUpperCase();
+  }
+
+  private int loadsOf(String key) {
+    AtomicInteger n = loads.get(key);
+    return n == null ? 0 : n.get();
+  }
+
+  @Test
+  public void cacheComputesOnce() {
+    TryCache<String, String> cache = TryCache.of(this::load, CachePolicy.of(10));
+    assertThat(cache.get("a"), is(Success.of("A")));
+    assertThat(cache.get("a"), is(Success.of("A")));
+    assertThat(loadsOf("a"), is(1));
+    assertThat(cache.getHitCount(), is(1L));
+    assertThat(cache.getMissCount(), is(1L));
+  }
+
+  @Test
+  public void failuresAreNotCachedByDefault() {
+    TryCache<String, String> cache = TryCache.of(this::load, CachePolicy.of(10));
+    assertThat(cache.get("bad").isFailure(), is(true));
+    assertThat(cache.get("bad").isFailure(), is(true));
+    assertThat(loadsOf("bad"), is(2));
+    assertThat(cache.size(), is(0));
+  }
+
+  @Test
+  public void failuresAreCachedForFailureTtl() {
+    TryCache<String, String> cache = TryCache.of(this::load,
+        CachePolicy.of(10).withFailureTtl(Duration.ofMinutes(1)));
+    Try<String> first = cache.get("bad");
+    assertThat(cache.get("bad"), sameInstance(first));
+    assertThat(loadsOf("bad"), is(1));
+  }
+
+  @Test
+  public void successesExpireAfterSuccessTtl() {
+    TryCache<String, String> cache = TryCache.of(this::load,
+        CachePolicy.of(10).withSuccessTtl(Duration.ZERO));
+    cache.get("a");
+    cache.get("a");
+    assertThat(loadsOf("a"), is(2));
+  }
+
+  @Test
+  public void cacheEvictsLeastRecentlyUsed() throws InterruptedException {
+    TryCache<String, String> cache = TryCache.of(this::load, CachePolicy.of(2));
+    cache.get("a");
+    cache.get("b");
+    Thread.sleep(1);
+    cache.get("a");
+    cache.get("c");
+    assertThat(cache.size(), is(2));
+    assertThat(cache.getEvictionCount(), is(1L));
+    cache.get("a");
+    assertThat(loadsOf("a"), is(1));
+    cache.get("b");
+    assertThat(loadsOf("b"), is(2));
+  }
+
+  @Test
+  public void evictionWithstandsConcurrentAccess() throws Exception {
+    TryCache<String, String> cache = TryCache.of(this::load, CachePolicy.of(64));
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> workers = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        workers.add(executor.submit(() -> {
+          ThreadLocalRandom random = ThreadLocalRandom.current();
+          for (int i = 0; i < 20_000; i++) {
+            String key = "k" + random.nextInt(1_000);
+            assertThat(cache.get(key), is(Success.of(key.toUpperCase())));
+          }
+        }));
+      }
+      for (Future<?> worker : workers) {
+        worker.get();
+      }
+      assertThat(cache.getEvictionCount(), is(greaterThan(0L)));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void staleEntriesAreReturnedWhileRefreshed() {
+    TryCache<String, String> cache = TryCache.of(this::load,
+        CachePolicy.of(10)
+            .withSuccessTtl(Duration.ZERO)
+            .withStaleWhileRevalidate(Duration.ofMinutes(1), Runnable::run));
+    Try<String> first = cache.get("a");
+    assertThat(cache.get("a"), sameInstance(first));
+    assertThat(loadsOf("a"), is(2));
+    assertThat(cache.getRefreshCount(), is(1L));
+  }
+
+  @Test
+  public void invalidateRemovesEntry() {
+    TryCache<String, String> cache = TryCache.of(this::load, CachePolicy.of(10));
+    cache.get("a");
+    cache.invalidate("a");
+    cache.get("a");
+    assertThat(loadsOf("a"), is(2));
+  }
+
+  @Test
+  public void memoizeCachesFunction() {
+    ThrowingFunction<String, String> f = this::load;
+    TryCache<String, String> memoized = f.memoize(CachePolicy.of(10));
+    assertThat(memoized.apply("a"), is(Success.of("A")));
+    assertThat(memoized.apply("a"), is(Success.of("A")));
+    assertThat(loadsOf("a"), is(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeTtlIsRejected() {
+    CachePolicy.of(10).withSuccessTtl(Duration.ofSeconds(-1));
+  }
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class TryCollectorsTest {
+
+  final Exception arithmetic = new ArithmeticException();
+  final Exception io = new IOException();
+  final List<Try<Integer>> tries = Arrays.asList(
+      Success.of(1), Failure.of(arithmetic), Success.of(2), Failure.of(io),
+      Try.lazy(() -> 3));
+
+  @Test
+  public void partitioningSplitsSuccessesAndFailuresInOnePass() {
+    TryCollectors.Partition<Integer> partition =
+        tries.stream().collect(TryCollectors.partitioning());
+    assertThat(partition.successes(), contains(1, 2, 3));
+    assertThat(partition.failures(), contains(arithmetic, io));
+  }
+
+  @Test
+  public void successesCollectsValuesOfSuccesses() {
+    assertThat(tries.stream().collect(TryCollectors.successes()),
+        contains(1, 2, 3));
+  }
+
+  @Test
+  public void successesToPrimitiveArraysCollectValuesOfSuccesses() {
+    assertArrayEquals(new int[] {1, 2, 3},
+        tries.stream().collect(TryCollectors.successesToIntArray()));
+    assertArrayEquals(new int[] {1, 2, 3},
+        tries.stream().collect(TryCollectors.successesToIntArray(3)));
+
+    List<Try<Long>> longs = Arrays.asList(Success.of(1L), Failure.of(io));
+    assertThat(longs.stream().collect(TryCollectors.successesToLongArray()).length,
+        is(1));
+
+    List<Try<Double>> doubles = Arrays.asList(Success.of(1.5), Failure.of(io));
+    assertThat(doubles.stream().collect(TryCollectors.successesToDoubleArray())[0],
+        is(1.5));
+  }
+
+  @Test
+  public void successesToIntArrayCombinesParallelResultsInOrder() {
+    List<Try<Integer>> many = IntStream.range(0, 10000)
+        .mapToObj(i -> Try.to(() -> 100 / (i % 10)))
+        .collect(Collectors.toList());
+    int[] expected = many.stream()
+        .filter(Try::isSuccess).mapToInt(Try::get).toArray();
+    assertArrayEquals(expected,
+        many.parallelStream().collect(TryCollectors.successesToIntArray()));
+  }
+
+  @Test
+  public void presizedCollectorIsReusableAcrossParallelAndSequentialStreams() {
+    List<Try<Integer>> many = IntStream.range(0, 10000)
+        .mapToObj(i -> Try.to(() -> 100 / (i % 10)))
+        .collect(Collectors.toList());
+    int[] expected = many.stream()
+        .filter(Try::isSuccess).mapToInt(Try::get).toArray();
+    Collector<Try<Integer>, ?, int[]> collector =
+        TryCollectors.successesToIntArray(expected.length);
+    assertArrayEquals(expected, many.parallelStream().collect(collector));
+    assertArrayEquals(expected, many.stream().collect(collector));
+  }
+
+  @Test
+  public void presizedCollectorIsReusableAfterAnAbandonedCollection() {
+    Collector<Try<Integer>, ?, int[]> collector =
+        TryCollectors.successesToIntArray(3);
+    try {
+      Stream.of(1, 2, 3)
+          .map(n -> Try.to(() -> n))
+          .peek(t -> {
+            if (t.get() == 2) {
+              throw new IllegalStateException("abandoned");
+            }
+          })
+          .collect(collector);
+      fail("Expected IllegalStateException");
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage(), is("abandoned"));
+    }
+    assertArrayEquals(new int[] {1, 2, 3}, Stream.of(1, 2, 3)
+        .map(n -> Try.to(() -> n)).collect(collector));
+  }
+
+  @Test
+  public void failuresByTypeGroupsExceptionsByClass() {
+    Map<Class<? extends Exception>, List<Exception>> groups =
+        tries.stream().collect(TryCollectors.failuresByType());
+    assertThat(groups.size(), is(2));
+    assertThat(groups.get(ArithmeticException.class), contains(arithmetic));
+    assertThat(groups.get(IOException.class), contains(io));
+  }
+
+  @Test
+  public void failuresByTypeConcurrentGroupsExceptionsFromParallelStream() {
+    List<Try<Integer>> many = IntStream.range(0, 10000)
+        .mapToObj(i -> Try.to(() -> 100 / (i % 10)))
+        .collect(Collectors.toList());
+    ConcurrentMap<Class<? extends Exception>, Queue<Exception>> groups =
+        many.parallelStream().collect(TryCollectors.failuresByTypeConcurrent());
+    assertThat(groups.get(ArithmeticException.class).size(), is(1000));
+  }
+}
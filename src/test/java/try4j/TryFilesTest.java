@@ -0,0 +1,131 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class TryFilesTest {
+
+  Path file;
+  List<Integer> values;
+  ConcurrentMap<Long, Exception> failures;
+
+  @Before
+  public void setUp() throws IOException {
+    file = Files.createTempFile("try4j", ".txt");
+    values = Collections.synchronizedList(new ArrayList<>());
+    failures = new ConcurrentHashMap<>();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  private void write(String content) throws IOException {
+    Files.write(file, content.getBytes(StandardCharsets.ISO_8859_1));
+  }
+
+  private void fail(Exception e, long offset) {
+    failures.put(offset, e);
+  }
+
+  private static Integer parse(CharSequence line) {
+    return Integer.parseInt(line.toString());
+  }
+
+  @Test
+  public void eachLineIsParsed() throws IOException {
+    write("1\n22\n333\n");
+    Try<Long> count = TryFiles.forEachRecord(file, TryFilesTest::parse,
+        values::add, this::fail);
+    assertThat(count, is(Success.of(3L)));
+    assertThat(values, contains(1, 22, 333));
+    assertThat(failures.isEmpty(), is(true));
+  }
+
+  @Test
+  public void failuresCarryByteOffsets() throws IOException {
+    write("1\nx\n3\r\nyy\r\n5");
+    Try<Long> count = TryFiles.forEachRecord(file, TryFilesTest::parse,
+        values::add, this::fail);
+    assertThat(count, is(Success.of(5L)));
+    assertThat(values, contains(1, 3, 5));
+    assertThat(failures.keySet(), containsInAnyOrder(2L, 7L));
+    assertThat(failures.get(2L), instanceOf(NumberFormatException.class));
+  }
+
+  @Test
+  public void viewCopiesOnToString() throws IOException {
+    write("abc\ndef\n");
+    List<String> lines = new ArrayList<>();
+    TryFiles.forEachRecord(file, CharSequence::toString, lines::add, this::fail);
+    assertThat(lines, contains("abc", "def"));
+  }
+
+  @Test
+  public void missingFileIsFailure() throws IOException {
+    Files.delete(file);
+    Try<Long> count = TryFiles.forEachRecord(file, TryFilesTest::parse,
+        values::add, this::fail);
+    assertThat(count.failed().get(), instanceOf(NoSuchFileException.class));
+  }
+
+  @Test
+  public void segmentsSplitAtLineBreaks() throws IOException {
+    StringBuilder sb = new StringBuilder();
+    long expected = 0;
+    for (int i = 0; i < 1000; i++) {
+      sb.append(i).append('\n');
+      expected += i;
+    }
+    write(sb.toString());
+    LongAdder sum = new LongAdder();
+    long count = TryFiles.process(file, TryFilesTest::parse, n -> sum.add(n),
+        this::fail, 64, true);
+    assertThat(count, is(1000L));
+    assertThat(sum.sum(), is(expected));
+    assertThat(failures.isEmpty(), is(true));
+  }
+
+  @Test
+  public void parallelMatchesSequential() throws IOException {
+    write("1\n2\nx\n4\n");
+    Try<Long> count = TryFiles.forEachRecordParallel(file, TryFilesTest::parse,
+        values::add, this::fail);
+    assertThat(count, is(Success.of(4L)));
+    assertThat(values, containsInAnyOrder(1, 2, 4));
+    assertThat(failures.keySet(), contains(4L));
+  }
+}
@@ -0,0 +1,180 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Assume;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class TryMetricsTest {
+
+  @Test
+  public void siteCountsCallsAndFailures() {
+    TryMetrics.Site site = TryMetrics.site("TryMetricsTest.counts");
+    assertThat(site.to(() -> "Value"), is(Success.of("Value")));
+    assertThat(site.to(() -> { throw new IOException(); }).isFailure(), is(true));
+    assertThat(site.getCalls(), is(2L));
+    assertThat(site.getFailures(), is(1L));
+    assertThat(site.isTimed(), is(false));
+    assertThat(site.getLatencyHistogram().length, is(0));
+  }
+
+  @Test
+  public void siteIsSharedByName() {
+    TryMetrics.Site site = TryMetrics.site("TryMetricsTest.shared");
+    assertThat(TryMetrics.site("TryMetricsTest.shared", true), sameInstance(site));
+    assertThat(TryMetrics.sites(), hasItem(site));
+  }
+
+  @Test
+  public void failuresAreCountedByType() {
+    TryMetrics.Site site = TryMetrics.site("TryMetricsTest.types");
+    long before = TryMetrics.failuresByType()
+        .getOrDefault(UnsupportedOperationException.class, 0L);
+    site.to(() -> { throw new UnsupportedOperationException(); });
+    assertThat(TryMetrics.failuresByType()
+        .get(UnsupportedOperationException.class), is(before + 1));
+  }
+
+  @Test
+  public void timedSiteRecordsLatency() {
+    TryMetrics.Site site = TryMetrics.site("TryMetricsTest.timed", true);
+    site.to(() -> "Value");
+    long[] histogram = site.getLatencyHistogram();
+    assertThat(histogram.length, is(TryMetrics.latencyBucketBounds().length + 1));
+    assertThat(Arrays.stream(histogram).sum(), is(1L));
+  }
+
+  @Test
+  public void resetClearsCounters() {
+    TryMetrics.Site site = TryMetrics.site("TryMetricsTest.reset");
+    site.to(() -> "Value");
+    TryMetrics.reset();
+    assertThat(site.getCalls(), is(0L));
+  }
+
+  @Test
+  public void filterReportsToItsOwnSite() {
+    assertThat(TryMetrics.FILTER.getName(), is("Success.filter"));
+    assertThat(TryMetrics.sites(), hasItem(TryMetrics.FILTER));
+  }
+
+  @Test
+  public void builtInOperationsReportToTheirSites() {
+    Assume.assumeTrue(TryMetrics.isEnabled());
+    TryMetrics.Site[] sites = {
+        TryMetrics.TO, TryMetrics.MAP, TryMetrics.FLAT_MAP, TryMetrics.FILTER,
+        TryMetrics.RECOVER, TryMetrics.RECOVER_WITH
+    };
+    long[] calls = new long[sites.length];
+    long[] failures = new long[sites.length];
+    for (int i = 0; i < sites.length; i++) {
+      calls[i] = sites[i].getCalls();
+      failures[i] = sites[i].getFailures();
+    }
+    long unsupported = TryMetrics.failuresByType()
+        .getOrDefault(UnsupportedOperationException.class, 0L);
+
+    Try<? super Integer> result = Try.to(() -> "21")
+        .map(Integer::parseInt)
+        .flatMap(n -> Success.of(n * 2))
+        .filter(n -> n > 100)
+        .recover(e -> -1);
+    assertThat(result, is(Success.of(-1)));
+    Try.to(() -> "x")
+        .map(Integer::parseInt)
+        .recoverWith(e -> { throw new UnsupportedOperationException(); });
+
+    // Try.to, map, flatMap, filter, recover, recoverWith
+    long[] expectedCalls = {2, 2, 1, 1, 1, 1};
+    long[] expectedFailures = {0, 1, 0, 1, 0, 1};
+    for (int i = 0; i < sites.length; i++) {
+      assertThat(sites[i].getName(), sites[i].getCalls() - calls[i],
+          is(expectedCalls[i]));
+      assertThat(sites[i].getName(), sites[i].getFailures() - failures[i],
+          is(expectedFailures[i]));
+    }
+    assertThat(TryMetrics.failuresByType()
+        .get(UnsupportedOperationException.class), is(unsupported + 1));
+  }
+
+  @Test
+  public void failuresAndSlowCallsAreRecorded() throws Exception {
+    Assume.assumeTrue(TryEvents.ENABLED);
+    TryMetrics.Site site = TryMetrics.site("TryMetricsTest.jfr");
+    long slowMillis =
+        TimeUnit.NANOSECONDS.toMillis(TryEvents.SLOW_THRESHOLD_NANOS) + 20;
+    Path file = Files.createTempFile("try4j", ".jfr");
+    try {
+      try (Recording recording = new Recording()) {
+        recording.enable("try4j.Failure");
+        recording.enable("try4j.SlowCall");
+        recording.start();
+        site.to(() -> { throw new IOException(); });
+        site.to(() -> { Thread.sleep(slowMillis); return "Value"; });
+        recording.stop();
+        recording.dump(file);
+      }
+      List<RecordedEvent> failures = new ArrayList<>();
+      List<RecordedEvent> slowCalls = new ArrayList<>();
+      for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+        if (!site.getName().equals(event.getString("site"))) {
+          continue;
+        }
+        String type = event.getEventType().getName();
+        if (type.equals("try4j.Failure")) {
+          failures.add(event);
+        } else if (type.equals("try4j.SlowCall")) {
+          slowCalls.add(event);
+        }
+      }
+      assertThat(failures, hasSize(1));
+      assertThat(failures.get(0).getClass("exceptionClass").getName(),
+          is(IOException.class.getName()));
+      assertThat(failures.get(0).getDuration("elapsed"),
+          is(lessThan(Duration.ofMillis(slowMillis))));
+      assertThat(slowCalls, hasSize(1));
+      assertThat(slowCalls.get(0).getDuration("elapsed"),
+          is(greaterThanOrEqualTo(Duration.ofMillis(slowMillis))));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void eventsAreOffUnlessRequested() {
+    if (!Boolean.getBoolean("try4j.jfr")) {
+      assertThat(TryEvents.ENABLED, is(false));
+    }
+    assertThat(TryMetrics.REPORTING,
+        is(TryMetrics.isEnabled() || TryEvents.ENABLED));
+  }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+import org.reactivestreams.Processor;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import org.reactivestreams.tck.IdentityProcessorVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.ITestNGListener;
+import org.testng.ITestResult;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.AfterClass;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+/**
+ * Runs the Reactive Streams TCK, which is written for TestNG, against
+ * {@link TryProcessor}.
+ */
+public class TryProcessorTckTest {
+
+  /** Checks an identity {@link TryProcessor} against the specification. */
+  public static class Verification
+      extends IdentityProcessorVerification<Integer> {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    public Verification() {
+      super(new TestEnvironment(500));
+    }
+
+    @Override
+    public Processor<Integer, Integer> createIdentityProcessor(int bufferSize) {
+      return TryProcessor.successes(n -> n, (n, e) -> {}, bufferSize);
+    }
+
+    @Override public Publisher<Integer> createFailedPublisher() {
+      TryProcessor<Integer, Integer> failed =
+          TryProcessor.successes(n -> n, (n, e) -> {});
+      failed.onSubscribe(new Subscription() {
+        @Override public void request(long n) {}
+        @Override public void cancel() {}
+      });
+      failed.onError(new RuntimeException("failed"));
+      return failed;
+    }
+
+    @Override public ExecutorService publisherExecutorService() {
+      return executor;
+    }
+
+    @Override public Integer createElement(int element) {
+      return element;
+    }
+
+    @Override public long maxSupportedSubscribers() {
+      return 1;
+    }
+
+    @AfterClass
+    public void shutdown() {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void processorPassesTheTck() {
+    TestNG testng = new TestNG(false);
+    testng.setTestClasses(new Class<?>[] { Verification.class });
+    testng.setVerbose(0);
+    testng.setUseDefaultListeners(false);
+    TestListenerAdapter results = new TestListenerAdapter();
+    testng.addListener((ITestNGListener) results);
+    testng.run();
+
+    List<String> failures = new ArrayList<>();
+    for (ITestResult result : results.getFailedTests()) {
+      failures.add(result.getName() + ": " + result.getThrowable());
+    }
+    assertThat(failures, is(empty()));
+    assertThat(results.getPassedTests(), is(not(empty())));
+  }
+}
@@ -0,0 +1,177 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class TryProcessorTest {
+
+  /** Emits a fixed list of elements synchronously, as they are requested. */
+  static class ListPublisher<T> implements Publisher<T> {
+    final List<T> items;
+    final List<Long> requests = new ArrayList<>();
+    boolean cancelled;
+
+    ListPublisher(List<T> items) {
+      this.items = items;
+    }
+
+    @Override public void subscribe(Subscriber<? super T> s) {
+      s.onSubscribe(new Subscription() {
+        int index;
+        long demand;
+        boolean emitting;
+
+        @Override public void request(long n) {
+          requests.add(n);
+          demand += n;
+          if (emitting) {
+            return;
+          }
+          emitting = true;
+          while (demand > 0 && index < items.size() && !cancelled) {
+            demand--;
+            s.onNext(items.get(index++));
+          }
+          if (index == items.size() && !cancelled) {
+            cancelled = true;
+            s.onComplete();
+          }
+          emitting = false;
+        }
+
+        @Override public void cancel() {
+          cancelled = true;
+        }
+      });
+    }
+  }
+
+  /** Records what it receives and requests only when told to. */
+  static class RecordingSubscriber<T> implements Subscriber<T> {
+    final List<T> items = new ArrayList<>();
+    Subscription subscription;
+    Throwable error;
+    boolean completed;
+
+    @Override public void onSubscribe(Subscription s) { subscription = s; }
+    @Override public void onNext(T item) { items.add(item); }
+    @Override public void onError(Throwable t) { error = t; }
+    @Override public void onComplete() { completed = true; }
+  }
+
+  @Test
+  public void mappingEmitsTryPerElement() {
+    TryProcessor<String, Try<Integer>> p = TryProcessor.mapping(Integer::parseInt);
+    RecordingSubscriber<Try<Integer>> sub = new RecordingSubscriber<>();
+    new ListPublisher<>(Arrays.asList("1", "x", "3")).subscribe(p);
+    p.subscribe(sub);
+    sub.subscription.request(10);
+    assertThat(sub.items.size(), is(3));
+    assertThat(sub.items.get(0), is(Success.of(1)));
+    assertThat(sub.items.get(1).failed().get(), instanceOf(NumberFormatException.class));
+    assertThat(sub.completed, is(true));
+  }
+
+  @Test
+  public void successesSendsFailuresToSideChannel() {
+    List<String> rejected = new ArrayList<>();
+    TryProcessor<String, Integer> p = TryProcessor.successes(Integer::parseInt,
+        (item, e) -> rejected.add(item));
+    RecordingSubscriber<Integer> sub = new RecordingSubscriber<>();
+    new ListPublisher<>(Arrays.asList("1", "x", "3", "y")).subscribe(p);
+    p.subscribe(sub);
+    sub.subscription.request(2);
+    assertThat(sub.items, contains(1, 3));
+    assertThat(rejected, contains("x", "y"));
+    assertThat(sub.completed, is(true));
+  }
+
+  @Test
+  public void downstreamDemandIsHonoured() {
+    TryProcessor<Integer, Try<Integer>> p = TryProcessor.mapping(n -> n * 2);
+    RecordingSubscriber<Try<Integer>> sub = new RecordingSubscriber<>();
+    new ListPublisher<>(Arrays.asList(1, 2, 3)).subscribe(p);
+    p.subscribe(sub);
+    assertThat(sub.items, is(empty()));
+    sub.subscription.request(2);
+    assertThat(sub.items,
+        is(Arrays.<Try<Integer>>asList(Success.of(2), Success.of(4))));
+    assertThat(sub.completed, is(false));
+    sub.subscription.request(1);
+    assertThat(sub.items.size(), is(3));
+    assertThat(sub.completed, is(true));
+  }
+
+  @Test
+  public void upstreamIsRequestedInBatches() {
+    List<Integer> items = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      items.add(i);
+    }
+    ListPublisher<Integer> publisher = new ListPublisher<>(items);
+    TryProcessor<Integer, Try<Integer>> p = TryProcessor.mapping(n -> n, 8);
+    RecordingSubscriber<Try<Integer>> sub = new RecordingSubscriber<>();
+    publisher.subscribe(p);
+    p.subscribe(sub);
+    sub.subscription.request(Long.MAX_VALUE);
+    assertThat(sub.items.size(), is(20));
+    assertThat(publisher.requests, not(hasItem(1L)));
+    assertThat(publisher.requests.get(0), is(8L));
+  }
+
+  @Test
+  public void cancelStopsUpstream() {
+    ListPublisher<Integer> publisher = new ListPublisher<>(Arrays.asList(1, 2, 3));
+    TryProcessor<Integer, Try<Integer>> p = TryProcessor.mapping(n -> n, 1);
+    RecordingSubscriber<Try<Integer>> sub = new RecordingSubscriber<>();
+    publisher.subscribe(p);
+    p.subscribe(sub);
+    sub.subscription.cancel();
+    assertThat(publisher.cancelled, is(true));
+    assertThat(sub.items, is(empty()));
+  }
+
+  @Test
+  public void secondSubscriberIsRejected() {
+    TryProcessor<Integer, Try<Integer>> p = TryProcessor.mapping(n -> n);
+    p.subscribe(new RecordingSubscriber<>());
+    RecordingSubscriber<Try<Integer>> second = new RecordingSubscriber<>();
+    p.subscribe(second);
+    assertThat(second.error, instanceOf(IllegalStateException.class));
+  }
+
+  @Test
+  public void nonPositiveRequestIsAnError() {
+    TryProcessor<Integer, Try<Integer>> p = TryProcessor.mapping(n -> n);
+    new ListPublisher<>(Arrays.asList(1)).subscribe(p);
+    RecordingSubscriber<Try<Integer>> sub = new RecordingSubscriber<>();
+    p.subscribe(sub);
+    sub.subscription.request(0);
+    assertThat(sub.error, instanceOf(IllegalArgumentException.class));
+  }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class TryStreamsTest {
+
+  @Test
+  public void spliteratorEmitsSuccessesAndReportsFailures() {
+    List<String> failed = new ArrayList<>();
+    Spliterator<Integer> spliterator = TryStreams.spliterator(
+        Arrays.asList("1", "x", "2", "y").spliterator(),
+        Integer::parseInt,
+        (s, e) -> failed.add(s));
+    List<Integer> results = StreamSupport.stream(spliterator, false)
+        .collect(Collectors.toList());
+    assertThat(results, contains(1, 2));
+    assertThat(failed, contains("x", "y"));
+  }
+
+  @Test
+  public void spliteratorIsNotSized() {
+    Spliterator<Integer> spliterator = TryStreams.spliterator(
+        Arrays.asList("1").spliterator(), Integer::parseInt, (s, e) -> { });
+    assertThat(spliterator.hasCharacteristics(Spliterator.SIZED), is(false));
+    assertThat(spliterator.hasCharacteristics(Spliterator.ORDERED), is(true));
+  }
+
+  @Test
+  public void mapParallelSplitsAndKeepsEncounterOrder() {
+    List<Integer> inputs = new ArrayList<>();
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      inputs.add(i);
+      if (i % 10 != 0) {
+        expected.add(100000 / (i % 10));
+      }
+    }
+    Queue<Exception> failures = new ConcurrentLinkedQueue<>();
+    List<Integer> results = TryStreams
+        .mapParallel(inputs, n -> 100000 / (n % 10), (n, e) -> failures.add(e))
+        .collect(Collectors.toList());
+    assertThat(results, is(expected));
+    assertThat(failures.size(), is(1000));
+    assertThat(failures.peek(), is(instanceOf(ArithmeticException.class)));
+  }
+}
@@ -16,8 +16,20 @@
 
 package try4j;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
@@ -58,4 +70,201 @@ public class TryTest {
     assertThat(result.failed().get(),
         is(instanceOf(URISyntaxException.class)));
   }
+
+  @Test
+  public void runYieldsSharedUnitSuccessWhenRunnableDoesNotThrow() {
+    List<String> effects = new ArrayList<>();
+    Try<Unit> first = Try.run(() -> effects.add("first"));
+    Try<Unit> second = Try.run(() -> effects.add("second"));
+    assertThat(first, is(Success.of(Unit.INSTANCE)));
+    assertThat(first, is(sameInstance(second)));
+    assertThat(effects, contains("first", "second"));
+  }
+
+  @Test
+  public void runYieldsFailureWhenRunnableThrows() {
+    Try<Unit> result = Try.run(() -> { throw new URISyntaxException("", ""); });
+    assertThat(result.failed().get(),
+        is(instanceOf(URISyntaxException.class)));
+  }
+
+  @Test
+  public void sequenceYieldsSuccessOfAllValuesIfAllSucceed() {
+    List<Try<Integer>> tries = Arrays.asList(Success.of(1), Success.of(2));
+    assertThat(Try.sequence(tries), is(Success.of(Arrays.asList(1, 2))));
+  }
+
+  @Test
+  public void sequenceYieldsFirstFailure() {
+    Failure<Integer> first = Failure.of(new Exception("first"));
+    Failure<Integer> second = Failure.of(new Exception("second"));
+    List<Try<Integer>> tries = Arrays.asList(Success.of(1), first, second);
+    assertThat(Try.sequence(tries), is(sameInstance((Object) first)));
+  }
+
+  @Test
+  public void traverseStopsAtFirstException() {
+    List<String> inputs = Arrays.asList("1", "x", "3");
+    List<String> applied = new ArrayList<>();
+    Try<List<Integer>> result = Try.traverse(inputs, s -> {
+      applied.add(s);
+      return Integer.parseInt(s);
+    });
+    assertThat(result.failed().get(),
+        is(instanceOf(NumberFormatException.class)));
+    assertThat(applied, contains("1", "x"));
+  }
+
+  @Test
+  public void traverseYieldsResultsInOrder() {
+    assertThat(Try.traverse(Arrays.asList("1", "2", "3"), Integer::parseInt),
+        is(Success.of(Arrays.asList(1, 2, 3))));
+  }
+
+  @Test
+  public void traverseParallelYieldsResultsInOrder() {
+    List<Integer> inputs = new ArrayList<>();
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      inputs.add(i);
+      expected.add(i * 2);
+    }
+    assertThat(Try.traverseParallel(inputs, n -> n * 2),
+        is(Success.of(expected)));
+  }
+
+  @Test
+  public void traverseParallelYieldsFailureAndStopsEarly() {
+    List<Integer> inputs = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      inputs.add(i);
+    }
+    AtomicInteger applied = new AtomicInteger();
+    Try<List<Integer>> result = Try.traverseParallel(inputs, n -> {
+      applied.incrementAndGet();
+      if (n == 0) {
+        throw new URISyntaxException("", "");
+      }
+      return n;
+    }, new ForkJoinPool(1));
+    assertThat(result.failed().get(),
+        is(instanceOf(URISyntaxException.class)));
+    assertThat(applied.get(), is(1));
+  }
+
+  @Test
+  public void firstSuccessReturnsFastestSuccessAndInterruptsTheRest()
+      throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    try {
+      Try<String> result = Try.firstSuccess(executor,
+          () -> { throw new IOException("down"); },
+          () -> {
+            started.countDown();
+            try {
+              Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+              interrupted.countDown();
+              throw e;
+            }
+            return "slow";
+          },
+          () -> { started.await(); return "fast"; });
+      assertThat(result, is(Success.of("fast")));
+      assertThat(interrupted.await(5, TimeUnit.SECONDS), is(true));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void firstSuccessAggregatesFailuresWhenAllFail() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Try<String> result = Try.firstSuccess(executor,
+          () -> { throw new IOException("a"); },
+          () -> { throw new IOException("b"); });
+      Exception e = result.failed().get();
+      assertThat(e, instanceOf(CompositeException.class));
+      List<Exception> failures = ((CompositeException) e).getFailures();
+      assertThat(failures, hasSize(2));
+      assertThat(e.getCause(), is(sameInstance(failures.get(0))));
+      assertThat(failures.get(0).getSuppressed().length, is(0));
+      assertThat(failures.get(1).getSuppressed().length, is(0));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void firstSuccessLeavesSharedExceptionsUnchanged() {
+    IOException shared = new IOException("shared");
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      for (int i = 0; i < 3; i++) {
+        Try.firstSuccess(executor, () -> { throw shared; }, () -> { throw shared; });
+        Try.allOf(executor, () -> { throw shared; }, () -> { throw shared; });
+      }
+      assertThat(shared.getSuppressed().length, is(0));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void firstSuccessTimesOut() {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Try<String> result = Try.firstSuccess(executor, Duration.ofMillis(20),
+          () -> { Thread.sleep(10_000); return "late"; });
+      assertThat(result.failed().get(), instanceOf(TimeoutException.class));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void firstSuccessTimeoutCarriesEarlierFailures() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Try<String> result = Try.firstSuccess(executor, Duration.ofMillis(50),
+          () -> { throw new IOException("down"); },
+          () -> { Thread.sleep(10_000); return "late"; });
+      Exception e = result.failed().get();
+      assertThat(e, instanceOf(TimeoutException.class));
+      assertThat(((CompositeException) e.getCause()).getFailures().get(0),
+          instanceOf(IOException.class));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void allOfReturnsValuesInOrder() {
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      Try<List<Integer>> result = Try.allOf(executor,
+          () -> { Thread.sleep(20); return 1; }, () -> 2, () -> 3);
+      assertThat(result, is(Success.of(Arrays.asList(1, 2, 3))));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void allOfFailsFast() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      long start = System.nanoTime();
+      Try<List<Integer>> result = Try.allOf(executor, Duration.ofSeconds(10),
+          () -> { Thread.sleep(10_000); return 1; },
+          () -> { throw new IOException("down"); });
+      assertThat(result.failed().get(), instanceOf(IOException.class));
+      assertThat(System.nanoTime() - start, lessThan(5_000_000_000L));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
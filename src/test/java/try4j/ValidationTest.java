@@ -0,0 +1,82 @@
+/**
+ * Copyright 2015 Bradley S. Collins.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package try4j;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class ValidationTest {
+
+  @Test
+  public void passingChecksYieldSuccess() {
+    Validation<String> v = Validation.of("Value")
+        .check(s -> !s.isEmpty())
+        .validate(s -> s.charAt(0));
+    assertThat(v.isValid(), is(true));
+    assertThat(v.getFailures(), is(empty()));
+    assertThat(v.toTry(), is(Success.of("Value")));
+  }
+
+  @Test
+  public void everyFailureIsCollected() {
+    Validation<String> v = Validation.of("")
+        .check(s -> !s.isEmpty())
+        .check(s -> s.length() > 3, "too short")
+        .validate(Integer::parseInt)
+        .check(s -> { throw new IOException("unreachable"); });
+    assertThat(v.isValid(), is(false));
+    assertThat(v.getFailures().size(), is(4));
+    assertThat(v.getFailures().get(0), instanceOf(PredicateNotSatisfiedException.class));
+    assertThat(v.getFailures().get(1), instanceOf(CheckFailedException.class));
+    assertThat(v.getFailures().get(1).getMessage(), is("too short"));
+    assertThat(v.getFailures().get(2), instanceOf(NumberFormatException.class));
+    assertThat(v.getFailures().get(3), instanceOf(IOException.class));
+  }
+
+  @Test
+  public void failuresCombineIntoValidationException() {
+    Try<String> t = Validation.of("x")
+        .check(s -> s.length() > 3, "too short")
+        .check(s -> s.startsWith("y"), "wrong prefix")
+        .toTry();
+    Exception e = t.failed().get();
+    assertThat(e, instanceOf(ValidationException.class));
+    assertThat(((ValidationException) e).getFailures().size(), is(2));
+    assertThat(e.getMessage(), allOf(containsString("too short"),
+        containsString("wrong prefix")));
+  }
+
+  @Test
+  public void failedChecksFollowCapturePolicy() {
+    Exception e = Try.to(() -> Validation.of("x")
+        .check(s -> s.length() > 3, "too short")
+        .getFailures().get(0), CapturePolicy.STACKLESS).get();
+    assertThat(e.getStackTrace().length, is(0));
+  }
+
+  @Test
+  public void validateAllRunsEveryCheck() {
+    Try<Integer> t = Try.validateAll(-5, n -> n > 0, n -> n % 2 == 0);
+    ValidationException e = (ValidationException) t.failed().get();
+    assertThat(e.getFailures().size(), is(2));
+    assertThat(Try.validateAll(4, n -> n > 0, n -> n % 2 == 0), is(Success.of(4)));
+  }
+}